@@ -6,6 +6,7 @@ import eu.nerdfactor.restness.code.builder.MultiStepBuilder;
 import eu.nerdfactor.restness.code.classbuilder.ClassPropertiesBuilder;
 import eu.nerdfactor.restness.code.methodbuilder.CrudMethodBuilder;
 import eu.nerdfactor.restness.code.methodbuilder.ListMethodBuilder;
+import eu.nerdfactor.restness.code.methodbuilder.OperationsMethodBuilder;
 import eu.nerdfactor.restness.code.methodbuilder.RelationshipMethodBuilder;
 import eu.nerdfactor.restness.code.methodbuilder.SearchMethodBuilder;
 import eu.nerdfactor.restness.config.ControllerConfiguration;
@@ -29,6 +30,7 @@ import javax.lang.model.element.Modifier;
  * <li>Methods to list the entity.</li>
  * <li>Methods to search for the entity.</li>
  * <li>Methods to manage related entities.</li>
+ * <li>A method to apply a list of operations, if enabled.</li>
  *
  * @author Daniel Klug
  */
@@ -76,6 +78,7 @@ public class RestnessControllerBuilder extends MultiStepBuilder<TypeSpec.Builder
 		this.and(ListMethodBuilder.create().withConfiguration(this.configuration));
 		this.and(SearchMethodBuilder.create().withConfiguration(this.configuration));
 		this.and(RelationshipMethodBuilder.create().withConfiguration(this.configuration));
+		this.and(OperationsMethodBuilder.create().withConfiguration(this.configuration));
 		this.buildAll(builder);
 		return builder.build();
 	}
@@ -0,0 +1,316 @@
+package eu.nerdfactor.restness.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.restness.code.builder.Configurable;
+import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
+import eu.nerdfactor.restness.data.DataMapper;
+import eu.nerdfactor.restness.util.RestnessUtil;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A builder that can be used to create a {@link DataMapper} for a RESTness
+ * controller. The mapper copies the properties between the entity and its data
+ * transfer objects with plain getter and setter calls, so no reflection is
+ * necessary during a request.
+ * <p>
+ * A generated data mapper consist of:
+ * <li>A field for the configured data mapper.</li>
+ * <li>A constructor that takes the configured data mapper.</li>
+ * <li>A map method that chooses the matching generated mapping or passes the
+ * call on to the configured data mapper.</li>
+ * <li>A method for every pair of classes that can be mapped.</li>
+ *
+ * @author Daniel Klug
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+public class RestnessDataMapperBuilder implements Configurable<ControllerConfiguration> {
+
+	/**
+	 * The names of the local variables of a mapping method.
+	 */
+	private static final Set<String> RESERVED_NAMES = Set.of("source", "target", "item");
+
+	/**
+	 * The {@link ControllerConfiguration} of the controller using the mapper.
+	 */
+	protected ControllerConfiguration configuration;
+
+	/**
+	 * Create a new {@link RestnessDataMapperBuilder}.
+	 *
+	 * @return A new {@link RestnessDataMapperBuilder}.
+	 */
+	public static RestnessDataMapperBuilder create() {
+		return new RestnessDataMapperBuilder();
+	}
+
+	/**
+	 * Set the {@link ControllerConfiguration} that will be used.
+	 *
+	 * @param configuration The {@link ControllerConfiguration}.
+	 * @return The builder in a fluent api pattern.
+	 */
+	@Override
+	public RestnessDataMapperBuilder withConfiguration(@NotNull ControllerConfiguration configuration) {
+		this.configuration = configuration;
+		return this;
+	}
+
+	/**
+	 * Build a {@link TypeSpec} for a generated data mapper.
+	 *
+	 * @return The build {@link TypeSpec}.
+	 */
+	public TypeSpec build() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder(this.configuration.getGeneratedMapperClassName())
+				.addJavadoc("Maps between {@link $T} and its data transfer objects.\n", this.configuration.getEntityClassName())
+				.addModifiers(Modifier.PUBLIC)
+				.addSuperinterface(DataMapper.class)
+				.addField(FieldSpec.builder(DataMapper.class, "dataMapper", Modifier.PROTECTED, Modifier.FINAL).build())
+				.addMethod(MethodSpec.constructorBuilder()
+						.addModifiers(Modifier.PUBLIC)
+						.addParameter(DataMapper.class, "dataMapper")
+						.addStatement("this.dataMapper = dataMapper")
+						.build());
+
+		TypeVariableName type = TypeVariableName.get("T");
+		MethodSpec.Builder map = MethodSpec.methodBuilder("map")
+				.addAnnotation(Override.class)
+				.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+				.addModifiers(Modifier.PUBLIC)
+				.addTypeVariable(type)
+				.returns(type)
+				.addParameter(Object.class, "obj")
+				.addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), type), "cls");
+		for (TypeName[] pair : this.findMappedPairs()) {
+			RestnessUtil.log("addMapping " + pair[0] + " -> " + pair[1], 1);
+			MethodSpec mapping = this.createMappingMethod(pair[0], pair[1]);
+			map.beginControlFlow("if (obj instanceof $T source && cls == $T.class)", pair[0], pair[1]);
+			map.addStatement("return (T) this.$N(source)", mapping);
+			map.endControlFlow();
+			builder.addMethod(mapping);
+		}
+		map.addStatement("return this.dataMapper.map(obj, cls)");
+		builder.addMethod(map.build());
+		return builder.build();
+	}
+
+	/**
+	 * Find all pairs of classes that are mapped by the controller and can be
+	 * mapped by the generated mapper.
+	 *
+	 * @return A list of pairs with source and target class.
+	 */
+	protected List<TypeName[]> findMappedPairs() {
+		Set<List<TypeName>> pairs = new LinkedHashSet<>();
+		TypeName entity = this.configuration.getEntityClassName();
+		pairs.add(List.of(entity, this.configuration.getResponseObjectClassName()));
+		pairs.add(List.of(entity, this.configuration.getResponseListClassName()));
+		pairs.add(List.of(this.configuration.getRequestObjectClassName(), entity));
+		this.configuration.getRelationConfigurations().values().forEach(relation -> {
+			if (relation.isUsingDto()) {
+				pairs.add(List.of(relation.getEntityClassName(), relation.getResponseObjectClassName()));
+				pairs.add(List.of(relation.getResponseObjectClassName(), relation.getEntityClassName()));
+			}
+		});
+		List<TypeName[]> mapped = new ArrayList<>();
+		for (List<TypeName> pair : pairs) {
+			if (pair.get(0) == null || pair.get(1) == null || pair.get(0).equals(pair.get(1))) {
+				continue;
+			}
+			if (this.configuration.getPropertyConfigurations().containsKey(pair.get(0)) && this.configuration.getInstantiableClassNames().contains(pair.get(1))) {
+				mapped.add(pair.toArray(new TypeName[0]));
+			}
+		}
+		return mapped;
+	}
+
+	/**
+	 * Create a method that maps an object of the source class into a new
+	 * object of the target class. Every writable property of the target is
+	 * set from the readable property with the same name of the source.
+	 * <li>Properties of the same type are copied.</li>
+	 * <li>Boxed values are only copied into primitive properties, if they are
+	 * not null.</li>
+	 * <li>Properties of different classes are mapped by the generated map
+	 * method, if they are not null.</li>
+	 * <li>Lists, sets and collections with different element types are mapped
+	 * element by element with the generated map method, if they are not
+	 * null.</li>
+	 * <li>Properties of other different generic types are skipped. They are
+	 * found by {@link #findSkippedProperties()}.</li>
+	 *
+	 * @param source The {@link TypeName} of the source class.
+	 * @param target The {@link TypeName} of the target class.
+	 * @return The {@link MethodSpec} of the mapping method.
+	 */
+	protected MethodSpec createMappingMethod(TypeName source, TypeName target) {
+		Map<String, PropertyConfiguration> sourceProperties = this.configuration.getPropertyConfigurations(source).stream()
+				.filter(PropertyConfiguration::isReadable)
+				.collect(Collectors.toMap(PropertyConfiguration::getPropertyName, Function.identity()));
+		MethodSpec.Builder method = MethodSpec.methodBuilder("map" + this.simpleName(source) + "To" + this.simpleName(target))
+				.addModifiers(Modifier.PROTECTED)
+				.returns(target)
+				.addParameter(source, "source");
+		method.addStatement("$T target = new $T()", target, target);
+		for (PropertyConfiguration targetProperty : this.configuration.getPropertyConfigurations(target)) {
+			PropertyConfiguration sourceProperty = sourceProperties.get(targetProperty.getPropertyName());
+			if (!targetProperty.isWritable() || sourceProperty == null) {
+				continue;
+			}
+			TypeName sourceType = sourceProperty.getTypeName();
+			TypeName targetType = targetProperty.getTypeName();
+			String getter = "source." + sourceProperty.getGetterMethodName() + "()";
+			String setter = "target." + targetProperty.getSetterMethodName();
+			if (sourceType.equals(targetType) || (sourceType.isPrimitive() && sourceType.box().equals(targetType))) {
+				method.addStatement(setter + "(" + getter + ")");
+			} else if (targetType.isPrimitive() && targetType.box().equals(sourceType)) {
+				method.beginControlFlow("if (" + getter + " != null)");
+				method.addStatement(setter + "(" + getter + ")");
+				method.endControlFlow();
+			} else if (targetType instanceof ClassName && !sourceType.isPrimitive()) {
+				method.beginControlFlow("if (" + getter + " != null)");
+				method.addStatement(setter + "(this.map(" + getter + ", $T.class))", targetType);
+				method.endControlFlow();
+			} else if (this.isMappableCollection(sourceType, targetType)) {
+				this.addCollectionMapping(method, sourceType, targetProperty, getter, setter);
+			}
+		}
+		method.addStatement("return target");
+		return method.build();
+	}
+
+	/**
+	 * Find all properties of the mapped classes, that can not be mapped by
+	 * the generated mapper and are skipped. The annotation processor reports
+	 * them as warnings on the skipped properties.
+	 *
+	 * @return A list of the skipped properties.
+	 */
+	public List<SkippedProperty> findSkippedProperties() {
+		List<SkippedProperty> skipped = new ArrayList<>();
+		for (TypeName[] pair : this.findMappedPairs()) {
+			Map<String, PropertyConfiguration> sourceProperties = this.configuration.getPropertyConfigurations(pair[0]).stream()
+					.filter(PropertyConfiguration::isReadable)
+					.collect(Collectors.toMap(PropertyConfiguration::getPropertyName, Function.identity()));
+			for (PropertyConfiguration targetProperty : this.configuration.getPropertyConfigurations(pair[1])) {
+				PropertyConfiguration sourceProperty = sourceProperties.get(targetProperty.getPropertyName());
+				if (targetProperty.isWritable() && sourceProperty != null && !this.isMappable(sourceProperty.getTypeName(), targetProperty.getTypeName())) {
+					skipped.add(new SkippedProperty(pair[1], targetProperty.getPropertyName(), sourceProperty.getTypeName(), targetProperty.getTypeName()));
+				}
+			}
+		}
+		return skipped;
+	}
+
+	/**
+	 * Check if a property can be mapped by the generated mapping method.
+	 *
+	 * @param sourceType The {@link TypeName} of the source property.
+	 * @param targetType The {@link TypeName} of the target property.
+	 * @return True if the property can be mapped.
+	 */
+	protected boolean isMappable(TypeName sourceType, TypeName targetType) {
+		return sourceType.equals(targetType)
+				|| (sourceType.isPrimitive() && sourceType.box().equals(targetType))
+				|| (targetType.isPrimitive() && targetType.box().equals(sourceType))
+				|| (targetType instanceof ClassName && !sourceType.isPrimitive())
+				|| this.isMappableCollection(sourceType, targetType);
+	}
+
+	/**
+	 * Check if a property is a collection, whose elements can be mapped into
+	 * the elements of the target collection.
+	 *
+	 * @param sourceType The {@link TypeName} of the source property.
+	 * @param targetType The {@link TypeName} of the target property.
+	 * @return True if the elements of the collection can be mapped.
+	 */
+	protected boolean isMappableCollection(TypeName sourceType, TypeName targetType) {
+		return sourceType instanceof ParameterizedTypeName source
+				&& targetType instanceof ParameterizedTypeName target
+				&& source.typeArguments.size() == 1
+				&& target.typeArguments.size() == 1
+				&& target.typeArguments.get(0) instanceof ClassName
+				&& this.isCollection(source.rawType)
+				&& this.createCollectionClassName(target.rawType) != null;
+	}
+
+	/**
+	 * Add statements that map a collection element by element into a new
+	 * collection of the target property. Elements of the same type are
+	 * copied. The new collection is named after the property, but never
+	 * after the other local variables of the mapping method.
+	 *
+	 * @param method         The builder of the mapping method.
+	 * @param sourceType     The {@link TypeName} of the source property.
+	 * @param targetProperty The {@link PropertyConfiguration} of the target.
+	 * @param getter         The call of the getter of the source property.
+	 * @param setter         The setter of the target property.
+	 */
+	protected void addCollectionMapping(MethodSpec.Builder method, TypeName sourceType, PropertyConfiguration targetProperty, String getter, String setter) {
+		ParameterizedTypeName targetType = (ParameterizedTypeName) targetProperty.getTypeName();
+		TypeName element = targetType.typeArguments.get(0);
+		String mapped = targetProperty.getPropertyName() + "Mapped";
+		while (RESERVED_NAMES.contains(mapped)) {
+			mapped = "_" + mapped;
+		}
+		ClassName collection = this.createCollectionClassName(targetType.rawType);
+		method.beginControlFlow("if (" + getter + " != null)");
+		if (((ParameterizedTypeName) sourceType).typeArguments.get(0).equals(element)) {
+			method.addStatement(setter + "(new $T<>(" + getter + "))", collection);
+		} else {
+			method.addStatement("$T $N = new $T<>(" + getter + ".size())", targetType, mapped, collection);
+			method.beginControlFlow("for ($T item : " + getter + ")", Object.class);
+			method.addStatement("$N.add(item != null ? this.map(item, $T.class) : null)", mapped, element);
+			method.endControlFlow();
+			method.addStatement(setter + "($N)", mapped);
+		}
+		method.endControlFlow();
+	}
+
+	private boolean isCollection(ClassName type) {
+		return type.equals(ClassName.get(List.class)) || type.equals(ClassName.get(Set.class)) || type.equals(ClassName.get(Collection.class));
+	}
+
+	private ClassName createCollectionClassName(ClassName type) {
+		if (type.equals(ClassName.get(List.class)) || type.equals(ClassName.get(Collection.class))) {
+			return ClassName.get(ArrayList.class);
+		}
+		if (type.equals(ClassName.get(Set.class))) {
+			return ClassName.get(LinkedHashSet.class);
+		}
+		return null;
+	}
+
+	private String simpleName(TypeName type) {
+		return type instanceof ClassName className ? className.simpleName() : type.toString().substring(type.toString().lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * A property of a mapped class, that can not be mapped by the generated
+	 * mapper.
+	 *
+	 * @param className    The class of the property.
+	 * @param propertyName The name of the property.
+	 * @param sourceType   The type of the property in the source class.
+	 * @param targetType   The type of the property.
+	 */
+	public record SkippedProperty(TypeName className, String propertyName, TypeName sourceType, TypeName targetType) {
+	}
+}
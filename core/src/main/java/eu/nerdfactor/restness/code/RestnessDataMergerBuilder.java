@@ -0,0 +1,135 @@
+package eu.nerdfactor.restness.code;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.restness.code.builder.Configurable;
+import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
+import eu.nerdfactor.restness.data.DataMerger;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * A builder that can be used to create a {@link DataMerger} for a RESTness
+ * controller. The merger copies the changed properties of the entity with
+ * plain getter and setter calls, so no reflection is necessary during a
+ * request.
+ * <p>
+ * A generated data merger consist of:
+ * <li>A field for the configured data merger.</li>
+ * <li>A constructor that takes the configured data merger.</li>
+ * <li>A merge method that merges entities or passes the call on to the
+ * configured data merger.</li>
+ * <li>A method that merges two entities.</li>
+ *
+ * @author Daniel Klug
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+public class RestnessDataMergerBuilder implements Configurable<ControllerConfiguration> {
+
+	/**
+	 * The {@link ControllerConfiguration} of the controller using the merger.
+	 */
+	protected ControllerConfiguration configuration;
+
+	/**
+	 * Create a new {@link RestnessDataMergerBuilder}.
+	 *
+	 * @return A new {@link RestnessDataMergerBuilder}.
+	 */
+	public static RestnessDataMergerBuilder create() {
+		return new RestnessDataMergerBuilder();
+	}
+
+	/**
+	 * Set the {@link ControllerConfiguration} that will be used.
+	 *
+	 * @param configuration The {@link ControllerConfiguration}.
+	 * @return The builder in a fluent api pattern.
+	 */
+	@Override
+	public RestnessDataMergerBuilder withConfiguration(@NotNull ControllerConfiguration configuration) {
+		this.configuration = configuration;
+		return this;
+	}
+
+	/**
+	 * Build a {@link TypeSpec} for a generated data merger.
+	 *
+	 * @return The build {@link TypeSpec}.
+	 */
+	public TypeSpec build() {
+		TypeName entity = this.configuration.getEntityClassName();
+		MethodSpec merging = this.createMergingMethod(entity);
+		TypeVariableName type = TypeVariableName.get("T");
+		return TypeSpec.classBuilder(this.configuration.getGeneratedMergerClassName())
+				.addJavadoc("Merges updated values into an existing {@link $T}.\n", entity)
+				.addModifiers(Modifier.PUBLIC)
+				.addSuperinterface(DataMerger.class)
+				.addField(FieldSpec.builder(DataMerger.class, "dataMerger", Modifier.PROTECTED, Modifier.FINAL).build())
+				.addMethod(MethodSpec.constructorBuilder()
+						.addModifiers(Modifier.PUBLIC)
+						.addParameter(DataMerger.class, "dataMerger")
+						.addStatement("this.dataMerger = dataMerger")
+						.build())
+				.addMethod(merging)
+				.addMethod(MethodSpec.methodBuilder("merge")
+						.addAnnotation(Override.class)
+						.addModifiers(Modifier.PUBLIC)
+						.addTypeVariable(type)
+						.returns(type)
+						.addParameter(type, "original")
+						.addParameter(type, "updated")
+						.beginControlFlow("if (original instanceof $T target && updated instanceof $T source)", entity, entity)
+						.addStatement("this.$N(target, source)", merging)
+						.addStatement("return original")
+						.endControlFlow()
+						.addStatement("return this.dataMerger.merge(original, updated)")
+						.build())
+				.build();
+	}
+
+	/**
+	 * Create a method that merges the properties of an updated entity into
+	 * the original entity. The id and version are never merged, because they
+	 * are managed by the persistence provider.
+	 * <li>Primitive properties are always copied.</li>
+	 * <li>Strings are only copied, if they are not null or empty.</li>
+	 * <li>All other properties, including boxed types and relations, are only
+	 * copied, if they are not null.</li>
+	 *
+	 * @param entity The {@link TypeName} of the entity.
+	 * @return The {@link MethodSpec} of the merging method.
+	 */
+	protected MethodSpec createMergingMethod(TypeName entity) {
+		MethodSpec.Builder method = MethodSpec.methodBuilder("merge" + (entity instanceof ClassName className ? className.simpleName() : "Entity"))
+				.addModifiers(Modifier.PROTECTED)
+				.addParameter(entity, "target")
+				.addParameter(entity, "source");
+		for (PropertyConfiguration property : this.configuration.getPropertyConfigurations(entity)) {
+			if (!property.isReadable() || !property.isWritable() || property.isIdentifier() || property.isVersion()) {
+				continue;
+			}
+			String getter = "source." + property.getGetterMethodName() + "()";
+			String setter = "target." + property.getSetterMethodName();
+			if (property.getTypeName().isPrimitive()) {
+				method.addStatement(setter + "(" + getter + ")");
+				continue;
+			}
+			String value = "updated" + property.getPropertyName().substring(0, 1).toUpperCase() + property.getPropertyName().substring(1);
+			method.addStatement("$T $N = " + getter, property.getTypeName(), value);
+			if (property.getTypeName().equals(ClassName.get(String.class))) {
+				method.beginControlFlow("if ($N != null && !$N.isEmpty())", value, value);
+			} else {
+				method.beginControlFlow("if ($N != null)", value);
+			}
+			method.addStatement(setter + "($N)", value);
+			method.endControlFlow();
+		}
+		return method.build();
+	}
+}
@@ -1,30 +1,62 @@
 package eu.nerdfactor.restness.code.classbuilder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import eu.nerdfactor.restness.code.builder.Buildable;
 import eu.nerdfactor.restness.code.builder.Configurable;
 import eu.nerdfactor.restness.code.builder.MultiStepBuilder;
 import eu.nerdfactor.restness.code.builder.PropertyPair;
 import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.RelationConfiguration;
+import eu.nerdfactor.restness.data.CachingDataAccessor;
+import eu.nerdfactor.restness.data.DataPatch;
+import eu.nerdfactor.restness.data.DataProjection;
+import eu.nerdfactor.restness.data.DataReadCache;
+import eu.nerdfactor.restness.data.DataRelation;
+import eu.nerdfactor.restness.data.DataSearchCache;
 import eu.nerdfactor.restness.data.DataSpecificationBuilder;
 import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A builder that creates all required class properties in a controller.
  * <p>
  * Class properties consist of:
- * <li>A field for data access.</li>
- * <li>A field for data merging.</li>
- * <li>A field for data mapping.</li>
+ * <li>A field for data access, wrapped to invalidate the caches on writes,
+ * if enabled.</li>
+ * <li>A field for data merging, wrapped by the generated merger if
+ * enabled.</li>
+ * <li>A field for data mapping, wrapped by the generated mapper if
+ * enabled.</li>
  * <li>A field for specification building.</li>
  * <li>A field for entity management.</li>
+ * <li>A field for json serialization, if the list is streamed, ETags are
+ * created from the response, operations are converted, updates are written
+ * directly or read or searched entities are cached as detached copies.</li>
+ * <li>A field for validation, if operations are dispatched or updates are
+ * written directly.</li>
+ * <li>A provider of the proxied controller itself, if operations are
+ * dispatched.</li>
+ * <li>A field for the cache of read responses, if enabled.</li>
+ * <li>A field for the cache of searched response pages, if enabled.</li>
+ * <li>A field for the projection of the response dto, if enabled.</li>
+ * <li>A field to update basic properties directly, if enabled.</li>
+ * <li>A field to query every relation, without loading the entity. If
+ * enabled, it also writes relations with a known join table or mapped by
+ * attribute directly.</li>
  * <li>A constructor that autowires all fields.</li>
  *
  * @author Daniel Klug
@@ -68,16 +100,74 @@ public class ClassPropertiesBuilder extends MultiStepBuilder<TypeSpec.Builder> i
 	 */
 	public TypeSpec.Builder buildWith(final TypeSpec.Builder builder) {
 		final ConstructorBuilder constructor = new ConstructorBuilder();
-		List.of(
+		final List<PropertyPair> properties = new ArrayList<>(List.of(
 				new PropertyPair("dataAccessor", configuration.getDataAccessorClassName()),
 				new PropertyPair("dataMerger", configuration.getDataMergerClassName()),
 				new PropertyPair("dataMapper", configuration.getDataMapperClassName()),
 				new PropertyPair("specificationBuilder", ClassName.get(DataSpecificationBuilder.class)),
 				new PropertyPair("entityManager", ClassName.get(EntityManager.class))
-		).forEach(pair -> {
+		));
+		if (configuration.isUsingCache() || configuration.isUsingSearchCache()) {
+			// Writes invalidate the cached data of every controller of the entity.
+			constructor.withInitializer("dataAccessor", CodeBlock.of("new $T<>(dataAccessor, $T.class)", CachingDataAccessor.class, configuration.getEntityClassName()));
+		}
+		if (configuration.isUsingGeneratedMerger()) {
+			constructor.withInitializer("dataMerger", CodeBlock.of("new $T(dataMerger)", configuration.getGeneratedMergerClassName()));
+		}
+		if (configuration.isUsingGeneratedMapper()) {
+			constructor.withInitializer("dataMapper", CodeBlock.of("new $T(dataMapper)", configuration.getGeneratedMapperClassName()));
+		}
+		if (configuration.isStreamingList() || configuration.isUsingContentETag() || configuration.isOperations() || configuration.isUsingDirectUpdate() || ((configuration.isUsingCache() || configuration.isUsingSearchCache()) && !configuration.isUsingDto())) {
+			properties.add(new PropertyPair("objectMapper", ClassName.get(ObjectMapper.class)));
+		}
+		if (configuration.isOperations() || configuration.isUsingDirectUpdate()) {
+			properties.add(new PropertyPair("validator", ClassName.get(Validator.class)));
+		}
+		if (configuration.isOperations()) {
+			properties.add(new PropertyPair("self", ParameterizedTypeName.get(ClassName.get(ObjectProvider.class), configuration.getControllerClassName())));
+		}
+		properties.forEach(pair -> {
 			this.and(new PropertyBuilder().withProperty(pair.name(), pair.type()));
 			constructor.withProperty(pair.name(), pair.type());
 		});
+		if (configuration.isUsingCache()) {
+			this.and(new PropertyBuilder().withProperty("readCache", ParameterizedTypeName.get(ClassName.get(DataReadCache.class), configuration.getSingleResponseType())));
+			constructor.withStatement(CodeBlock.of("this.readCache = new $T<>($T.class, $L, $T.ofSeconds($L))", DataReadCache.class, configuration.getEntityClassName(), configuration.getCacheSize(), Duration.class, configuration.getCacheTtl()));
+		}
+		if (configuration.isUsingSearchCache()) {
+			this.and(new PropertyBuilder().withProperty("searchCache", ParameterizedTypeName.get(ClassName.get(DataSearchCache.class), configuration.getResponseType())));
+			constructor.withStatement(CodeBlock.of("this.searchCache = new $T<>($T.class, $L, $T.ofSeconds($L), $T.ofSeconds($L))", DataSearchCache.class, configuration.getEntityClassName(), configuration.getSearchCacheSize(), Duration.class, configuration.getSearchCacheTtl(), Duration.class, configuration.getSearchCacheGrace()));
+		}
+		if (configuration.isUsingProjection()) {
+			TypeName entity = configuration.getEntityClassName();
+			TypeName response = configuration.getResponseType();
+			this.and(new PropertyBuilder().withProperty("dataProjection", ParameterizedTypeName.get(ClassName.get(DataProjection.class), entity, response)));
+			constructor.withStatement(CodeBlock.of("this.dataProjection = new $T<>(entityManager, $T.class, $T.class)", DataProjection.class, entity, response));
+		}
+		if (configuration.isUsingDirectUpdate()) {
+			TypeName entity = configuration.getEntityClassName();
+			CodeBlock attributes = configuration.getPatchablePropertyConfigurations().stream()
+					.map(property -> CodeBlock.of("$S", property.getPropertyName()))
+					.collect(CodeBlock.joining(", "));
+			this.and(new PropertyBuilder().withProperty("dataPatch", ParameterizedTypeName.get(ClassName.get(DataPatch.class), entity)));
+			constructor.withStatement(CodeBlock.of("this.dataPatch = new $T<>(entityManager, $T.class, $T.of($L))", DataPatch.class, entity, List.class, attributes));
+		}
+		if (configuration.isUsingRelations()) {
+			TypeName entity = configuration.getEntityClassName();
+			for (RelationConfiguration relation : configuration.getRelationConfigurations().values()) {
+				String name = relation.getRelationName() + "Relation";
+				this.and(new PropertyBuilder().withProperty(name, ParameterizedTypeName.get(ClassName.get(DataRelation.class), entity, relation.getEntityClassName())));
+				CodeBlock.Builder statement = CodeBlock.builder().add("this.$N = new $T<>(entityManager, $T.class, $T.class, $S)", name, DataRelation.class, entity, relation.getEntityClassName(), relation.getRelationName());
+				if (configuration.isDirectRelations() && relation.isDirectlyWritable()) {
+					if (relation.isUsingJoinTable()) {
+						statement.add(".withJoinTable($S, $S, $S)", relation.getJoinTableName(), relation.getJoinColumnName(), relation.getInverseJoinColumnName());
+					} else {
+						statement.add(".withMappedBy($S)", relation.getMappedBy());
+					}
+				}
+				constructor.withStatement(statement.build());
+			}
+		}
 		this.and(constructor);
 		return this.buildAll(builder);
 	}
@@ -1,5 +1,6 @@
 package eu.nerdfactor.restness.code.classbuilder;
 
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
@@ -9,7 +10,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.lang.model.element.Modifier;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A builder that creates a constructor with a list of parameters.
@@ -23,6 +26,17 @@ public class ConstructorBuilder implements Buildable<TypeSpec.Builder> {
 	 */
 	protected final List<PropertyPair> properties = new ArrayList<>();
 
+	/**
+	 * A map of expressions that are used to initialize properties instead of
+	 * the plain parameter.
+	 */
+	protected final Map<String, CodeBlock> initializers = new HashMap<>();
+
+	/**
+	 * A list of statements that are added after all properties are set.
+	 */
+	protected final List<CodeBlock> statements = new ArrayList<>();
+
 	/**
 	 * Add a property to the constructor.
 	 *
@@ -56,6 +70,31 @@ public class ConstructorBuilder implements Buildable<TypeSpec.Builder> {
 		return this.withProperty(propertyBuilder.getName(), propertyBuilder.getType());
 	}
 
+	/**
+	 * Initialize a property with an expression instead of the plain
+	 * parameter. The expression can use all parameters of the constructor.
+	 *
+	 * @param name        The name of the property.
+	 * @param initializer The {@link CodeBlock} with the expression.
+	 * @return The builder in a fluent api pattern.
+	 */
+	public ConstructorBuilder withInitializer(String name, CodeBlock initializer) {
+		this.initializers.put(name, initializer);
+		return this;
+	}
+
+	/**
+	 * Add a statement to the constructor, that is executed after all
+	 * properties are set.
+	 *
+	 * @param statement The {@link CodeBlock} with the statement.
+	 * @return The builder in a fluent api pattern.
+	 */
+	public ConstructorBuilder withStatement(CodeBlock statement) {
+		this.statements.add(statement);
+		return this;
+	}
+
 	/**
 	 * Create a {@link TypeSpec.Builder} containing the constructor.
 	 *
@@ -69,8 +108,9 @@ public class ConstructorBuilder implements Buildable<TypeSpec.Builder> {
 				.addModifiers(Modifier.PUBLIC);
 		this.properties.forEach(prop -> {
 			method.addParameter(prop.type(), prop.name());
-			method.addStatement("this." + prop.name() + " = " + prop.name());
+			method.addStatement("this." + prop.name() + " = $L", this.initializers.getOrDefault(prop.name(), CodeBlock.of(prop.name())));
 		});
+		this.statements.forEach(method::addStatement);
 		builder.addMethod(method.build());
 		return builder;
 	}
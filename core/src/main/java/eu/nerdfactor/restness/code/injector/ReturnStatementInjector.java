@@ -29,6 +29,11 @@ public class ReturnStatementInjector implements Injectable<MethodSpec.Builder> {
 	 */
 	protected String responseVariableName = "response";
 
+	/**
+	 * The name of the variable containing an ETag for the response.
+	 */
+	protected String eTagVariableName;
+
 	/**
 	 * @param wrapper The class of a wrapper object
 	 * @return The injector in a fluent api pattern.
@@ -56,6 +61,16 @@ public class ReturnStatementInjector implements Injectable<MethodSpec.Builder> {
 		return this;
 	}
 
+	/**
+	 * @param variable The name of the variable containing an ETag for the
+	 *                 response or null, if no ETag is used.
+	 * @return The injector in a fluent api pattern.
+	 */
+	public ReturnStatementInjector withETagVariable(String variable) {
+		this.eTagVariableName = variable;
+		return this;
+	}
+
 	/**
 	 * Inject into a {@link MethodSpec.Builder} and add a return statement.
 	 *
@@ -67,7 +82,11 @@ public class ReturnStatementInjector implements Injectable<MethodSpec.Builder> {
 			builder.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(wrapperType.toString()), responseType)));
 			builder.addStatement("$T<$T> wrapper = new $T<>()", wrapperType, responseType, wrapperType);
 			this.addWrapperContent(builder);
-			builder.addStatement("return new $T<>(wrapper, $T.OK)", ResponseEntity.class, HttpStatus.class);
+			if (this.eTagVariableName != null) {
+				builder.addStatement("return $T.ok().eTag(" + this.eTagVariableName + ").body(wrapper)", ResponseEntity.class);
+			} else {
+				builder.addStatement("return new $T<>(wrapper, $T.OK)", ResponseEntity.class, HttpStatus.class);
+			}
 		} else {
 			this.addBasicReturn(builder);
 		}
@@ -89,6 +108,10 @@ public class ReturnStatementInjector implements Injectable<MethodSpec.Builder> {
 	 * @param builder An existing builder object that will be used.
 	 */
 	protected void addBasicReturn(MethodSpec.Builder builder) {
+		if (this.eTagVariableName != null) {
+			builder.addStatement("return $T.ok().eTag(" + this.eTagVariableName + ").body(" + responseVariableName + ")", ResponseEntity.class);
+			return;
+		}
 		builder.addStatement("return new $T<>(" + responseVariableName + ", $T.OK)", ResponseEntity.class, HttpStatus.class);
 	}
 }
@@ -2,16 +2,21 @@ package eu.nerdfactor.restness.code.methodbuilder;
 
 import com.squareup.javapoet.*;
 import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
+import eu.nerdfactor.restness.code.injector.NoContentStatementInjector;
+import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
 import eu.nerdfactor.restness.config.AccessorType;
 import eu.nerdfactor.restness.config.RelationConfiguration;
 import eu.nerdfactor.restness.util.RestnessUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public class AddToRelationsMethodBuilder extends MethodBuilder {
 
@@ -54,7 +59,9 @@ public class AddToRelationsMethodBuilder extends MethodBuilder {
 				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(method);
-		if (this.configuration.getResponseWrapperClassName() != null && !this.configuration.getResponseWrapperClassName().equals(TypeName.OBJECT)) {
+		if (this.isDirect()) {
+			method.returns(this.getNoContentType(responseType));
+		} else if (this.configuration.getResponseWrapperClassName() != null && !this.configuration.getResponseWrapperClassName().equals(TypeName.OBJECT)) {
 			method.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(this.configuration.getResponseWrapperClassName().toString()), responseType)));
 		}
 		method.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.ADD) + "ById(id, dto." + this.relationConfiguration.getIdAccessorMethodName() + "())");
@@ -88,15 +95,49 @@ public class AddToRelationsMethodBuilder extends MethodBuilder {
 				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(methodById);
-		methodById.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
-		methodById.addStatement("$T rel = this.entityManager.getReference($T.class, relationId)", this.relationConfiguration.getEntityClassName(), this.relationConfiguration.getEntityClassName());
+		if (this.isDirect()) {
+			// Write the join table or foreign key directly, without loading the relation.
+			methodById.addAnnotation(Transactional.class);
+			methodById.addStatement("this.dataAccessor.addRelationData(id, this.$N, relationId)", this.relationConfiguration.getRelationName() + "Relation");
+			// Answer like the removal, instead of listing the whole relation again.
+			methodById = new NoContentStatementInjector()
+					.withWrapper(this.configuration.getResponseWrapperClassName())
+					.withResponse(responseType)
+					.inject(methodById);
+			methodById.returns(this.getNoContentType(responseType));
+			builder.addMethod(methodById.build());
+			return builder;
+		}
+		methodById.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
+		// Load the related entity, because it is part of the response.
+		methodById.addStatement("$T rel = $T.ofNullable(this.entityManager.find($T.class, relationId)).orElseThrow($T::new)", this.relationConfiguration.getEntityClassName(), Optional.class, this.relationConfiguration.getEntityClassName(), EntityNotFoundException.class);
 		methodById.addStatement("entity." + this.relationConfiguration.getAdderMethodName() + "(rel)");
-		methodById.addStatement("this.dataAccessor.updateData(entity)");
-		if (this.configuration.getResponseWrapperClassName() != null && !this.configuration.getResponseWrapperClassName().equals(TypeName.OBJECT)) {
-			methodById.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(this.configuration.getResponseWrapperClassName().toString()), responseType)));
+		// Create the response from the updated entity, instead of reading it again.
+		methodById.addStatement("entity = this.dataAccessor.updateData(entity)");
+		String related = "entity." + this.relationConfiguration.getGetterMethodName() + "()";
+		if (this.relationConfiguration.isUsingDto()) {
+			methodById.addStatement("$T<$T> responseList = this.dataMapper.mapAll(" + related + ", $T.class)", List.class, responseType, responseType);
+		} else {
+			methodById.addStatement("$T<$T> responseList = new $T<>(" + related + ")", List.class, responseType, ArrayList.class);
 		}
-		methodById.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.GET) + "(id)");
+		new ReturnStatementInjector()
+				.withWrapper(this.configuration.getResponseWrapperClassName())
+				.withResponse(responseType)
+				.withResponseVariable("responseList")
+				.inject(methodById);
 		builder.addMethod(methodById.build());
 		return builder;
 	}
+
+	/**
+	 * Check if the relation is written directly on the join table or the
+	 * foreign key. Only then, the related entity is added without content in
+	 * the response. Otherwise, the entity is loaded anyway and the response
+	 * lists the related entities after the update.
+	 *
+	 * @return True if the relation is written directly.
+	 */
+	protected boolean isDirect() {
+		return this.configuration.isDirectRelations() && this.relationConfiguration.isDirectlyWritable();
+	}
 }
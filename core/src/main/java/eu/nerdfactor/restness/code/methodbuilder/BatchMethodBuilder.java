@@ -0,0 +1,144 @@
+package eu.nerdfactor.restness.code.methodbuilder;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
+import eu.nerdfactor.restness.util.RestnessUtil;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A builder that can be used to create batch methods in a controller. All
+ * items of a batch request are written in one transaction, so either all
+ * items are written or none. The items are mapped and written in chunks of
+ * the batch size of the data accessor and the persistence context is flushed
+ * and cleared after every chunk.
+ * <p>
+ * Created entities are persisted by the data accessor, so an item with the
+ * id of an existing entity is rejected with 409 Conflict instead of updating
+ * the entity. Items that violate another constraint are rejected with 400
+ * Bad Request. Like a single update, updated entities have to exist, unless
+ * upserts are enabled.
+ * <p>
+ * Batch methods consist of:
+ * <li>A method to create a list of entities.</li>
+ * <li>A method to create or update a list of entities.</li>
+ *
+ * @author Daniel Klug
+ */
+public class BatchMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Create a new {@link BatchMethodBuilder}.
+	 *
+	 * @return A new {@link BatchMethodBuilder}.
+	 */
+	public static BatchMethodBuilder create() {
+		return new BatchMethodBuilder();
+	}
+
+	/**
+	 * Create a {@link TypeSpec.Builder} containing batch methods.
+	 *
+	 * @param builder An existing builder object that will be used.
+	 * @return The build {@link TypeSpec.Builder}.
+	 */
+	@Override
+	public TypeSpec.Builder buildWith(TypeSpec.Builder builder) {
+		if (!this.configuration.isBatch()) {
+			return builder;
+		}
+		String requestUrl = this.configuration.getRequestBasePath() + "/batch";
+		if (!this.configuration.hasExistingRequest(RequestMethod.POST, requestUrl)) {
+			RestnessUtil.log("addCreateAllEntitiesMethod", 1);
+			builder.addMethod(this.createBatchMethod("createAll", PostMapping.class, "CREATE", HttpStatus.CREATED).build());
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.PUT, requestUrl)) {
+			RestnessUtil.log("addSetAllEntitiesMethod", 1);
+			builder.addMethod(this.createBatchMethod("setAll", PutMapping.class, "UPDATE", HttpStatus.OK).build());
+		}
+		return builder;
+	}
+
+	/**
+	 * Create a method that takes a list of request objects and writes them
+	 * with the data accessor in chunks. The response contains the written
+	 * items in the order of the request.
+	 *
+	 * @param name           The name of the method.
+	 * @param mapping        The annotation used for the request mapping.
+	 * @param securityMethod The method used for the security check.
+	 * @param status         The http status of the response.
+	 * @return The {@link MethodSpec.Builder} of the new method.
+	 */
+	protected MethodSpec.Builder createBatchMethod(String name, Class<?> mapping, String securityMethod, HttpStatus status) {
+		TypeName entityType = this.configuration.getEntityClassName();
+		TypeName requestType = this.configuration.getRequestType();
+		TypeName responseType = this.configuration.getSingleResponseType();
+		ParameterizedTypeName results = ParameterizedTypeName.get(ClassName.get(List.class), responseType);
+		boolean isCreating = status == HttpStatus.CREATED;
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder(name)
+				.addAnnotation(AnnotationSpec.builder(mapping).addMember("value", "$S", this.configuration.getRequestBasePath() + "/batch").build())
+				.addAnnotation(Transactional.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), results))
+				.addParameter(ParameterSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), requestType.annotated(AnnotationSpec.builder(Valid.class).build())), "dtos")
+						.addAnnotation(RequestBody.class)
+						.build());
+		method = new AuthenticationInjector()
+				.withMethod(securityMethod)
+				.withEntityClassName(entityType)
+				.withSecurityConfig(this.configuration.getSecurityConfiguration())
+				.inject(method);
+		method.addStatement("$T response = new $T<>(dtos.size())", results, ArrayList.class);
+		method.addStatement("int batchSize = this.dataAccessor.getBatchSize()");
+		method.beginControlFlow("for (int offset = 0; offset < dtos.size(); offset += batchSize)");
+		method.addStatement("$T<$T> chunk = dtos.subList(offset, $T.min(offset + batchSize, dtos.size()))", List.class, requestType, Math.class);
+		if (this.configuration.isUsingDto()) {
+			method.addStatement("$T<$T> entities = this.dataMapper.mapAll(chunk, $T.class)", List.class, entityType, entityType);
+		} else {
+			method.addStatement("$T<$T> entities = new $T<>(chunk)", List.class, entityType, ArrayList.class);
+		}
+		if (isCreating) {
+			// The created entities are already written by the data accessor.
+			method.beginControlFlow("try");
+			method.addStatement("entities = this.dataAccessor.createAllData(entities)");
+			method.nextControlFlow("catch ($T e)", EntityExistsException.class);
+			method.addStatement("throw new $T($T.CONFLICT, e.getMessage(), e)", ResponseStatusException.class, HttpStatus.class);
+			method.nextControlFlow("catch ($T e)", DataIntegrityViolationException.class);
+			method.addStatement("throw new $T($T.BAD_REQUEST, e.getMessage(), e)", ResponseStatusException.class, HttpStatus.class);
+			method.endControlFlow();
+		} else {
+			if (!this.configuration.isUpsert()) {
+				method.beginControlFlow("if (!this.dataAccessor.existsAllData(entities.stream().map($T::$N).toList()))", entityType, this.configuration.getIdAccessorMethodName());
+				method.addStatement("throw new $T()", EntityNotFoundException.class);
+				method.endControlFlow();
+			}
+			method.addStatement("entities = this.dataAccessor.updateAllData(entities)");
+			method.addStatement("this.entityManager.flush()");
+		}
+		if (this.configuration.isUsingDto()) {
+			method.addStatement("response.addAll(this.dataMapper.mapAll(entities, $T.class))", responseType);
+		} else {
+			method.addStatement("response.addAll(entities)");
+		}
+		method.addStatement("this.entityManager.clear()");
+		method.endControlFlow();
+		method.addStatement("return new $T<>(response, $T.$L)", ResponseEntity.class, HttpStatus.class, status.name());
+		return method;
+	}
+}
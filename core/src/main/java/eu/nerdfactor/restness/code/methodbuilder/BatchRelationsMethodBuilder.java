@@ -0,0 +1,164 @@
+package eu.nerdfactor.restness.code.methodbuilder;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
+import eu.nerdfactor.restness.code.injector.NoContentStatementInjector;
+import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
+import eu.nerdfactor.restness.config.AccessorType;
+import eu.nerdfactor.restness.config.RelationConfiguration;
+import eu.nerdfactor.restness.util.RestnessUtil;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A builder that can be used to create batch methods for a multiple relation
+ * in a controller. All related entities of a batch request are added or
+ * removed in one transaction and the entity is updated only once. The
+ * related entities are referenced by their ids and are not loaded.
+ * <p>
+ * Batch relations methods consist of:
+ * <li>A method to add a list of related entities by their ids, that returns
+ * the related entities after the update. If the relation is written directly,
+ * the method answers without content instead.</li>
+ * <li>A method to remove a list of related entities by their ids.</li>
+ *
+ * @author Daniel Klug
+ */
+public class BatchRelationsMethodBuilder extends MethodBuilder {
+
+	RelationConfiguration relationConfiguration;
+
+	public BatchRelationsMethodBuilder withRelation(RelationConfiguration relation) {
+		this.relationConfiguration = relation;
+		return this;
+	}
+
+	/**
+	 * Create a {@link TypeSpec.Builder} containing batch relations methods.
+	 *
+	 * @param builder An existing builder object that will be used.
+	 * @return The build {@link TypeSpec.Builder}.
+	 */
+	@Override
+	public TypeSpec.Builder buildWith(TypeSpec.Builder builder) {
+		if (!this.configuration.isBatch()) {
+			return builder;
+		}
+		String requestUrl = this.configuration.getRequestBasePath() + "/{id}/" + this.relationConfiguration.getRelationName() + "/batch";
+		String relationName = this.relationConfiguration.getMethodName(AccessorType.GET).substring(3);
+		TypeName responseType = this.relationConfiguration.getResponseType();
+		if (!this.configuration.hasExistingRequest(RequestMethod.POST, requestUrl) &&
+				!this.configuration.hasExistingRequest(RequestMethod.PUT, requestUrl) &&
+				!this.configuration.hasExistingRequest(RequestMethod.PATCH, requestUrl)) {
+			RestnessUtil.log("addAddAllToRelationsMethod", 1);
+			MethodSpec.Builder method = this.createBatchMethod("addAll" + relationName, AnnotationSpec.builder(RequestMapping.class)
+					.addMember("value", "$S", requestUrl)
+					.addMember("method", "{ $T.POST, $T.PUT, $T.PATCH }", RequestMethod.class, RequestMethod.class, RequestMethod.class)
+					.build(), this.relationConfiguration.getAdderMethodName(), "addAllRelationData");
+			if (this.isDirect()) {
+				// Answer like the removal, instead of listing the whole relation again.
+				new NoContentStatementInjector()
+						.withWrapper(this.configuration.getResponseWrapperClassName())
+						.withResponse(responseType)
+						.inject(method);
+				method.returns(this.getNoContentType(responseType));
+			} else {
+				// Create the response from the updated entity, instead of reading it again.
+				method.addStatement("entity = this.dataAccessor.updateData(entity)");
+				String related = "entity." + this.relationConfiguration.getGetterMethodName() + "()";
+				if (this.relationConfiguration.isUsingDto()) {
+					method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(" + related + ", $T.class)", List.class, responseType, responseType);
+				} else {
+					method.addStatement("$T<$T> responseList = new $T<>(" + related + ")", List.class, responseType, ArrayList.class);
+				}
+				new ReturnStatementInjector()
+						.withWrapper(this.configuration.getResponseWrapperClassName())
+						.withResponse(responseType)
+						.withResponseVariable("responseList")
+						.inject(method);
+			}
+			builder.addMethod(method.build());
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.DELETE, requestUrl)) {
+			RestnessUtil.log("addRemoveAllFromRelationsMethod", 1);
+			MethodSpec.Builder method = this.createBatchMethod("removeAll" + relationName, AnnotationSpec.builder(DeleteMapping.class)
+					.addMember("value", "$S", requestUrl)
+					.build(), this.relationConfiguration.getRemoverMethodName(), "removeAllRelationData");
+			if (!this.isDirect()) {
+				method.addStatement("this.dataAccessor.updateData(entity)");
+			}
+			new NoContentStatementInjector()
+					.withWrapper(this.configuration.getResponseWrapperClassName())
+					.withResponse(responseType)
+					.inject(method);
+			method.returns(this.getNoContentType(responseType));
+			builder.addMethod(method.build());
+		}
+		return builder;
+	}
+
+	/**
+	 * Create a method that reads the entity once and calls the accessor of
+	 * the relation with a reference to every related entity of the request.
+	 * If the relation is written directly, the data accessor adds or removes
+	 * all related entities at once instead, without reading the entity.
+	 *
+	 * @param name           The name of the method.
+	 * @param mapping        The annotation used for the request mapping.
+	 * @param accessorMethod The method of the entity adding or removing a
+	 *                       related entity.
+	 * @param directMethod   The method of the data accessor adding or
+	 *                       removing all related entities directly.
+	 * @return The {@link MethodSpec.Builder} of the new method.
+	 */
+	protected MethodSpec.Builder createBatchMethod(String name, AnnotationSpec mapping, String accessorMethod, String directMethod) {
+		TypeName responseType = this.relationConfiguration.getResponseType();
+		TypeName relationIdType = this.relationConfiguration.getIdClassName().box();
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder(name)
+				.addAnnotation(mapping)
+				.addAnnotation(Transactional.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.get(List.class), responseType)))
+				.addParameter(ParameterSpec.builder(this.configuration.getIdClassName(), "id")
+						.addModifiers(Modifier.FINAL)
+						.addAnnotation(PathVariable.class)
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), relationIdType), "relationIds")
+						.addAnnotation(RequestBody.class)
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("UPDATE")
+				.withEntityClassName(this.configuration.getEntityClassName())
+				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
+				.withSecurityConfig(this.configuration.getSecurityConfiguration())
+				.inject(method);
+		if (this.isDirect()) {
+			method.addStatement("this.dataAccessor.$N(id, this.$N, relationIds)", directMethod, this.relationConfiguration.getRelationName() + "Relation");
+			return method;
+		}
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
+		method.beginControlFlow("for ($T relationId : relationIds)", relationIdType);
+		method.addStatement("entity.$N(this.entityManager.getReference($T.class, relationId))", accessorMethod, this.relationConfiguration.getEntityClassName());
+		method.endControlFlow();
+		return method;
+	}
+
+	/**
+	 * Check if the relation is written directly on the join table or the
+	 * foreign key.
+	 *
+	 * @return True if the relation is written directly.
+	 */
+	protected boolean isDirect() {
+		return this.configuration.isDirectRelations() && this.relationConfiguration.isDirectlyWritable();
+	}
+}
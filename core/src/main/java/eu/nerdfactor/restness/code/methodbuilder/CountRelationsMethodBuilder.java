@@ -0,0 +1,78 @@
+package eu.nerdfactor.restness.code.methodbuilder;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
+import eu.nerdfactor.restness.config.AccessorType;
+import eu.nerdfactor.restness.config.RelationConfiguration;
+import eu.nerdfactor.restness.util.RestnessUtil;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * A builder that can be used to create a method in a controller, that counts
+ * the related entities of a multiple relation.
+ * <p>
+ * Count relations method consist of:
+ * <li>A method to count the related entities, optionally filtered by a
+ * specification, in a count query without loading the entity or the related
+ * entities.</li>
+ *
+ * @author Daniel Klug
+ */
+public class CountRelationsMethodBuilder extends MethodBuilder {
+
+	RelationConfiguration relationConfiguration;
+
+	public CountRelationsMethodBuilder withRelation(RelationConfiguration relation) {
+		this.relationConfiguration = relation;
+		return this;
+	}
+
+	/**
+	 * Create a {@link TypeSpec.Builder} containing a count relations method.
+	 *
+	 * @param builder An existing builder object that will be used.
+	 * @return The build {@link TypeSpec.Builder}.
+	 */
+	@Override
+	public TypeSpec.Builder buildWith(TypeSpec.Builder builder) {
+		String requestUrl = this.configuration.getRequestBasePath() + "/{id}/" + this.relationConfiguration.getRelationName() + "/count";
+		if (this.configuration.hasExistingRequest(RequestMethod.GET, requestUrl)) {
+			return builder;
+		}
+		RestnessUtil.log("addCountRelationsMethod", 1);
+		ClassName relatedType = this.relationConfiguration.getEntityClassName();
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("count" + this.relationConfiguration.getMethodName(AccessorType.GET).substring(3))
+				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", requestUrl).build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ResponseEntity.class, Long.class))
+				.addParameter(ParameterSpec.builder(this.configuration.getIdClassName(), "id")
+						.addModifiers(Modifier.FINAL)
+						.addAnnotation(PathVariable.class)
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(String.class, "filter")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("READ")
+				.withEntityClassName(this.configuration.getEntityClassName())
+				.withRelatedClassName(relatedType)
+				.withSecurityConfig(this.configuration.getSecurityConfiguration())
+				.inject(method);
+		this.addSpecificationStatement(method, relatedType);
+		method.addStatement("long count = this.dataAccessor.countRelationData(id, this.$N, spec)", this.relationConfiguration.getRelationName() + "Relation");
+		method.addStatement("return new $T<>(count, $T.OK)", ResponseEntity.class, HttpStatus.class);
+		builder.addMethod(method.build());
+		return builder;
+	}
+}
@@ -13,6 +13,8 @@ import com.squareup.javapoet.TypeSpec;
  * <li>A method to set an entity.</li>
  * <li>A method to delete an entity<./li>
  * <li>A method to delete an entity by its id.</li>
+ * <li>A method to delete entities by ids or a filter, if enabled.</li>
+ * <li>Methods to create or update a list of entities, if enabled.</li>
  *
  * @author Daniel Klug
  */
@@ -39,6 +41,8 @@ public class CrudMethodBuilder extends MultiStepMethodBuilder {
 		this.and(UpdateEntityMethodBuilder.create().withConfiguration(this.configuration));
 		this.and(SetEntityMethodBuilder.create().withConfiguration(this.configuration));
 		this.and(DeleteEntityMethodBuilder.create().withConfiguration(this.configuration));
+		this.and(DeleteAllMethodBuilder.create().withConfiguration(this.configuration));
+		this.and(BatchMethodBuilder.create().withConfiguration(this.configuration));
 		this.buildAll(builder);
 		return builder;
 	}
@@ -0,0 +1,87 @@
+package eu.nerdfactor.restness.code.methodbuilder;
+
+import com.squareup.javapoet.*;
+import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
+import eu.nerdfactor.restness.data.DataSpecifications;
+import eu.nerdfactor.restness.util.RestnessUtil;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.lang.model.element.Modifier;
+import java.util.List;
+
+/**
+ * A builder that can be used to create a bulk delete method in a controller.
+ * <p>
+ * Bulk delete method consist of:
+ * <li>A method to delete all entities with one of the provided ids or
+ * matching the provided filter, that returns the number of deleted
+ * entities.</li>
+ *
+ * @author Daniel Klug
+ */
+public class DeleteAllMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Create a new {@link DeleteAllMethodBuilder}.
+	 *
+	 * @return A new {@link DeleteAllMethodBuilder}.
+	 */
+	public static DeleteAllMethodBuilder create() {
+		return new DeleteAllMethodBuilder();
+	}
+
+	/**
+	 * Create a {@link TypeSpec.Builder} containing a bulk delete method. Ids
+	 * and filter are combined, if both are provided. A request without ids
+	 * and filter is rejected, so all entities can not be deleted by accident.
+	 *
+	 * @param builder An existing builder object that will be used.
+	 * @return The build {@link TypeSpec.Builder}.
+	 */
+	@Override
+	public TypeSpec.Builder buildWith(TypeSpec.Builder builder) {
+		if (!this.configuration.isBulkDelete() || this.configuration.hasExistingRequest(RequestMethod.DELETE, this.configuration.getRequestBasePath())) {
+			return builder;
+		}
+		RestnessUtil.log("addDeleteAllEntitiesMethod", 1);
+		TypeName entityType = this.configuration.getEntityClassName();
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("deleteAll")
+				.addAnnotation(AnnotationSpec.builder(DeleteMapping.class).addMember("value", "$S", this.configuration.getRequestBasePath()).build())
+				.addAnnotation(Transactional.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ResponseEntity.class, Long.class))
+				.addParameter(ParameterSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), this.configuration.getIdClassName()), "ids")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(String.class, "filter")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("DELETE")
+				.withEntityClassName(entityType)
+				.withSecurityConfig(this.configuration.getSecurityConfiguration())
+				.inject(method);
+		method.addStatement("boolean hasIds = ids != null && !ids.isEmpty()");
+		method.beginControlFlow("if (!hasIds && (filter == null || filter.isBlank()))");
+		method.addStatement("throw new $T($T.BAD_REQUEST, $S)", ResponseStatusException.class, HttpStatus.class, "Either ids or a filter is required");
+		method.endControlFlow();
+		this.addSpecificationStatement(method, entityType);
+		method.beginControlFlow("if (hasIds)");
+		method.addStatement("spec = $T.<$T>hasIds(ids).and(spec)", DataSpecifications.class, entityType);
+		method.endControlFlow();
+		method.addStatement("long count = this.dataAccessor.deleteAllData(spec)");
+		method.addStatement("return new $T<>(count, $T.OK)", ResponseEntity.class, HttpStatus.class);
+		builder.addMethod(method.build());
+		return builder;
+	}
+}
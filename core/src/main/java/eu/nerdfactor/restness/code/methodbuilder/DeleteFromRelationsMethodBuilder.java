@@ -9,6 +9,7 @@ import eu.nerdfactor.restness.util.RestnessUtil;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -55,9 +56,7 @@ public class DeleteFromRelationsMethodBuilder extends MethodBuilder {
 				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(method);
-		if (this.configuration.getResponseWrapperClassName() != null && !this.configuration.getResponseWrapperClassName().equals(TypeName.OBJECT)) {
-			method.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(this.configuration.getResponseWrapperClassName().toString()), responseType)));
-		}
+		method.returns(this.getNoContentType(responseType));
 		method.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.REMOVE) + "ById(id, dto." + this.relationConfiguration.getIdAccessorMethodName() + "())");
 		builder.addMethod(method.build());
 
@@ -85,14 +84,21 @@ public class DeleteFromRelationsMethodBuilder extends MethodBuilder {
 				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(methodById);
-		methodById.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
-		methodById.addStatement("$T rel = this.entityManager.getReference($T.class, relationId)", this.relationConfiguration.getEntityClassName(), this.relationConfiguration.getEntityClassName());
-		methodById.addStatement("entity." + this.relationConfiguration.getRemoverMethodName() + "(rel)");
-		methodById.addStatement("this.dataAccessor.updateData(entity)");
+		if (this.configuration.isDirectRelations() && this.relationConfiguration.isDirectlyWritable()) {
+			// Write the join table or foreign key directly, without loading the relation.
+			methodById.addAnnotation(Transactional.class);
+			methodById.addStatement("this.dataAccessor.removeRelationData(id, this.$N, relationId)", this.relationConfiguration.getRelationName() + "Relation");
+		} else {
+			methodById.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
+			methodById.addStatement("$T rel = this.entityManager.getReference($T.class, relationId)", this.relationConfiguration.getEntityClassName(), this.relationConfiguration.getEntityClassName());
+			methodById.addStatement("entity." + this.relationConfiguration.getRemoverMethodName() + "(rel)");
+			methodById.addStatement("this.dataAccessor.updateData(entity)");
+		}
 		methodById = new NoContentStatementInjector()
 				.withWrapper(this.configuration.getResponseWrapperClassName())
 				.withResponse(responseType)
 				.inject(methodById);
+		methodById.returns(this.getNoContentType(responseType));
 		builder.addMethod(methodById.build());
 		return builder;
 	}
@@ -48,7 +48,7 @@ public class DeleteSingleRelationMethodBuilder extends MethodBuilder {
 				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(method);
-		method.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
 		method.addStatement("entity." + this.relationConfiguration.getSetterMethodName() + "(null)");
 		method.addStatement("this.dataAccessor.updateData(entity)");
 		method = new NoContentStatementInjector()
@@ -5,12 +5,17 @@ import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
 import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
 import eu.nerdfactor.restness.config.AccessorType;
 import eu.nerdfactor.restness.config.RelationConfiguration;
+import eu.nerdfactor.restness.data.DataPage;
 import eu.nerdfactor.restness.util.RestnessUtil;
-import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import javax.lang.model.element.Modifier;
 import java.util.ArrayList;
@@ -32,7 +37,8 @@ public class GetMultipleRelationsMethodBuilder extends MethodBuilder {
 		}
 		RestnessUtil.log("addGetMultipleRelationsMethod", 1);
 		TypeName responseType = this.relationConfiguration.isUsingDto() && this.relationConfiguration.getResponseObjectClassName() != null && !this.relationConfiguration.getResponseObjectClassName().equals(TypeName.OBJECT) ? this.relationConfiguration.getResponseObjectClassName() : this.relationConfiguration.getEntityClassName();
-		ParameterizedTypeName responseList = ParameterizedTypeName.get(ClassName.get(List.class), responseType);
+		boolean paged = this.configuration.isPagedRelations();
+		ParameterizedTypeName responseList = ParameterizedTypeName.get(ClassName.get(paged ? Page.class : List.class), responseType);
 		MethodSpec.Builder method = MethodSpec
 				.methodBuilder(this.relationConfiguration.getMethodName(AccessorType.GET))
 				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequestBasePath() + "/{id}/" + this.relationConfiguration.getRelationName()).build())
@@ -43,28 +49,73 @@ public class GetMultipleRelationsMethodBuilder extends MethodBuilder {
 						.addAnnotation(PathVariable.class)
 						.build()
 				);
+		if (paged) {
+			method.addParameter(ParameterSpec.builder(String.class, "filter")
+							.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+							.build()
+					)
+					.addParameter(ParameterSpec.builder(Pageable.class, "pageable")
+							.addAnnotation(AnnotationSpec.builder(PageableDefault.class).addMember("size", "20").build())
+							.build()
+					);
+		}
 		method = new AuthenticationInjector()
 				.withMethod("READ")
 				.withEntityClassName(this.configuration.getEntityClassName())
 				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(method);
-		method.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
-		method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
-		method.beginControlFlow("for($T rel : entity." + this.relationConfiguration.getGetterMethodName() + "())", this.relationConfiguration.getEntityClassName());
+		if (paged) {
+			this.addPagedMethodBody(method, responseType);
+		} else {
+			this.addMethodBody(method, responseType);
+		}
+		builder.addMethod(method.build());
+		return builder;
+	}
+
+	/**
+	 * Add a method body that queries the complete list of related entities
+	 * directly, without loading the entity.
+	 *
+	 * @param method       The {@link MethodSpec.Builder} of the method.
+	 * @param responseType The type of the related response objects.
+	 */
+	protected void addMethodBody(MethodSpec.Builder method, TypeName responseType) {
+		method.addStatement("$T<$T> related = this.dataAccessor.listRelationData(id, this.$N)", List.class, this.relationConfiguration.getEntityClassName(), this.relationConfiguration.getRelationName() + "Relation");
 		if (this.relationConfiguration.isUsingDto()) {
-			method.addStatement("$T response = this.dataMapper.map(rel, $T.class)", responseType, responseType);
+			method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(related, $T.class)", List.class, responseType, responseType);
 		} else {
-			method.addStatement("$T response = rel", responseType);
+			method.addStatement("$T<$T> responseList = new $T<>(related)", List.class, responseType, ArrayList.class);
 		}
-		method.addStatement("responseList.add(response)");
-		method.endControlFlow();
-		method = new ReturnStatementInjector()
+		new ReturnStatementInjector()
 				.withWrapper(this.configuration.getResponseWrapperClassName())
 				.withResponse(responseType)
 				.withResponseVariable("responseList")
 				.inject(method);
-		builder.addMethod(method.build());
-		return builder;
+	}
+
+	/**
+	 * Add a method body that queries a page of related entities directly,
+	 * filtered by a specification, without loading the entity.
+	 *
+	 * @param method       The {@link MethodSpec.Builder} of the method.
+	 * @param responseType The type of the related response objects.
+	 */
+	protected void addPagedMethodBody(MethodSpec.Builder method, TypeName responseType) {
+		ClassName relatedType = this.relationConfiguration.getEntityClassName();
+		this.addSpecificationStatement(method, relatedType);
+		method.addStatement("$T<$T> page = this.dataAccessor.searchRelationData(id, this.$N, spec, pageable)", Page.class, relatedType, this.relationConfiguration.getRelationName() + "Relation");
+		if (this.relationConfiguration.isUsingDto()) {
+			method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(page.getContent(), $T.class)", List.class, responseType, responseType);
+		} else {
+			method.addStatement("$T<$T> responseList = page.getContent()", List.class, responseType);
+		}
+		method.addStatement("$T<$T> responsePage = new $T<>(responseList, page.getPageable(), page.getTotalElements())", Page.class, responseType, DataPage.class);
+		new ReturnStatementInjector()
+				.withWrapper(this.configuration.getResponseWrapperClassName())
+				.withResponse(responseType)
+				.withResponseVariable("responsePage")
+				.inject(method);
 	}
 }
@@ -6,7 +6,6 @@ import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
 import eu.nerdfactor.restness.config.AccessorType;
 import eu.nerdfactor.restness.config.RelationConfiguration;
 import eu.nerdfactor.restness.util.RestnessUtil;
-import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -46,11 +45,12 @@ public class GetSingleRelationMethodBuilder extends MethodBuilder {
 				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(method);
-		method.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
+		// Query the related entity directly, without loading the entity.
+		method.addStatement("$T related = this.dataAccessor.readRelationData(id, this.$N).orElse(null)", this.relationConfiguration.getEntityClassName(), this.relationConfiguration.getRelationName() + "Relation");
 		if (this.relationConfiguration.isUsingDto()) {
-			method.addStatement("$T response = this.dataMapper.map(entity." + this.relationConfiguration.getGetterMethodName() + "(), $T.class)", responseType, responseType);
+			method.addStatement("$T response = this.dataMapper.map(related, $T.class)", responseType, responseType);
 		} else {
-			method.addStatement("$T response = entity." + this.relationConfiguration.getGetterMethodName() + "()", responseType);
+			method.addStatement("$T response = related", responseType);
 		}
 		method = new ReturnStatementInjector()
 				.withWrapper(this.configuration.getResponseWrapperClassName())
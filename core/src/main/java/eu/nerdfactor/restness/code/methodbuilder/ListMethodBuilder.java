@@ -1,22 +1,28 @@
 package eu.nerdfactor.restness.code.methodbuilder;
 
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
 import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
 import eu.nerdfactor.restness.util.RestnessUtil;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.lang.model.element.Modifier;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A builder that can be used to create a list method in a controller.
  * <p>
  * List method consist of:
- * <li>A method to list all entities.</li>
+ * <li>A method to list all entities, or their projections.</li>
+ * <li>Or a method to stream all entities as newline delimited JSON.</li>
  *
  * @author Daniel Klug
  */
@@ -41,6 +47,9 @@ public class ListMethodBuilder extends MethodBuilder {
 		if (this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequestBasePath())) {
 			return builder;
 		}
+		if (this.configuration.isStreamingList()) {
+			return this.buildStreamingWith(builder);
+		}
 		RestnessUtil.log("addGetAllEntitiesMethod", 1);
 		TypeName responseType = this.configuration.getResponseType();
 		ParameterizedTypeName responseList = ParameterizedTypeName.get(ClassName.get(List.class), responseType);
@@ -54,15 +63,16 @@ public class ListMethodBuilder extends MethodBuilder {
 				.withEntityClassName(this.configuration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(method);
-		method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
-		method.beginControlFlow("for($T entity : this.dataAccessor.listData())", this.configuration.getEntityClassName());
-		if (this.configuration.isUsingDto()) {
-			method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+		if (this.configuration.isUsingProjection()) {
+			method.addStatement("$T<$T> responseList = this.dataAccessor.listProjectedData(this.dataProjection)", List.class, responseType);
+		} else if (this.configuration.isUsingDto()) {
+			method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(this.dataAccessor.listData(), $T.class)", List.class, responseType, responseType);
 		} else {
-			method.addStatement("$T response = entity", responseType);
+			method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
+			method.beginControlFlow("for($T entity : this.dataAccessor.listData())", this.configuration.getEntityClassName());
+			method.addStatement("responseList.add(entity)");
+			method.endControlFlow();
 		}
-		method.addStatement("responseList.add(response)");
-		method.endControlFlow();
 		method = new ReturnStatementInjector()
 				.withWrapper(this.configuration.getResponseWrapperClassName())
 				.withResponse(responseType)
@@ -71,4 +81,48 @@ public class ListMethodBuilder extends MethodBuilder {
 		builder.addMethod(method.build());
 		return builder;
 	}
+
+	/**
+	 * Create a {@link TypeSpec.Builder} containing a list method that streams
+	 * the entities as newline delimited JSON. Every entity is mapped and written
+	 * to the response as soon as it was read and is detached afterward, so the
+	 * persistence context does not grow with the size of the table. A response
+	 * wrapper can not be used with a streamed response.
+	 *
+	 * @param builder An existing builder object that will be used.
+	 * @return The build {@link TypeSpec.Builder}.
+	 */
+	protected TypeSpec.Builder buildStreamingWith(TypeSpec.Builder builder) {
+		RestnessUtil.log("addStreamAllEntitiesMethod", 1);
+		TypeName responseType = this.configuration.getResponseType();
+		TypeName entityType = this.configuration.getEntityClassName();
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("all")
+				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequestBasePath()).build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ClassName.get(StreamingResponseBody.class)));
+		method = new AuthenticationInjector()
+				.withMethod("READ")
+				.withEntityClassName(entityType)
+				.withSecurityConfig(this.configuration.getSecurityConfiguration())
+				.inject(method);
+		method.addCode("$T body = output -> {\n$>", StreamingResponseBody.class);
+		method.beginControlFlow("try ($T<$T> stream = this.dataAccessor.streamData(); $T writer = this.objectMapper.writer().withRootValueSeparator($S).writeValues(output))", Stream.class, entityType, SequenceWriter.class, "\n");
+		method.addStatement("$T<$T> iterator = stream.iterator()", Iterator.class, entityType);
+		method.beginControlFlow("while (iterator.hasNext())");
+		method.addStatement("$T entity = iterator.next()", entityType);
+		if (this.configuration.isUsingDto()) {
+			method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+		} else {
+			method.addStatement("$T response = entity", responseType);
+		}
+		method.addStatement("writer.write(response)");
+		method.addStatement("this.entityManager.detach(entity)");
+		method.endControlFlow();
+		method.endControlFlow();
+		method.addCode("$<};\n");
+		method.addStatement("return $T.ok().contentType($T.APPLICATION_NDJSON).body(body)", ResponseEntity.class, MediaType.class);
+		builder.addMethod(method.build());
+		return builder;
+	}
 }
@@ -1,10 +1,18 @@
 package eu.nerdfactor.restness.code.methodbuilder;
 
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import eu.nerdfactor.restness.code.builder.Buildable;
 import eu.nerdfactor.restness.code.builder.Configurable;
 import eu.nerdfactor.restness.config.ControllerConfiguration;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * A builder that can be used to create a method in a controller.
@@ -40,4 +48,41 @@ public abstract class MethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 	public TypeSpec.Builder buildWith(TypeSpec.Builder builder) {
 		return builder;
 	}
+
+	/**
+	 * Add a statement that builds the specification {@code spec} from the
+	 * {@code filter} parameter. Malformed filters, unknown attributes and
+	 * values that can not be converted into the type of their attribute are
+	 * rejected with 400 Bad Request, before the specification is used in a
+	 * query. The specification builder checks the specification, so a
+	 * caching builder only checks it once for every filter.
+	 *
+	 * @param method The existing {@link MethodSpec.Builder}.
+	 * @param type   The type of the filtered entity.
+	 */
+	protected void addSpecificationStatement(MethodSpec.Builder method, TypeName type) {
+		method.addStatement("$T spec", ParameterizedTypeName.get(ClassName.get(Specification.class), type));
+		method.beginControlFlow("try");
+		method.addStatement("spec = this.specificationBuilder.build(filter, $T.class, this.entityManager)", type);
+		method.nextControlFlow("catch ($T e)", IllegalArgumentException.class);
+		method.addStatement("throw new $T($T.BAD_REQUEST, e.getMessage(), e)", ResponseStatusException.class, HttpStatus.class);
+		method.endControlFlow();
+	}
+
+	/**
+	 * Get the return type of a method that answers without content. Without
+	 * a response wrapper, the method answers with an empty body and returns
+	 * {@code ResponseEntity<Void>}. With a response wrapper, it answers with
+	 * an empty wrapper of the response type.
+	 *
+	 * @param responseType The type of the response, if it had content.
+	 * @return The return type of the method.
+	 */
+	protected TypeName getNoContentType(TypeName responseType) {
+		TypeName wrapper = this.configuration.getResponseWrapperClassName();
+		if (wrapper != null && !wrapper.equals(TypeName.OBJECT)) {
+			return ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(wrapper.toString()), responseType));
+		}
+		return ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ClassName.get(Void.class));
+	}
 }
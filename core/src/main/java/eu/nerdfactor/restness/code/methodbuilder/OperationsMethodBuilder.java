@@ -0,0 +1,244 @@
+package eu.nerdfactor.restness.code.methodbuilder;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.squareup.javapoet.*;
+import eu.nerdfactor.restness.config.AccessorType;
+import eu.nerdfactor.restness.config.RelationConfiguration;
+import eu.nerdfactor.restness.config.RelationType;
+import eu.nerdfactor.restness.data.DataBatchResult;
+import eu.nerdfactor.restness.data.DataOperation;
+import eu.nerdfactor.restness.util.RestnessUtil;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A builder that can be used to create an operations method in a
+ * controller. An operations request contains an ordered list of
+ * {@link DataOperation DataOperations}, that are dispatched to the generated
+ * endpoints of the controller in one transaction. The endpoints are called
+ * through the proxy of the controller, so every operation is authorized like
+ * a single request.
+ * <p>
+ * Operations methods consist of:
+ * <li>A method to apply a list of operations, that returns the status and
+ * response of every operation.</li>
+ * <li>A method to convert and validate the values of an operation.</li>
+ *
+ * @author Daniel Klug
+ */
+public class OperationsMethodBuilder extends MethodBuilder {
+
+	/**
+	 * Create a new {@link OperationsMethodBuilder}.
+	 *
+	 * @return A new {@link OperationsMethodBuilder}.
+	 */
+	public static OperationsMethodBuilder create() {
+		return new OperationsMethodBuilder();
+	}
+
+	/**
+	 * Create a {@link TypeSpec.Builder} containing an operations method. Only
+	 * operations for endpoints that are generated can be dispatched. If one
+	 * operation fails, the transaction is rolled back and the error of the
+	 * operation is returned.
+	 *
+	 * @param builder An existing builder object that will be used.
+	 * @return The build {@link TypeSpec.Builder}.
+	 */
+	@Override
+	public TypeSpec.Builder buildWith(TypeSpec.Builder builder) {
+		String requestUrl = this.configuration.getRequestBasePath() + "/_ops";
+		if (!this.configuration.isOperations() || this.configuration.hasExistingRequest(RequestMethod.POST, requestUrl)) {
+			return builder;
+		}
+		RestnessUtil.log("addOperationsMethod", 1);
+		String basePath = this.configuration.getRequestBasePath();
+		TypeName idType = this.configuration.getIdClassName();
+		TypeName requestType = this.configuration.getRequestType();
+		ParameterizedTypeName results = ParameterizedTypeName.get(ClassName.get(List.class), ParameterizedTypeName.get(ClassName.get(DataBatchResult.class), ClassName.OBJECT));
+		AnnotationSpec.Builder transactional = AnnotationSpec.builder(Transactional.class);
+		if (this.configuration.isUsingDirectUpdate()) {
+			// Invalid direct updates throw a checked exception, that has to roll back the previous operations.
+			transactional.addMember("rollbackFor", "$T.class", MethodArgumentNotValidException.class);
+		}
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("applyOperations")
+				.addAnnotation(AnnotationSpec.builder(PostMapping.class).addMember("value", "$S", requestUrl).build())
+				.addAnnotation(transactional.build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), results))
+				.addParameter(ParameterSpec.builder(ParameterizedTypeName.get(List.class, DataOperation.class), "operations")
+						.addAnnotation(RequestBody.class)
+						.build());
+		if (this.configuration.isUsingDirectUpdate()) {
+			method.addException(MethodArgumentNotValidException.class);
+		}
+		method.addStatement("$T controller = this.self.getObject()", this.configuration.getControllerClassName());
+		method.addStatement("$T response = new $T<>(operations.size())", results, ArrayList.class);
+		method.beginControlFlow("for (int index = 0; index < operations.size(); index++)");
+		method.addStatement("$T operation = operations.get(index)", DataOperation.class);
+		method.addStatement("$T<?> result", ResponseEntity.class);
+		method.beginControlFlow("switch (operation.getOp())");
+		if (!this.configuration.hasExistingRequest(RequestMethod.POST, basePath)) {
+			this.addCase(method, DataOperation.Type.CREATE, CodeBlock.of("result = controller.create($L)", this.readValue("getContent", requestType)));
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.PATCH, basePath + "/{id}")) {
+			// Direct updates read the properties that were sent from the unconverted content.
+			TypeName updateType = this.configuration.isUsingDirectUpdate() ? ClassName.get(ObjectNode.class) : requestType;
+			this.addCase(method, DataOperation.Type.UPDATE, CodeBlock.of("result = controller.update($L, $L)", this.readValue("getId", idType), this.readValue("getContent", updateType)));
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.PUT, basePath + "/{id}")) {
+			this.addCase(method, DataOperation.Type.SET, CodeBlock.of("result = controller.set($L, $L)", this.readValue("getId", idType), this.readValue("getContent", requestType)));
+		}
+		if (!this.configuration.hasExistingRequest(RequestMethod.DELETE, basePath + "/{id}")) {
+			this.addCase(method, DataOperation.Type.DELETE, CodeBlock.of("result = controller.delete($L)", this.readValue("getId", idType)));
+		}
+		if (this.configuration.isUsingRelations()) {
+			this.addRelationCase(method, DataOperation.Type.ADD_RELATION);
+			this.addRelationCase(method, DataOperation.Type.REMOVE_RELATION);
+		}
+		method.addCode("default:\n$>");
+		method.addStatement("throw new $T($T.BAD_REQUEST, \"Operation \" + index + \" is not supported\")", ResponseStatusException.class, HttpStatus.class);
+		method.addCode("$<");
+		method.endControlFlow();
+		method.addStatement("response.add(new $T<>(index, result.getStatusCode().value(), result.getBody()))", DataBatchResult.class);
+		method.endControlFlow();
+		method.addStatement("return new $T<>(response, $T.OK)", ResponseEntity.class, HttpStatus.class);
+		builder.addMethod(method.build());
+		builder.addMethod(this.createReadMethod().build());
+		return builder;
+	}
+
+	/**
+	 * Add a case for one kind of operation to the switch statement.
+	 *
+	 * @param method    The existing {@link MethodSpec.Builder}.
+	 * @param type      The kind of operation.
+	 * @param statement The statement that dispatches the operation.
+	 */
+	protected void addCase(MethodSpec.Builder method, DataOperation.Type type, CodeBlock statement) {
+		method.addCode("case $L:\n$>", type.name());
+		method.addStatement(statement);
+		method.addStatement("break");
+		method.addCode("$<");
+	}
+
+	/**
+	 * Add a case for relation operations to the switch statement, that
+	 * dispatches the operation by the name of the relation. Multiple
+	 * relations are changed by the related id, single relations are set to
+	 * the content or removed.
+	 *
+	 * @param method The existing {@link MethodSpec.Builder}.
+	 * @param type   The kind of relation operation.
+	 */
+	protected void addRelationCase(MethodSpec.Builder method, DataOperation.Type type) {
+		boolean isAdding = type == DataOperation.Type.ADD_RELATION;
+		CodeBlock.Builder dispatch = CodeBlock.builder();
+		for (RelationConfiguration relation : this.configuration.getRelationConfigurations().values()) {
+			String relationPath = this.configuration.getRequestBasePath() + "/{id}/" + relation.getRelationName();
+			CodeBlock statement;
+			if (relation.getRelationType() == RelationType.MULTIPLE) {
+				if (this.hasExistingRequest(isAdding, relationPath + "/{relationId}")) {
+					continue;
+				}
+				String name = relation.getMethodName(isAdding ? AccessorType.ADD : AccessorType.REMOVE) + "ById";
+				statement = CodeBlock.of("result = controller.$N($L, $L)", name, this.readValue("getId", this.configuration.getIdClassName()), this.readValue("getRelatedId", relation.getIdClassName()));
+			} else if (relation.getRelationType() == RelationType.SINGLE) {
+				if (this.hasExistingRequest(isAdding, relationPath)) {
+					continue;
+				}
+				if (isAdding) {
+					TypeName relatedType = relation.isUsingDto() && relation.getResponseObjectClassName() != null && !relation.getResponseObjectClassName().equals(TypeName.OBJECT) ? relation.getResponseObjectClassName() : relation.getEntityClassName();
+					statement = CodeBlock.of("result = controller.$N($L, $L)", relation.getMethodName(AccessorType.SET), this.readValue("getId", this.configuration.getIdClassName()), this.readValue("getContent", relatedType));
+				} else {
+					statement = CodeBlock.of("result = controller.$N($L)", relation.getMethodName(AccessorType.REMOVE), this.readValue("getId", this.configuration.getIdClassName()));
+				}
+			} else {
+				continue;
+			}
+			dispatch.add(dispatch.isEmpty() ? "if ($S.equals(operation.getRelation())) {\n$>" : "$<} else if ($S.equals(operation.getRelation())) {\n$>", relation.getRelationName());
+			dispatch.addStatement(statement);
+		}
+		if (dispatch.isEmpty()) {
+			return;
+		}
+		dispatch.add("$<} else {\n$>");
+		dispatch.addStatement("throw new $T($T.BAD_REQUEST, \"Operation \" + index + \" has an unknown relation\")", ResponseStatusException.class, HttpStatus.class);
+		dispatch.add("$<}\n");
+		method.addCode("case $L:\n$>", type.name());
+		method.addCode(dispatch.build());
+		method.addStatement("break");
+		method.addCode("$<");
+	}
+
+	/**
+	 * Create a method that converts a value of an operation into the type
+	 * of the endpoint and validates it, like a value of a single request.
+	 * Missing, malformed and invalid values are rejected with 400 Bad
+	 * Request.
+	 *
+	 * @return The {@link MethodSpec.Builder} of the new method.
+	 */
+	protected MethodSpec.Builder createReadMethod() {
+		TypeVariableName type = TypeVariableName.get("T");
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("readOperationValue")
+				.addModifiers(Modifier.PROTECTED)
+				.addTypeVariable(type)
+				.returns(type)
+				.addParameter(Object.class, "value")
+				.addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), type), "type")
+				.addParameter(TypeName.INT, "index");
+		method.addStatement("$T converted", type);
+		method.beginControlFlow("try");
+		method.addStatement("converted = this.objectMapper.convertValue(value, type)");
+		method.nextControlFlow("catch ($T e)", IllegalArgumentException.class);
+		method.addStatement("throw new $T($T.BAD_REQUEST, \"Operation \" + index + \" contains a malformed value\", e)", ResponseStatusException.class, HttpStatus.class);
+		method.endControlFlow();
+		method.beginControlFlow("if (converted == null || !this.validator.validate(converted).isEmpty())");
+		method.addStatement("throw new $T($T.BAD_REQUEST, \"Operation \" + index + \" contains an invalid value\")", ResponseStatusException.class, HttpStatus.class);
+		method.endControlFlow();
+		method.addStatement("return converted");
+		return method;
+	}
+
+	/**
+	 * Create the expression that reads a value of the operation.
+	 *
+	 * @param getter The getter of the value in the operation.
+	 * @param type   The type the value is converted into.
+	 * @return The {@link CodeBlock} of the expression.
+	 */
+	protected CodeBlock readValue(String getter, TypeName type) {
+		return CodeBlock.of("this.readOperationValue(operation.$N(), $T.class, index)", getter, type);
+	}
+
+	/**
+	 * Check if the endpoint of a relation operation is declared by the
+	 * existing controller and therefore not generated.
+	 *
+	 * @param isAdding If the operation adds or removes a relation.
+	 * @param path     The path of the endpoint.
+	 * @return True if the endpoint is not generated.
+	 */
+	protected boolean hasExistingRequest(boolean isAdding, String path) {
+		if (!isAdding) {
+			return this.configuration.hasExistingRequest(RequestMethod.DELETE, path);
+		}
+		return this.configuration.hasExistingRequest(RequestMethod.POST, path)
+				|| this.configuration.hasExistingRequest(RequestMethod.PUT, path)
+				|| this.configuration.hasExistingRequest(RequestMethod.PATCH, path);
+	}
+}
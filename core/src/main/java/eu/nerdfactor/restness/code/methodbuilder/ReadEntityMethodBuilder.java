@@ -7,6 +7,7 @@ import eu.nerdfactor.restness.code.builder.Configurable;
 import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
 import eu.nerdfactor.restness.config.ControllerConfiguration;
 import eu.nerdfactor.restness.config.SecurityConfiguration;
+import eu.nerdfactor.restness.data.DataETag;
 import eu.nerdfactor.restness.util.RestnessUtil;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.AccessLevel;
@@ -14,9 +15,12 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.With;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 import javax.lang.model.element.Modifier;
@@ -34,6 +38,10 @@ public class ReadEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Con
 	protected boolean isUsingDto;
 	protected SecurityConfiguration securityConfiguration;
 	protected TypeName dataWrapperClass;
+	protected boolean isUsingProjection;
+	protected boolean isUsingETag;
+	protected String versionGetterName;
+	protected boolean isUsingCache;
 
 	public static ReadEntityMethodBuilder create() {
 		return new ReadEntityMethodBuilder();
@@ -49,7 +57,11 @@ public class ReadEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Con
 				configuration.getIdClassName(),
 				configuration.isUsingDto(),
 				configuration.getSecurityConfiguration(),
-				configuration.getResponseWrapperClassName()
+				configuration.getResponseWrapperClassName(),
+				configuration.isUsingProjection(),
+				configuration.isETag(),
+				configuration.getVersionPropertyConfiguration() != null ? configuration.getVersionPropertyConfiguration().getGetterMethodName() : null,
+				configuration.isUsingCache()
 		);
 	}
 
@@ -69,11 +81,26 @@ public class ReadEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Con
 				.withSecurityConfig(this.securityConfiguration)
 				.inject(method);
 
-		this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+		// Reads with a version ETag are not cached, because the version is read from the entity.
+		// Projections do not read the entity, so they always use the content ETag.
+		boolean isUsingVersionETag = this.isUsingETag && this.versionGetterName != null && !this.isUsingProjection;
+		if (isUsingVersionETag) {
+			this.addVersionedMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+		} else if (this.isUsingCache) {
+			this.addCachedMethodBody(method, this.entityType, this.responseType, this.isUsingDto, this.isUsingProjection);
+		} else if (this.isUsingProjection) {
+			this.addProjectedMethodBody(method, this.responseType);
+		} else {
+			this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+		}
+		if (this.isUsingETag && !isUsingVersionETag) {
+			method.addStatement("$T eTag = $T.fromContent(this.objectMapper, response)", String.class, DataETag.class);
+		}
 
 		new ReturnStatementInjector()
 				.withWrapper(this.dataWrapperClass)
 				.withResponse(this.responseType)
+				.withETagVariable(this.isUsingETag ? "eTag" : null)
 				.inject(method);
 
 		builder.addMethod(method.build());
@@ -118,5 +145,73 @@ public class ReadEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Con
 		}
 	}
 
+	/**
+	 * Add a method body that reads the projection of an Entity with the help
+	 * of the DataAccessor and the provided id and return the result, without
+	 * loading the Entity. Will throw a new EntityNotFoundException if no
+	 * Entity could be found.
+	 *
+	 * @param method       The existing {@link MethodSpec.Builder}.
+	 * @param responseType The type of object of the response.
+	 */
+	protected void addProjectedMethodBody(MethodSpec.Builder method, TypeName responseType) {
+		method.addStatement("$T response = this.dataAccessor.readProjectedData(id, this.dataProjection).orElseThrow($T::new)", responseType, EntityNotFoundException.class);
+	}
+
+	/**
+	 * Add a method body that reads the response from the cache or reads the
+	 * Entity with the help of the DataAccessor and the provided id. The
+	 * cached response is shared between requests, so an Entity without a dto
+	 * is cached as a detached copy. Will throw a new EntityNotFoundException
+	 * if no Entity could be found.
+	 *
+	 * @param method            The existing {@link MethodSpec.Builder}.
+	 * @param entityType        The type of the Entity.
+	 * @param responseType      The type of object of the response.
+	 * @param isUsingDto        If the method is using DTOs.
+	 * @param isUsingProjection If the dto is selected directly.
+	 */
+	protected void addCachedMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, boolean isUsingDto, boolean isUsingProjection) {
+		CodeBlock read;
+		if (isUsingProjection) {
+			read = CodeBlock.of("this.dataAccessor.readProjectedData(id, this.dataProjection)");
+		} else if (isUsingDto) {
+			read = CodeBlock.of("this.dataAccessor.readData(id).map(entity -> this.dataMapper.map(entity, $T.class))", responseType);
+		} else {
+			read = CodeBlock.of("this.dataAccessor.readData(id).map(entity -> this.objectMapper.convertValue(entity, $T.class))", entityType);
+		}
+		method.addStatement("$T response = this.readCache.read(id, () -> $L).orElseThrow($T::new)", responseType, read, EntityNotFoundException.class);
+	}
 
+	/**
+	 * Add a method body that finds an Entity with the help of the
+	 * DataAccessor and the provided id and creates an ETag from its version.
+	 * If the ETag matches the If-None-Match header, 304 Not Modified is
+	 * returned without mapping the Entity. Will throw a new
+	 * EntityNotFoundException if no Entity could be found.
+	 *
+	 * @param method       The existing {@link MethodSpec.Builder}.
+	 * @param entityType   The type of the Entity.
+	 * @param responseType The type of object of the response.
+	 * @param isUsingDto   If the method is using DTOs.
+	 */
+	protected void addVersionedMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, boolean isUsingDto) {
+		method.addParameter(ParameterSpec.builder(String.class, "ifNoneMatch")
+				.addModifiers(Modifier.FINAL)
+				.addAnnotation(AnnotationSpec.builder(RequestHeader.class)
+						.addMember("value", "$T.IF_NONE_MATCH", HttpHeaders.class)
+						.addMember("required", "false")
+						.build())
+				.build());
+		method.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", entityType, EntityNotFoundException.class);
+		method.addStatement("$T eTag = $T.fromVersion(entity.$N())", String.class, DataETag.class, this.versionGetterName);
+		method.beginControlFlow("if ($T.matches(ifNoneMatch, eTag))", DataETag.class);
+		method.addStatement("return $T.status($T.NOT_MODIFIED).eTag(eTag).build()", ResponseEntity.class, HttpStatus.class);
+		method.endControlFlow();
+		if (isUsingDto) {
+			method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+		} else {
+			method.addStatement("$T response = entity", responseType);
+		}
+	}
 }
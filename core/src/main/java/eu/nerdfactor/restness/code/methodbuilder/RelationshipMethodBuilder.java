@@ -10,8 +10,11 @@ import eu.nerdfactor.restness.config.RelationType;
  * <p>
  * Relationship methods consist of:
  * <li>A method to read every relationship</li>
+ * <li>A method to count every multiple relationship</li>
  * <li>A method to set or add every relationship</li>
  * <li>A method to delete every relationship</li>
+ * <li>Methods to add or delete a list of every multiple relationship, if
+ * batch methods are enabled</li>
  *
  * @author Daniel Klug
  */
@@ -46,8 +49,10 @@ public class RelationshipMethodBuilder extends MultiStepMethodBuilder {
 			}
 			if (relation.getRelationType() == RelationType.MULTIPLE) {
 				this.and(new GetMultipleRelationsMethodBuilder().withRelation(relation).withConfiguration(configuration));
+				this.and(new CountRelationsMethodBuilder().withRelation(relation).withConfiguration(configuration));
 				this.and(new AddToRelationsMethodBuilder().withRelation(relation).withConfiguration(configuration));
 				this.and(new DeleteFromRelationsMethodBuilder().withRelation(relation).withConfiguration(configuration));
+				this.and(new BatchRelationsMethodBuilder().withRelation(relation).withConfiguration(configuration));
 			}
 		}
 		this.buildAll(builder);
@@ -3,19 +3,26 @@ package eu.nerdfactor.restness.code.methodbuilder;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
 import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
+import eu.nerdfactor.restness.data.DataCursor;
 import eu.nerdfactor.restness.data.DataPage;
+import eu.nerdfactor.restness.data.DataSlice;
+import eu.nerdfactor.restness.data.DataWindow;
 import eu.nerdfactor.restness.util.RestnessUtil;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.lang.model.element.Modifier;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,7 +30,10 @@ import java.util.List;
  * <p>
  * Search method consist of:
  * <li>A method to search all entities filtered by a specification and returns
- * a page.</li>
+ * a page (or a slice without the total amount of entities). If enabled, the
+ * response dto is selected directly instead of the entities.</li>
+ * <li>A method to search all entities filtered by a specification and returns
+ * a window with a cursor to the next window.</li>
  *
  * @author Daniel Klug
  */
@@ -46,12 +56,25 @@ public class SearchMethodBuilder extends MethodBuilder {
 	 */
 	@Override
 	public TypeSpec.Builder buildWith(TypeSpec.Builder builder) {
-		if (this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequestBasePath() + "/search")) {
-			return builder;
+		if (!this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequestBasePath() + "/search")) {
+			this.addSearchMethod(builder);
+		}
+		if (this.configuration.isCursorSearch() && !this.configuration.hasExistingRequest(RequestMethod.GET, this.configuration.getRequestBasePath() + "/search/cursor")) {
+			this.addCursorSearchMethod(builder);
 		}
+		return builder;
+	}
+
+	/**
+	 * Add a method that searches all entities and returns a page.
+	 *
+	 * @param builder An existing builder object that will be appended.
+	 */
+	protected void addSearchMethod(TypeSpec.Builder builder) {
 		RestnessUtil.log("addSearchAllEntitiesMethod", 1);
 		TypeName responseType = this.configuration.getResponseType();
-		ParameterizedTypeName responsePage = ParameterizedTypeName.get(ClassName.get(Page.class), responseType);
+		boolean slice = this.configuration.isSliceSearch();
+		ParameterizedTypeName responsePage = ParameterizedTypeName.get(ClassName.get(slice ? Slice.class : Page.class), responseType);
 		MethodSpec.Builder method = MethodSpec
 				.methodBuilder("searchAll")
 				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequestBasePath() + "/search").build())
@@ -73,24 +96,99 @@ public class SearchMethodBuilder extends MethodBuilder {
 				.withEntityClassName(this.configuration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(method);
-		method.addStatement("$T<$T> spec = this.specificationBuilder.build(filter, $T.class)", Specification.class, this.configuration.getEntityClassName(), this.configuration.getEntityClassName());
-		method.addStatement("$T<$T> responseList = new $T<>()", List.class, responseType, ArrayList.class);
-		method.addStatement("$T page = this.dataAccessor.searchData(spec, pageable)", ParameterizedTypeName.get(ClassName.get(Page.class), this.configuration.getEntityClassName()));
-		method.beginControlFlow("for($T entity : page.getContent())", this.configuration.getEntityClassName());
-		if (this.configuration.isUsingDto()) {
-			method.addStatement("$T response = this.dataMapper.map(entity, $T.class)", responseType, responseType);
+		this.addSpecificationStatement(method, this.configuration.getEntityClassName());
+		if (this.configuration.isUsingProjection()) {
+			// Select the responses directly, without loading any entity.
+			method.addStatement("$T responsePage = this.dataAccessor.$N(spec, pageable, this.dataProjection)", responsePage, slice ? "sliceProjectedData" : "searchProjectedData");
 		} else {
-			method.addStatement("$T response = entity", responseType);
+			if (this.configuration.isUsingSearchCache()) {
+				// Identify equal searches by the normalized filter and cache the mapped page.
+				method.addStatement("$T searchSpec = spec", ParameterizedTypeName.get(ClassName.get(Specification.class), this.configuration.getEntityClassName()));
+				method.addCode("$T responsePage = this.searchCache.search(this.specificationBuilder.normalize(filter), pageable, () -> {\n$>", responsePage);
+				method.addStatement("$T page = this.dataAccessor.searchData(searchSpec, pageable)", ParameterizedTypeName.get(ClassName.get(Page.class), this.configuration.getEntityClassName()));
+			} else if (slice) {
+				method.addStatement("$T page = this.dataAccessor.sliceData(spec, pageable)", ParameterizedTypeName.get(ClassName.get(Slice.class), this.configuration.getEntityClassName()));
+			} else {
+				method.addStatement("$T page = this.dataAccessor.searchData(spec, pageable)", ParameterizedTypeName.get(ClassName.get(Page.class), this.configuration.getEntityClassName()));
+			}
+			if (this.configuration.isUsingDto()) {
+				method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(page.getContent(), $T.class)", List.class, responseType, responseType);
+			} else if (this.configuration.isUsingSearchCache()) {
+				// Cache detached copies, so no managed entity is shared between requests.
+				method.addStatement("$T<$T> responseList = page.getContent().stream().map(entity -> this.objectMapper.convertValue(entity, $T.class)).toList()", List.class, responseType, this.configuration.getEntityClassName());
+			} else {
+				method.addStatement("$T<$T> responseList = page.getContent()", List.class, responseType);
+			}
+			if (this.configuration.isUsingSearchCache()) {
+				method.addStatement("return new $T<>(responseList, page.getPageable(), page.getTotalElements())", DataPage.class);
+				method.addCode("$<});\n");
+			} else if (slice) {
+				method.addStatement("$T responsePage = new $T<>(responseList, page.getPageable(), page.hasNext())", responsePage, DataSlice.class);
+			} else {
+				method.addStatement("$T responsePage = new $T<>(responseList, page.getPageable(), page.getTotalElements())", responsePage, DataPage.class);
+			}
 		}
-		method.addStatement("responseList.add(response)");
-		method.endControlFlow();
-		method.addStatement("$T<$T> responsePage = new $T<>(responseList, page.getPageable(), page.getTotalElements())", Page.class, responseType, DataPage.class);
 		method = new ReturnStatementInjector()
 				.withWrapper(this.configuration.getResponseWrapperClassName())
 				.withResponse(responseType)
 				.withResponseVariable("responsePage")
 				.inject(method);
 		builder.addMethod(method.build());
-		return builder;
+	}
+
+	/**
+	 * Add a method that searches all entities and returns a window after the
+	 * position of a cursor. Only the size and the sort of the pageable will be
+	 * used.
+	 *
+	 * @param builder An existing builder object that will be appended.
+	 */
+	protected void addCursorSearchMethod(TypeSpec.Builder builder) {
+		RestnessUtil.log("addCursorSearchAllEntitiesMethod", 1);
+		TypeName responseType = this.configuration.getResponseType();
+		TypeName entityType = this.configuration.getEntityClassName();
+		ParameterizedTypeName responseWindow = ParameterizedTypeName.get(ClassName.get(DataWindow.class), responseType);
+		MethodSpec.Builder method = MethodSpec
+				.methodBuilder("searchAllByCursor")
+				.addAnnotation(AnnotationSpec.builder(GetMapping.class).addMember("value", "$S", this.configuration.getRequestBasePath() + "/search/cursor").build())
+				.addModifiers(Modifier.PUBLIC)
+				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseWindow))
+				.addParameter(ParameterSpec.builder(String.class, "filter")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(String.class, "cursor")
+						.addAnnotation(AnnotationSpec.builder(RequestParam.class).addMember("required", "false").build())
+						.build()
+				)
+				.addParameter(ParameterSpec.builder(Pageable.class, "pageable")
+						.addAnnotation(AnnotationSpec.builder(PageableDefault.class).addMember("size", "20").build())
+						.build()
+				);
+		method = new AuthenticationInjector()
+				.withMethod("READ")
+				.withEntityClassName(entityType)
+				.withSecurityConfig(this.configuration.getSecurityConfiguration())
+				.inject(method);
+		this.addSpecificationStatement(method, entityType);
+		method.addStatement("$T position", ScrollPosition.class);
+		method.beginControlFlow("try");
+		method.addStatement("position = $T.decode(cursor)", DataCursor.class);
+		method.nextControlFlow("catch ($T e)", IllegalArgumentException.class);
+		method.addStatement("throw new $T($T.BAD_REQUEST, e.getMessage(), e)", ResponseStatusException.class, HttpStatus.class);
+		method.endControlFlow();
+		method.addStatement("$T<$T> window = this.dataAccessor.scrollData(spec, position, pageable.getSort(), pageable.getPageSize())", Window.class, entityType);
+		if (this.configuration.isUsingDto()) {
+			method.addStatement("$T<$T> responseList = this.dataMapper.mapAll(window.getContent(), $T.class)", List.class, responseType, responseType);
+		} else {
+			method.addStatement("$T<$T> responseList = window.getContent()", List.class, responseType);
+		}
+		method.addStatement("$T responseWindow = $T.of(responseList, window)", responseWindow, DataWindow.class);
+		method = new ReturnStatementInjector()
+				.withWrapper(this.configuration.getResponseWrapperClassName())
+				.withResponse(responseType)
+				.withResponseVariable("responseWindow")
+				.inject(method);
+		builder.addMethod(method.build());
 	}
 }
\ No newline at end of file
@@ -37,6 +37,7 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 	protected boolean isUsingDto;
 	protected SecurityConfiguration securityConfiguration;
 	protected TypeName dataWrapperClass;
+	protected boolean isUpsert;
 
 	public static SetEntityMethodBuilder create() {
 		return new SetEntityMethodBuilder();
@@ -53,7 +54,8 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 				configuration.getIdClassName(),
 				configuration.isUsingDto(),
 				configuration.getSecurityConfiguration(),
-				configuration.getResponseWrapperClassName()
+				configuration.getResponseWrapperClassName(),
+				configuration.isUpsert()
 		);
 	}
 
@@ -110,11 +112,12 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 	}
 
 	/**
-	 * Add a method body that finds an Entity with the help of the
-	 * DataAccessor and the provided id and saves the Entity as new
-	 * object with the help of the DataAccessor and return the result.
-	 * Will throw a new EntityNotFoundException if no Entity could be
-	 * found.
+	 * Add a method body that checks with the help of the DataAccessor, if an
+	 * Entity with the provided id exists, and saves the Entity as new object
+	 * with the help of the DataAccessor and return the result. Will throw a
+	 * new EntityNotFoundException if no Entity exists. The Entity is not
+	 * loaded, because it is replaced completely. If upserts are enabled, the
+	 * existence is not checked and a missing Entity will be created.
 	 *
 	 * @param method       The existing {@link MethodSpec.Builder}.
 	 * @param entityType   The type of the Entity.
@@ -122,7 +125,11 @@ public class SetEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Conf
 	 * @param isUsingDto   If the method is using DTOs.
 	 */
 	protected void addMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, boolean isUsingDto) {
-		method.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", entityType, EntityNotFoundException.class);
+		if (!this.isUpsert) {
+			method.beginControlFlow("if (!this.dataAccessor.existsData(id))");
+			method.addStatement("throw new $T()", EntityNotFoundException.class);
+			method.endControlFlow();
+		}
 		if (isUsingDto) {
 			method.addStatement("$T changed = this.dataMapper.map(dto, $T.class)", entityType, entityType);
 		} else {
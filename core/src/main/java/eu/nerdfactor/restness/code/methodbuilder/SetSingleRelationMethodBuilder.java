@@ -2,6 +2,7 @@ package eu.nerdfactor.restness.code.methodbuilder;
 
 import com.squareup.javapoet.*;
 import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
+import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
 import eu.nerdfactor.restness.config.AccessorType;
 import eu.nerdfactor.restness.config.RelationConfiguration;
 import eu.nerdfactor.restness.util.RestnessUtil;
@@ -52,18 +53,25 @@ public class SetSingleRelationMethodBuilder extends MethodBuilder {
 				.withRelatedClassName(this.relationConfiguration.getEntityClassName())
 				.withSecurityConfig(this.configuration.getSecurityConfiguration())
 				.inject(method);
-		method.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id).orElseThrow($T::new)", this.configuration.getEntityClassName(), EntityNotFoundException.class);
 		if (this.relationConfiguration.isUsingDto()) {
 			method.addStatement("$T rel = this.dataMapper.map(dto, $T.class)", this.relationConfiguration.getEntityClassName(), this.relationConfiguration.getEntityClassName());
 		} else {
 			method.addStatement("$T rel = dto", this.relationConfiguration.getEntityClassName());
 		}
 		method.addStatement("entity." + this.relationConfiguration.getSetterMethodName() + "(rel)");
-		method.addStatement("this.dataAccessor.updateData(entity)");
-		if (this.configuration.getResponseWrapperClassName() != null && !this.configuration.getResponseWrapperClassName().equals(TypeName.OBJECT)) {
-			method.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), ParameterizedTypeName.get(ClassName.bestGuess(this.configuration.getResponseWrapperClassName().toString()), responseType)));
+		// Create the response from the updated entity, instead of reading it again.
+		method.addStatement("entity = this.dataAccessor.updateData(entity)");
+		if (this.relationConfiguration.isUsingDto()) {
+			method.addStatement("$T response = this.dataMapper.map(entity." + this.relationConfiguration.getGetterMethodName() + "(), $T.class)", responseType, responseType);
+		} else {
+			method.addStatement("$T response = entity." + this.relationConfiguration.getGetterMethodName() + "()", responseType);
 		}
-		method.addStatement("return this." + this.relationConfiguration.getMethodName(AccessorType.GET) + "(id)");
+		new ReturnStatementInjector()
+				.withWrapper(this.configuration.getResponseWrapperClassName())
+				.withResponse(responseType)
+				.withResponseVariable("response")
+				.inject(method);
 		builder.addMethod(method.build());
 		return builder;
 	}
@@ -1,11 +1,14 @@
 package eu.nerdfactor.restness.code.methodbuilder;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.squareup.javapoet.*;
 import eu.nerdfactor.restness.code.injector.AuthenticationInjector;
 import eu.nerdfactor.restness.code.builder.Buildable;
 import eu.nerdfactor.restness.code.builder.Configurable;
+import eu.nerdfactor.restness.code.injector.NoContentStatementInjector;
 import eu.nerdfactor.restness.code.injector.ReturnStatementInjector;
 import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
 import eu.nerdfactor.restness.config.SecurityConfiguration;
 import eu.nerdfactor.restness.util.RestnessUtil;
 import jakarta.persistence.EntityNotFoundException;
@@ -15,13 +18,25 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.With;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.lang.model.element.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @With
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -29,6 +44,7 @@ import javax.lang.model.element.Modifier;
 public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, Configurable<ControllerConfiguration> {
 
 	protected boolean hasExistingRequest;
+	protected TypeName controllerType;
 	protected String requestUrl;
 	protected TypeName requestType;
 	protected TypeName responseType;
@@ -37,6 +53,9 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	protected boolean isUsingDto;
 	protected SecurityConfiguration securityConfiguration;
 	protected TypeName dataWrapperClass;
+	protected List<PropertyConfiguration> patchableProperties;
+	protected List<PropertyConfiguration> unpatchableProperties;
+	protected List<PropertyConfiguration> entityProperties;
 
 	public static UpdateEntityMethodBuilder create() {
 		return new UpdateEntityMethodBuilder();
@@ -46,6 +65,7 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	public UpdateEntityMethodBuilder withConfiguration(@NotNull ControllerConfiguration configuration) {
 		return new UpdateEntityMethodBuilder(
 				configuration.hasExistingRequest(RequestMethod.PATCH, configuration.getRequestBasePath() + "/{id}"),
+				configuration.getControllerClassName(),
 				configuration.getRequestBasePath() + "/{id}",
 				configuration.getRequestType(),
 				configuration.getSingleResponseType(),
@@ -53,7 +73,10 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 				configuration.getIdClassName(),
 				configuration.isUsingDto(),
 				configuration.getSecurityConfiguration(),
-				configuration.getResponseWrapperClassName()
+				configuration.getResponseWrapperClassName(),
+				configuration.isUsingDirectUpdate() ? configuration.getPatchablePropertyConfigurations() : List.of(),
+				configuration.isUsingDirectUpdate() ? configuration.getUnpatchablePropertyConfigurations() : List.of(),
+				configuration.isUsingDirectUpdate() ? configuration.getPropertyConfigurations(configuration.getEntityClassName()) : List.of()
 		);
 	}
 
@@ -72,7 +95,16 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 				.withSecurityConfig(this.securityConfiguration)
 				.inject(method);
 
-		this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+		if (this.isDirectUpdate()) {
+			method.addAnnotation(Transactional.class);
+			this.addDirectUpdate(method, this.entityType, this.responseType, this.requestType, this.isUsingDto);
+			if (this.unpatchableProperties.isEmpty()) {
+				builder.addMethod(method.build());
+				return builder;
+			}
+		} else {
+			this.addMethodBody(method, this.entityType, this.responseType, this.isUsingDto);
+		}
 
 		method = new ReturnStatementInjector()
 				.withWrapper(this.dataWrapperClass)
@@ -86,7 +118,9 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	/**
 	 * Create a Path method called "update" with the requestUrl that takes a Valid
 	 * object of requestType from the RequestBody (called "dto") and will return an
-	 * ResponseEntity with an object of responseType.
+	 * ResponseEntity with an object of responseType. If changes are written
+	 * directly, the method takes the RequestBody as {@link ObjectNode} (called
+	 * "body") instead, so it can tell which properties were sent.
 	 *
 	 * @param requestUrl      The requested Url.
 	 * @param identifyingType The type of object identifying the Entity.
@@ -94,7 +128,7 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	 * @return The {@link MethodSpec.Builder} of the new method declaration.
 	 */
 	protected MethodSpec.Builder createMethodDeclaration(String requestUrl, TypeName identifyingType, TypeName responseType, TypeName requestType) {
-		return MethodSpec.methodBuilder("update")
+		MethodSpec.Builder method = MethodSpec.methodBuilder("update")
 				.addAnnotation(AnnotationSpec.builder(PatchMapping.class).addMember("value", "$S", requestUrl).build())
 				.addModifiers(Modifier.PUBLIC)
 				.returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), responseType))
@@ -102,12 +136,18 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 						.addModifiers(Modifier.FINAL)
 						.addAnnotation(PathVariable.class)
 						.build()
-				)
-				.addParameter(ParameterSpec.builder(requestType, "dto")
-						.addAnnotation(RequestBody.class)
-						.addAnnotation(Valid.class)
-						.build()
 				);
+		if (this.isDirectUpdate()) {
+			return method.addParameter(ParameterSpec.builder(ObjectNode.class, "body")
+					.addAnnotation(RequestBody.class)
+					.build()
+			);
+		}
+		return method.addParameter(ParameterSpec.builder(requestType, "dto")
+				.addAnnotation(RequestBody.class)
+				.addAnnotation(Valid.class)
+				.build()
+		);
 	}
 
 	/**
@@ -124,7 +164,7 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 	 * @param isUsingDto   If the method is using DTOs.
 	 */
 	protected void addMethodBody(MethodSpec.Builder method, TypeName entityType, TypeName responseType, boolean isUsingDto) {
-		method.addStatement("$T entity = this.dataAccessor.readData(id).orElseThrow($T::new)", entityType, EntityNotFoundException.class);
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id).orElseThrow($T::new)", entityType, EntityNotFoundException.class);
 		if (isUsingDto) {
 			method.addStatement("$T changed = this.dataMapper.map(dto, $T.class)", entityType, entityType);
 		} else {
@@ -138,4 +178,117 @@ public class UpdateEntityMethodBuilder implements Buildable<TypeSpec.Builder>, C
 			method.addStatement("$T response = updated", responseType);
 		}
 	}
+
+	/**
+	 * Add a method body that reads the object of requestType from the
+	 * RequestBody and validates it, like a Valid RequestBody. Invalid values
+	 * are rejected with a {@link MethodArgumentNotValidException}, that
+	 * contains the failing fields. The changed properties are written with a
+	 * single update statement with the help of the DataAccessor, if none of
+	 * the unpatchable properties was changed, and the method answers with
+	 * 204 No Content, without reading the Entity again. Otherwise, the Entity
+	 * is loaded and merged like a normal update and returned, but primitive
+	 * properties that were not sent keep the value of the Entity.
+	 * <p>
+	 * The properties are recognized as changed, like the DataMerger would
+	 * merge them: Primitive properties if they are present in the
+	 * RequestBody, strings if they are not null or empty and all other
+	 * properties if they are not null.
+	 *
+	 * @param method       The existing {@link MethodSpec.Builder}.
+	 * @param entityType   The type of the Entity.
+	 * @param responseType The type of object of the response.
+	 * @param requestType  The type of object of the request.
+	 * @param isUsingDto   If the method is using DTOs.
+	 */
+	protected void addDirectUpdate(MethodSpec.Builder method, TypeName entityType, TypeName responseType, TypeName requestType, boolean isUsingDto) {
+		method.addStatement("$T dto", requestType);
+		method.beginControlFlow("try");
+		method.addStatement("dto = this.objectMapper.convertValue(body, $T.class)", requestType);
+		method.nextControlFlow("catch ($T e)", IllegalArgumentException.class);
+		method.addStatement("throw new $T($T.BAD_REQUEST, \"Request body contains a malformed value\", e)", ResponseStatusException.class, HttpStatus.class);
+		method.endControlFlow();
+		method.addStatement("$T errors = new $T(dto, $S)", BindingResult.class, BeanPropertyBindingResult.class, "dto");
+		method.addStatement("new $T(this.validator).validate(dto, errors)", SpringValidatorAdapter.class);
+		method.beginControlFlow("if (errors.hasErrors())");
+		method.addStatement("throw new $T(new $T($T.findMethod($T.class, $S, $T.class, $T.class), 1), errors)", MethodArgumentNotValidException.class, MethodParameter.class, ReflectionUtils.class, this.controllerType, "update", this.identifyingType, ObjectNode.class);
+		method.endControlFlow();
+		method.addException(MethodArgumentNotValidException.class);
+		if (!this.unpatchableProperties.isEmpty()) {
+			CodeBlock unchanged = this.unpatchableProperties.stream()
+					.map(property -> property.getTypeName().equals(ClassName.get(String.class))
+							? CodeBlock.of("(dto.$N() == null || dto.$N().isEmpty())", property.getGetterMethodName(), property.getGetterMethodName())
+							: CodeBlock.of("dto.$N() == null", property.getGetterMethodName()))
+					.collect(CodeBlock.joining(" && "));
+			method.beginControlFlow("if ($L)", unchanged);
+		}
+		method.addStatement("$T<$T, $T> changes = new $T<>()", Map.class, String.class, Object.class, HashMap.class);
+		for (PropertyConfiguration property : this.patchableProperties) {
+			if (property.getTypeName().isPrimitive()) {
+				method.beginControlFlow("if (body.has($S))", property.getPropertyName());
+			} else if (property.getTypeName().equals(ClassName.get(String.class))) {
+				method.beginControlFlow("if (dto.$N() != null && !dto.$N().isEmpty())", property.getGetterMethodName(), property.getGetterMethodName());
+			} else {
+				method.beginControlFlow("if (dto.$N() != null)", property.getGetterMethodName());
+			}
+			method.addStatement("changes.put($S, dto.$N())", property.getPropertyName(), property.getGetterMethodName());
+			method.endControlFlow();
+		}
+		method.addStatement("this.dataAccessor.patchData(id, changes, this.dataPatch)");
+		// Answer without content, instead of reading the patched entity again.
+		new NoContentStatementInjector()
+				.withWrapper(this.dataWrapperClass)
+				.withResponse(responseType)
+				.inject(method);
+		if (this.unpatchableProperties.isEmpty()) {
+			return;
+		}
+		method.endControlFlow();
+		method.addStatement("$T entity = this.dataAccessor.readDataForUpdate(id).orElseThrow($T::new)", entityType, EntityNotFoundException.class);
+		if (isUsingDto) {
+			method.addStatement("$T changed = this.dataMapper.map(dto, $T.class)", entityType, entityType);
+		} else {
+			method.addStatement("$T changed = dto", entityType);
+		}
+		for (PropertyConfiguration property : this.patchableProperties) {
+			PropertyConfiguration entityProperty = this.findEntityProperty(property.getPropertyName());
+			if (property.getTypeName().isPrimitive() && entityProperty != null) {
+				method.beginControlFlow("if (!body.has($S))", property.getPropertyName());
+				method.addStatement("changed.$N(entity.$N())", entityProperty.getSetterMethodName(), entityProperty.getGetterMethodName());
+				method.endControlFlow();
+			}
+		}
+		method.addStatement("$T updated = this.dataMerger.merge(entity, changed)", entityType);
+		method.addStatement("updated = this.dataAccessor.updateData(updated)");
+		if (isUsingDto) {
+			method.addStatement("$T response = this.dataMapper.map(updated, $T.class)", responseType, responseType);
+		} else {
+			method.addStatement("$T response = updated", responseType);
+		}
+	}
+
+	/**
+	 * Find the property of the Entity with the name.
+	 *
+	 * @param name The name of the property.
+	 * @return The {@link PropertyConfiguration} of the Entity or null.
+	 */
+	protected PropertyConfiguration findEntityProperty(String name) {
+		if (this.entityProperties == null) {
+			return null;
+		}
+		return this.entityProperties.stream()
+				.filter(property -> property.getPropertyName().equals(name))
+				.findFirst()
+				.orElse(null);
+	}
+
+	/**
+	 * Check if the method writes changes of basic properties directly.
+	 *
+	 * @return True if there are patchable properties.
+	 */
+	protected boolean isDirectUpdate() {
+		return this.patchableProperties != null && !this.patchableProperties.isEmpty();
+	}
 }
@@ -4,17 +4,22 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.restness.data.CachingDataAccessor;
 import eu.nerdfactor.restness.data.DataAccessor;
 import eu.nerdfactor.restness.data.DataMapper;
 import eu.nerdfactor.restness.data.DataMerger;
+import eu.nerdfactor.restness.data.DataReadCache;
+import eu.nerdfactor.restness.data.DataSearchCache;
 import eu.nerdfactor.restness.data.DataWrapper;
 import lombok.*;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration for RESTness controller generation.
@@ -219,6 +224,170 @@ public class ControllerConfiguration {
 	@Builder.Default
 	protected Map<String, RelationConfiguration> relationConfigurations = new HashMap<>();
 
+	/**
+	 * If the list of all entities should be streamed as newline delimited
+	 * JSON while it is read, instead of being collected into one response.
+	 */
+	@Builder.Default
+	protected boolean streamingList = false;
+
+	/**
+	 * If an additional search endpoint should be created, that scrolls
+	 * through the entities with a cursor instead of a page number.
+	 */
+	@Builder.Default
+	protected boolean cursorSearch = false;
+
+	/**
+	 * If the search endpoint should return slices instead of pages. Slices do
+	 * not contain the total amount of entities, so no count query is
+	 * necessary.
+	 */
+	@Builder.Default
+	protected boolean sliceSearch = false;
+
+	/**
+	 * If a data mapper should be generated for the entity and its data
+	 * transfer objects. The generated mapper copies all matching properties
+	 * with plain getter and setter calls and passes every other mapping on to
+	 * the configured data mapper.
+	 */
+	@Builder.Default
+	protected boolean generatedMapper = false;
+
+	/**
+	 * If a data merger should be generated for the entity. The generated
+	 * merger copies all changed properties with plain getter and setter calls
+	 * and passes every other merge on to the configured data merger.
+	 */
+	@Builder.Default
+	protected boolean generatedMerger = false;
+
+	/**
+	 * If list, search and read should select the response dto directly from
+	 * the database, instead of loading and mapping the entities.
+	 */
+	@Builder.Default
+	protected boolean projection = false;
+
+	/**
+	 * If the get endpoint should answer with an ETag and respond with 304 Not
+	 * Modified, if the client already has the current entity.
+	 */
+	@Builder.Default
+	protected boolean eTag = false;
+
+	/**
+	 * If the set endpoint should create an entity that does not exist,
+	 * instead of answering with 404 Not Found.
+	 */
+	@Builder.Default
+	protected boolean upsert = false;
+
+	/**
+	 * If the update endpoint should write changes of basic properties with a
+	 * single update statement, without loading the entity.
+	 */
+	@Builder.Default
+	protected boolean directUpdate = false;
+
+	/**
+	 * If batch endpoints should be created, that create or update a list of
+	 * entities or add and remove a list of related entities in one
+	 * transaction.
+	 */
+	@Builder.Default
+	protected boolean batch = false;
+
+	/**
+	 * If an endpoint should be created, that deletes all entities with the
+	 * provided ids or matching the provided filter.
+	 */
+	@Builder.Default
+	protected boolean bulkDelete = false;
+
+	/**
+	 * If an endpoint should be generated, that applies a list of operations
+	 * in one transaction.
+	 */
+	@Builder.Default
+	protected boolean operations = false;
+
+	/**
+	 * If entities read by id should be cached by the controller.
+	 */
+	@Builder.Default
+	protected boolean cache = false;
+
+	/**
+	 * The maximum number of cached entities.
+	 */
+	@Builder.Default
+	protected int cacheSize = 1000;
+
+	/**
+	 * The number of seconds after which a cached entity expires.
+	 */
+	@Builder.Default
+	protected long cacheTtl = 60;
+
+	/**
+	 * If the pages of searches should be cached by the controller.
+	 */
+	@Builder.Default
+	protected boolean searchCache = false;
+
+	/**
+	 * The maximum number of cached pages.
+	 */
+	@Builder.Default
+	protected int searchCacheSize = 100;
+
+	/**
+	 * The number of seconds after which a cached page is stale.
+	 */
+	@Builder.Default
+	protected long searchCacheTtl = 10;
+
+	/**
+	 * The number of seconds a stale page is still returned, while it is
+	 * searched again.
+	 */
+	@Builder.Default
+	protected long searchCacheGrace = 0;
+
+	/**
+	 * If the related entities should be queried directly and returned as
+	 * filtered and sorted page, instead of the complete list of the loaded
+	 * entity.
+	 */
+	@Builder.Default
+	protected boolean pagedRelations = false;
+
+	/**
+	 * If related entities should be added and removed with a single statement
+	 * on the join table or the foreign key, if the relation declares them.
+	 */
+	@Builder.Default
+	protected boolean directRelations = false;
+
+	/**
+	 * A {@link Map} of the properties of entities and data transfer objects
+	 * used during generation of the controller. The key is the
+	 * {@link TypeName} of the class containing the properties.
+	 */
+	@JsonIgnore
+	@Builder.Default
+	protected Map<TypeName, List<PropertyConfiguration>> propertyConfigurations = new HashMap<>();
+
+	/**
+	 * A {@link Set} of classes with properties, that can be instantiated by
+	 * generated code.
+	 */
+	@JsonIgnore
+	@Builder.Default
+	protected Set<TypeName> instantiableClassNames = new HashSet<>();
+
 	/**
 	 * Check if there already exists a RequestMapping for the combination of
 	 * request method and path.
@@ -286,6 +455,216 @@ public class ControllerConfiguration {
 		return this.isUsingDto() ? this.responseObjectClassName : this.entityClassName;
 	}
 
+	/**
+	 * Get the {@link PropertyConfiguration}s of a class.
+	 *
+	 * @param type The {@link TypeName} of the class.
+	 * @return A {@link List} of the known properties or an empty list.
+	 */
+	@JsonIgnore
+	public List<PropertyConfiguration> getPropertyConfigurations(TypeName type) {
+		if (this.propertyConfigurations == null) {
+			return List.of();
+		}
+		return this.propertyConfigurations.getOrDefault(type, List.of());
+	}
+
+	/**
+	 * Get the {@link ClassName} of the generated data mapper. The mapper is
+	 * created in the package of the controller.
+	 *
+	 * @return The {@link ClassName} of the generated data mapper.
+	 */
+	@JsonIgnore
+	public ClassName getGeneratedMapperClassName() {
+		return ClassName.get(this.controllerClassName.packageName(), this.controllerClassName.simpleName() + "DataMapper");
+	}
+
+	/**
+	 * Get the {@link ClassName} of the generated data merger. The merger is
+	 * created in the package of the controller.
+	 *
+	 * @return The {@link ClassName} of the generated data merger.
+	 */
+	@JsonIgnore
+	public ClassName getGeneratedMergerClassName() {
+		return ClassName.get(this.controllerClassName.packageName(), this.controllerClassName.simpleName() + "DataMerger");
+	}
+
+	/**
+	 * Check if the controller uses a generated data merger.
+	 *
+	 * @return True if the controller uses a generated data merger.
+	 */
+	@JsonIgnore
+	public boolean isUsingGeneratedMerger() {
+		return this.generatedMerger && !this.getPropertyConfigurations(this.entityClassName).isEmpty();
+	}
+
+	/**
+	 * Check if the controller uses a generated data mapper.
+	 *
+	 * @return True if the controller uses a generated data mapper.
+	 */
+	@JsonIgnore
+	public boolean isUsingGeneratedMapper() {
+		return this.generatedMapper && this.isUsingDto();
+	}
+
+	/**
+	 * Get the readable version property of the entity, that is used to
+	 * create ETags without mapping the entity. The version only changes with
+	 * the entity itself, so it is only used if the response contains no
+	 * relation or nested object, whose changes would not change the version.
+	 *
+	 * @return The {@link PropertyConfiguration} of the version or null, if
+	 * the entity has no readable version, is not loaded or the response is
+	 * not covered by the version.
+	 */
+	@JsonIgnore
+	public PropertyConfiguration getVersionPropertyConfiguration() {
+		if (this.isUsingProjection() || !this.isResponseCoveredByVersion()) {
+			return null;
+		}
+		return this.getPropertyConfigurations(this.entityClassName).stream()
+				.filter(property -> property.isVersion() && property.isReadable())
+				.findFirst()
+				.orElse(null);
+	}
+
+	/**
+	 * Check if every readable property of the response is a property of the
+	 * entity with the same type, that is not a relation. Responses with
+	 * unknown properties are never covered.
+	 *
+	 * @return True if every change of the response changes the version.
+	 */
+	protected boolean isResponseCoveredByVersion() {
+		return !this.getPropertyConfigurations(this.getSingleResponseType()).isEmpty()
+				&& this.getNestedResponsePropertyConfigurations().isEmpty();
+	}
+
+	/**
+	 * Get the readable properties of the response, that are relations or
+	 * nested objects instead of basic properties of the entity with the same
+	 * type. They are not selected by a projection and their changes do not
+	 * change the version of the entity.
+	 *
+	 * @return A {@link List} of the nested properties of the response.
+	 */
+	@JsonIgnore
+	public List<PropertyConfiguration> getNestedResponsePropertyConfigurations() {
+		Map<String, PropertyConfiguration> entityProperties = new HashMap<>();
+		this.getPropertyConfigurations(this.entityClassName).forEach(property -> entityProperties.put(property.getPropertyName(), property));
+		return this.getPropertyConfigurations(this.getSingleResponseType()).stream()
+				.filter(PropertyConfiguration::isReadable)
+				.filter(property -> {
+					PropertyConfiguration entityProperty = entityProperties.get(property.getPropertyName());
+					return entityProperty == null || entityProperty.isRelation() || !entityProperty.getTypeName().equals(property.getTypeName());
+				})
+				.toList();
+	}
+
+	/**
+	 * Check if the controller creates ETags from a hash of the serialized
+	 * response, because the entity has no version or the response is not
+	 * covered by it.
+	 *
+	 * @return True if the controller uses content based ETags.
+	 */
+	@JsonIgnore
+	public boolean isUsingContentETag() {
+		return this.eTag && this.getVersionPropertyConfiguration() == null;
+	}
+
+	/**
+	 * Get the properties of the request object, that can be written directly
+	 * by an update statement. The entity has to contain a writable basic
+	 * property with the same name and type, that is neither the id nor the
+	 * version.
+	 *
+	 * @return A {@link List} of the patchable properties of the request
+	 * object.
+	 */
+	@JsonIgnore
+	public List<PropertyConfiguration> getPatchablePropertyConfigurations() {
+		return this.findMergedPropertyConfigurations(true);
+	}
+
+	/**
+	 * Get the properties of the request object, that are merged into the
+	 * entity, but can not be written directly by an update statement, like
+	 * relations.
+	 *
+	 * @return A {@link List} of the properties of the request object, that
+	 * require the entity to be loaded.
+	 */
+	@JsonIgnore
+	public List<PropertyConfiguration> getUnpatchablePropertyConfigurations() {
+		return this.findMergedPropertyConfigurations(false);
+	}
+
+	/**
+	 * Check if the controller writes changes of basic properties directly,
+	 * without loading the entity. This is only possible if there are
+	 * patchable properties and every other merged property can be recognized
+	 * as unchanged, so it can not be of a primitive type.
+	 *
+	 * @return True if the controller uses direct updates.
+	 */
+	@JsonIgnore
+	public boolean isUsingDirectUpdate() {
+		return this.directUpdate
+				&& !this.getPatchablePropertyConfigurations().isEmpty()
+				&& this.getUnpatchablePropertyConfigurations().stream().noneMatch(property -> property.getTypeName().isPrimitive());
+	}
+
+	/**
+	 * Check if the controller caches the responses of entities read by id in
+	 * a {@link DataReadCache} and wraps its data accessor into a
+	 * {@link CachingDataAccessor}, that invalidates the cache on writes. This
+	 * is only possible if the data accessor is injected as
+	 * {@link DataAccessor}.
+	 *
+	 * @return True if the controller caches read responses.
+	 */
+	@JsonIgnore
+	public boolean isUsingCache() {
+		return this.cache && this.isUsingDataAccessor();
+	}
+
+	/**
+	 * Check if the controller caches the mapped pages of searches in a
+	 * {@link DataSearchCache}. Pages of projected responses and slices are
+	 * not cached.
+	 *
+	 * @return True if the controller caches searched pages.
+	 */
+	@JsonIgnore
+	public boolean isUsingSearchCache() {
+		return this.searchCache && this.isUsingDataAccessor() && !this.isUsingProjection() && !this.sliceSearch;
+	}
+
+	/**
+	 * Check if the data accessor is injected as {@link DataAccessor}.
+	 *
+	 * @return True if the data accessor is a {@link DataAccessor}.
+	 */
+	protected boolean isUsingDataAccessor() {
+		return this.dataAccessorClassName != null && this.dataAccessorClassName.rawType.equals(ClassName.get(DataAccessor.class));
+	}
+
+	/**
+	 * Check if the controller selects the response dto directly from the
+	 * database.
+	 *
+	 * @return True if the controller uses a projection.
+	 */
+	@JsonIgnore
+	public boolean isUsingProjection() {
+		return this.projection && this.isUsingDto();
+	}
+
 	/**
 	 * Check if the controller uses relations.
 	 *
@@ -305,4 +684,29 @@ public class ControllerConfiguration {
 	public boolean isUsingDto() {
 		return this.responseObjectClassName != null && !this.responseObjectClassName.equals(TypeName.OBJECT);
 	}
+
+	/**
+	 * Find the readable properties of the request object, that are merged
+	 * into a writable property of the entity with the same name. The id and
+	 * version of the entity are never merged.
+	 *
+	 * @param patchable If the patchable or the unpatchable properties should
+	 *                  be found.
+	 * @return A {@link List} of the matching properties of the request object.
+	 */
+	protected List<PropertyConfiguration> findMergedPropertyConfigurations(boolean patchable) {
+		Map<String, PropertyConfiguration> entityProperties = new HashMap<>();
+		this.getPropertyConfigurations(this.entityClassName).forEach(property -> entityProperties.put(property.getPropertyName(), property));
+		return this.getPropertyConfigurations(this.getRequestType()).stream()
+				.filter(PropertyConfiguration::isReadable)
+				.filter(property -> {
+					PropertyConfiguration entityProperty = entityProperties.get(property.getPropertyName());
+					if (entityProperty == null || !entityProperty.isWritable() || entityProperty.isIdentifier() || entityProperty.isVersion()) {
+						return false;
+					}
+					boolean isPatchable = !entityProperty.isRelation() && entityProperty.getTypeName().equals(property.getTypeName());
+					return isPatchable == patchable;
+				})
+				.toList();
+	}
 }
@@ -0,0 +1,85 @@
+package eu.nerdfactor.restness.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.squareup.javapoet.TypeName;
+import lombok.*;
+
+/**
+ * Property Configuration for RESTness code generation. Describes a property of
+ * an entity or data transfer object and how it can be accessed.
+ *
+ * @author Daniel Klug
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(setterPrefix = "with")
+public class PropertyConfiguration {
+
+	/**
+	 * The name of the property.
+	 */
+	protected String propertyName;
+
+	/**
+	 * The {@link TypeName} of the property. This includes the full namespace,
+	 * the name of the class and possible type arguments.
+	 *
+	 * <li>{@code int}</li>
+	 * <li>{@code java.lang.String}</li>
+	 * <li>{@code java.util.List<com.example.entity.Product>}</li>
+	 */
+	protected TypeName typeName;
+
+	/**
+	 * The method name to get the property or null, if the property can not be
+	 * read.
+	 */
+	protected String getterMethodName;
+
+	/**
+	 * The method name to set the property or null, if the property can not be
+	 * written.
+	 */
+	protected String setterMethodName;
+
+	/**
+	 * If the property is the id of an entity.
+	 */
+	@Builder.Default
+	protected boolean identifier = false;
+
+	/**
+	 * If the property is the version of an entity, used for optimistic
+	 * locking.
+	 */
+	@Builder.Default
+	protected boolean version = false;
+
+	/**
+	 * If the property is a relation to other entities.
+	 */
+	@Builder.Default
+	protected boolean relation = false;
+
+	/**
+	 * Check if the property can be read.
+	 *
+	 * @return True if the property has a getter.
+	 */
+	@JsonIgnore
+	public boolean isReadable() {
+		return this.getterMethodName != null && !this.getterMethodName.isEmpty();
+	}
+
+	/**
+	 * Check if the property can be written.
+	 *
+	 * @return True if the property has a setter.
+	 */
+	@JsonIgnore
+	public boolean isWritable() {
+		return this.setterMethodName != null && !this.setterMethodName.isEmpty();
+	}
+}
@@ -96,6 +96,28 @@ public class RelationConfiguration {
 	@Builder.Default
 	protected String idAccessorMethodName = "getId";
 
+	/**
+	 * The name of the join table of the relation, if it is declared with a
+	 * {@code JoinTable} annotation.
+	 */
+	protected String joinTableName;
+
+	/**
+	 * The column of the join table referencing the entity.
+	 */
+	protected String joinColumnName;
+
+	/**
+	 * The column of the join table referencing the related entity.
+	 */
+	protected String inverseJoinColumnName;
+
+	/**
+	 * The attribute of the related entity that owns the relation, if the
+	 * relation is mapped by the related entity.
+	 */
+	protected String mappedBy;
+
 	/**
 	 * Get the {@link TypeName} of a response object.
 	 *
@@ -116,6 +138,30 @@ public class RelationConfiguration {
 		return this.responseObjectClassName != null && !this.responseObjectClassName.equals(TypeName.OBJECT);
 	}
 
+	/**
+	 * Check if the relationship declares a complete join table.
+	 *
+	 * @return True if the join table and both columns are known.
+	 */
+	@JsonIgnore
+	public boolean isUsingJoinTable() {
+		return this.joinTableName != null && !this.joinTableName.isEmpty()
+				&& this.joinColumnName != null && !this.joinColumnName.isEmpty()
+				&& this.inverseJoinColumnName != null && !this.inverseJoinColumnName.isEmpty();
+	}
+
+	/**
+	 * Check if related entities can be added and removed with a single
+	 * statement, because the join table or the owning attribute of the
+	 * related entity is known.
+	 *
+	 * @return True if the relationship can be written directly.
+	 */
+	@JsonIgnore
+	public boolean isDirectlyWritable() {
+		return this.relationType == RelationType.MULTIPLE && (this.isUsingJoinTable() || (this.mappedBy != null && !this.mappedBy.isEmpty()));
+	}
+
 	/**
 	 * Set all access method names for the relationship.
 	 *
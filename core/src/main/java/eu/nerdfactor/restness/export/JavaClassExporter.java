@@ -2,6 +2,8 @@ package eu.nerdfactor.restness.export;
 
 import com.squareup.javapoet.JavaFile;
 import eu.nerdfactor.restness.code.RestnessControllerBuilder;
+import eu.nerdfactor.restness.code.RestnessDataMapperBuilder;
+import eu.nerdfactor.restness.code.RestnessDataMergerBuilder;
 import eu.nerdfactor.restness.config.ControllerConfiguration;
 import eu.nerdfactor.restness.util.RestnessUtil;
 
@@ -30,6 +32,24 @@ public class JavaClassExporter implements RestnessExporter {
 						).indent(config.getOrDefault("indentation", "\t"))
 						.build()
 						.writeTo(filer);
+				if (controllerConfiguration.isUsingGeneratedMerger()) {
+					RestnessUtil.log("Generating " + controllerConfiguration.getGeneratedMergerClassName().canonicalName() + ".");
+					JavaFile.builder(
+									controllerConfiguration.getGeneratedMergerClassName().packageName(),
+									RestnessDataMergerBuilder.create().withConfiguration(controllerConfiguration).build()
+							).indent(config.getOrDefault("indentation", "\t"))
+							.build()
+							.writeTo(filer);
+				}
+				if (controllerConfiguration.isUsingGeneratedMapper()) {
+					RestnessUtil.log("Generating " + controllerConfiguration.getGeneratedMapperClassName().canonicalName() + ".");
+					JavaFile.builder(
+									controllerConfiguration.getGeneratedMapperClassName().packageName(),
+									RestnessDataMapperBuilder.create().withConfiguration(controllerConfiguration).build()
+							).indent(config.getOrDefault("indentation", "\t"))
+							.build()
+							.writeTo(filer);
+				}
 			} catch (IOException e) {
 				RestnessUtil.log("Could not generate " + controllerConfiguration.getControllerClassName().canonicalName() + ".");
 				e.printStackTrace();
@@ -2,9 +2,12 @@ package eu.nerdfactor.restness.code;
 
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import eu.nerdfactor.restness.code.methodbuilder.ReadEntityMethodBuilder;
+import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
 import eu.nerdfactor.restness.entity.Example;
 import eu.nerdfactor.restness.entity.ExampleDto;
 import org.junit.jupiter.api.Assertions;
@@ -14,6 +17,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.lang.model.element.Modifier;
+import java.util.List;
+import java.util.Map;
 
 @ExtendWith(MockitoExtension.class)
 public class ReadEntityMethodBuilderTest {
@@ -81,4 +86,130 @@ public class ReadEntityMethodBuilderTest {
 				""";
 		Assertions.assertTrue(code.contains(expected));
 	}
+
+	@Test
+	void shouldCreateMethodUsingProjection() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		ReadEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(true)
+				.withUsingProjection(true)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withResponseType(ClassName.get(ExampleDto.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.buildWith(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @GetMapping("/api/example")
+				  public ResponseEntity<ExampleDto> get(@PathVariable final Integer id) {
+				    ExampleDto response = this.dataAccessor.readProjectedData(id, this.dataProjection).orElseThrow(EntityNotFoundException::new);
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateMethodUsingVersionETag() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		ReadEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(true)
+				.withUsingETag(true)
+				.withVersionGetterName("getVersion")
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withResponseType(ClassName.get(ExampleDto.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.buildWith(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @GetMapping("/api/example")
+				  public ResponseEntity<ExampleDto> get(@PathVariable final Integer id,
+				      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch) {
+				    Example entity = this.dataAccessor.readData(id).orElseThrow(EntityNotFoundException::new);
+				    String eTag = DataETag.fromVersion(entity.getVersion());
+				    if (DataETag.matches(ifNoneMatch, eTag)) {
+				      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+				    }
+				    ExampleDto response = this.dataMapper.map(entity, ExampleDto.class);
+				    return ResponseEntity.ok().eTag(eTag).body(response);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	@Test
+	void shouldCreateContentETagForResponseWithRelation() {
+		ClassName entity = ClassName.get(Example.class);
+		ClassName dto = ClassName.get(ExampleDto.class);
+		List<PropertyConfiguration> entityProperties = List.of(
+				this.property("id", TypeName.INT).withIdentifier(true).build(),
+				this.property("version", TypeName.LONG).withVersion(true).build(),
+				this.property("children", ParameterizedTypeName.get(ClassName.get(List.class), entity)).withRelation(true).build()
+		);
+		List<PropertyConfiguration> basicProperties = List.of(
+				this.property("id", TypeName.INT).build()
+		);
+		List<PropertyConfiguration> nestedProperties = List.of(
+				this.property("id", TypeName.INT).build(),
+				this.property("children", ParameterizedTypeName.get(ClassName.get(List.class), dto)).build()
+		);
+
+		String basic = this.buildWithConfiguration(Map.of(entity, entityProperties, dto, basicProperties));
+		Assertions.assertTrue(basic.contains("String eTag = DataETag.fromVersion(entity.getVersion());"));
+		String nested = this.buildWithConfiguration(Map.of(entity, entityProperties, dto, nestedProperties));
+		Assertions.assertFalse(nested.contains("DataETag.fromVersion"));
+		Assertions.assertTrue(nested.contains("String eTag = DataETag.fromContent(this.objectMapper, response);"));
+	}
+
+	private String buildWithConfiguration(Map<TypeName, List<PropertyConfiguration>> properties) {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+		ControllerConfiguration configuration = ControllerConfiguration.builder()
+				.withControllerClassName(ClassName.get("eu.nerdfactor.test", "ExampleController"))
+				.withRequestBasePath("/api/example")
+				.withExistingRequestMappings(List.of())
+				.withEntityClassName(ClassName.get(Example.class))
+				.withIdClassName(ClassName.get(Integer.class))
+				.withResponseObjectClassName(ClassName.get(ExampleDto.class))
+				.withResponseListClassName(ClassName.get(ExampleDto.class))
+				.withRequestObjectClassName(ClassName.get(ExampleDto.class))
+				.withETag(true)
+				.withPropertyConfigurations(properties)
+				.build();
+		ReadEntityMethodBuilder.create()
+				.withConfiguration(configuration)
+				.buildWith(builder);
+		return JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+	}
+
+	private PropertyConfiguration.PropertyConfigurationBuilder property(String name, TypeName type) {
+		String suffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+		return PropertyConfiguration.builder()
+				.withPropertyName(name)
+				.withTypeName(type)
+				.withGetterMethodName("get" + suffix)
+				.withSetterMethodName("set" + suffix);
+	}
 }
@@ -0,0 +1,161 @@
+package eu.nerdfactor.restness.code;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
+import eu.nerdfactor.restness.entity.Example;
+import eu.nerdfactor.restness.entity.ExampleDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class RestnessDataMapperBuilderTest {
+
+	@Test
+	void shouldCreateMapperWithPlainAccessors() {
+		ClassName entity = ClassName.get(Example.class);
+		ClassName dto = ClassName.get(ExampleDto.class);
+		ControllerConfiguration configuration = ControllerConfiguration.builder()
+				.withControllerClassName(ClassName.get("eu.nerdfactor.test", "ExampleController"))
+				.withEntityClassName(entity)
+				.withResponseObjectClassName(dto)
+				.withResponseListClassName(dto)
+				.withRequestObjectClassName(dto)
+				.withGeneratedMapper(true)
+				.withPropertyConfigurations(Map.of(
+						entity, List.of(
+								this.property("id", TypeName.INT),
+								this.property("name", ClassName.get(String.class))
+						),
+						dto, List.of(
+								this.property("id", TypeName.INT.box()),
+								this.property("name", ClassName.get(String.class))
+						)
+				))
+				.withInstantiableClassNames(Set.of(entity, dto))
+				.build();
+
+		String code = JavaFile.builder("eu.nerdfactor.test", RestnessDataMapperBuilder.create().withConfiguration(configuration).build()).build().toString();
+		String expectedToDto = """
+				  protected ExampleDto mapExampleToExampleDto(Example source) {
+				    ExampleDto target = new ExampleDto();
+				    target.setId(source.getId());
+				    target.setName(source.getName());
+				    return target;
+				  }
+				""";
+		String expectedToEntity = """
+				  protected Example mapExampleDtoToExample(ExampleDto source) {
+				    Example target = new Example();
+				    if (source.getId() != null) {
+				      target.setId(source.getId());
+				    }
+				    target.setName(source.getName());
+				    return target;
+				  }
+				""";
+		String expectedMap = """
+				    if (obj instanceof Example source && cls == ExampleDto.class) {
+				      return (T) this.mapExampleToExampleDto(source);
+				    }
+				    if (obj instanceof ExampleDto source && cls == Example.class) {
+				      return (T) this.mapExampleDtoToExample(source);
+				    }
+				    return this.dataMapper.map(obj, cls);
+				""";
+		Assertions.assertTrue(code.contains("public class ExampleControllerDataMapper implements DataMapper {"));
+		Assertions.assertTrue(code.contains(expectedToDto));
+		Assertions.assertTrue(code.contains(expectedToEntity));
+		Assertions.assertTrue(code.contains(expectedMap));
+	}
+
+	@Test
+	void shouldMapCollectionsByElement() {
+		ClassName entity = ClassName.get(Example.class);
+		ClassName dto = ClassName.get(ExampleDto.class);
+		ControllerConfiguration configuration = ControllerConfiguration.builder()
+				.withControllerClassName(ClassName.get("eu.nerdfactor.test", "ExampleController"))
+				.withEntityClassName(entity)
+				.withResponseObjectClassName(dto)
+				.withResponseListClassName(dto)
+				.withRequestObjectClassName(dto)
+				.withGeneratedMapper(true)
+				.withPropertyConfigurations(Map.of(
+						entity, List.of(
+								this.property("children", ParameterizedTypeName.get(ClassName.get(List.class), entity)),
+								this.property("names", ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(String.class))),
+								this.property("values", ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), ClassName.get(String.class)))
+						),
+						dto, List.of(
+								this.property("children", ParameterizedTypeName.get(ClassName.get(Set.class), dto)),
+								this.property("names", ParameterizedTypeName.get(ClassName.get(Set.class), ClassName.get(String.class))),
+								this.property("values", ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class), ClassName.get(Object.class)))
+						)
+				))
+				.withInstantiableClassNames(Set.of(entity, dto))
+				.build();
+
+		String code = JavaFile.builder("eu.nerdfactor.test", RestnessDataMapperBuilder.create().withConfiguration(configuration).build()).build().toString();
+		List<RestnessDataMapperBuilder.SkippedProperty> skipped = RestnessDataMapperBuilder.create().withConfiguration(configuration).findSkippedProperties();
+		String expectedToDto = """
+				  protected ExampleDto mapExampleToExampleDto(Example source) {
+				    ExampleDto target = new ExampleDto();
+				    if (source.getChildren() != null) {
+				      Set<ExampleDto> childrenMapped = new LinkedHashSet<>(source.getChildren().size());
+				      for (Object item : source.getChildren()) {
+				        childrenMapped.add(item != null ? this.map(item, ExampleDto.class) : null);
+				      }
+				      target.setChildren(childrenMapped);
+				    }
+				    if (source.getNames() != null) {
+				      target.setNames(new LinkedHashSet<>(source.getNames()));
+				    }
+				    return target;
+				  }
+				""";
+		Assertions.assertTrue(code.contains(expectedToDto));
+		Assertions.assertEquals(2, skipped.size());
+		Assertions.assertTrue(skipped.stream().allMatch(property -> property.propertyName().equals("values")));
+		Assertions.assertTrue(skipped.stream().anyMatch(property -> property.className().equals(dto)));
+		Assertions.assertTrue(skipped.stream().anyMatch(property -> property.className().equals(entity)));
+	}
+
+	@Test
+	void shouldNameMappedCollectionsWithoutCollision() {
+		ClassName entity = ClassName.get(Example.class);
+		ClassName dto = ClassName.get(ExampleDto.class);
+		ControllerConfiguration configuration = ControllerConfiguration.builder()
+				.withControllerClassName(ClassName.get("eu.nerdfactor.test", "ExampleController"))
+				.withEntityClassName(entity)
+				.withResponseObjectClassName(dto)
+				.withResponseListClassName(dto)
+				.withRequestObjectClassName(dto)
+				.withGeneratedMapper(true)
+				.withPropertyConfigurations(Map.of(
+						entity, List.of(this.property("target", ParameterizedTypeName.get(ClassName.get(List.class), entity))),
+						dto, List.of(this.property("target", ParameterizedTypeName.get(ClassName.get(List.class), dto)))
+				))
+				.withInstantiableClassNames(Set.of(entity, dto))
+				.build();
+
+		String code = JavaFile.builder("eu.nerdfactor.test", RestnessDataMapperBuilder.create().withConfiguration(configuration).build()).build().toString();
+		Assertions.assertTrue(code.contains("List<ExampleDto> targetMapped = new ArrayList<>(source.getTarget().size());"));
+		Assertions.assertTrue(code.contains("target.setTarget(targetMapped);"));
+	}
+
+	private PropertyConfiguration property(String name, TypeName type) {
+		String suffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+		return PropertyConfiguration.builder()
+				.withPropertyName(name)
+				.withTypeName(type)
+				.withGetterMethodName("get" + suffix)
+				.withSetterMethodName("set" + suffix)
+				.build();
+	}
+}
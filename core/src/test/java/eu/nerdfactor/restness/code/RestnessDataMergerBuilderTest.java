@@ -0,0 +1,74 @@
+package eu.nerdfactor.restness.code;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
+import eu.nerdfactor.restness.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class RestnessDataMergerBuilderTest {
+
+	@Test
+	void shouldCreateMergerSkippingNullValues() {
+		ClassName entity = ClassName.get(Example.class);
+		ControllerConfiguration configuration = ControllerConfiguration.builder()
+				.withControllerClassName(ClassName.get("eu.nerdfactor.test", "ExampleController"))
+				.withEntityClassName(entity)
+				.withGeneratedMerger(true)
+				.withPropertyConfigurations(Map.of(
+						entity, List.of(
+								this.property("id", TypeName.INT).withIdentifier(true).build(),
+								this.property("name", ClassName.get(String.class)).build(),
+								this.property("amount", TypeName.LONG.box()).build(),
+								this.property("active", TypeName.BOOLEAN).build(),
+								this.property("children", ParameterizedTypeName.get(ClassName.get(List.class), entity)).withRelation(true).build()
+						)
+				))
+				.build();
+
+		String code = JavaFile.builder("eu.nerdfactor.test", RestnessDataMergerBuilder.create().withConfiguration(configuration).build()).build().toString();
+		String expectedMerging = """
+				  protected void mergeExample(Example target, Example source) {
+				    String updatedName = source.getName();
+				    if (updatedName != null && !updatedName.isEmpty()) {
+				      target.setName(updatedName);
+				    }
+				    Long updatedAmount = source.getAmount();
+				    if (updatedAmount != null) {
+				      target.setAmount(updatedAmount);
+				    }
+				    target.setActive(source.getActive());
+				    List<Example> updatedChildren = source.getChildren();
+				    if (updatedChildren != null) {
+				      target.setChildren(updatedChildren);
+				    }
+				  }
+				""";
+		String expectedMerge = """
+				    if (original instanceof Example target && updated instanceof Example source) {
+				      this.mergeExample(target, source);
+				      return original;
+				    }
+				    return this.dataMerger.merge(original, updated);
+				""";
+		Assertions.assertTrue(code.contains("public class ExampleControllerDataMerger implements DataMerger {"));
+		Assertions.assertTrue(code.contains(expectedMerging));
+		Assertions.assertTrue(code.contains(expectedMerge));
+	}
+
+	private PropertyConfiguration.PropertyConfigurationBuilder property(String name, TypeName type) {
+		String suffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+		return PropertyConfiguration.builder()
+				.withPropertyName(name)
+				.withTypeName(type)
+				.withGetterMethodName("get" + suffix)
+				.withSetterMethodName("set" + suffix);
+	}
+}
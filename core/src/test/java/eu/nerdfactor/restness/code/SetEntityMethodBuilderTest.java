@@ -44,7 +44,9 @@ public class SetEntityMethodBuilderTest {
 				  @PutMapping("/api/example")
 				  public ResponseEntity<Example> set(@PathVariable final Integer id,
 				      @RequestBody @Valid Example dto) {
-				    Example entity = this.dataAccessor.readData(id).orElseThrow(EntityNotFoundException::new);
+				    if (!this.dataAccessor.existsData(id)) {
+				      throw new EntityNotFoundException();
+				    }
 				    Example changed = dto;
 				    changed = this.dataAccessor.updateData(changed);
 				    Example response = changed;
@@ -80,7 +82,9 @@ public class SetEntityMethodBuilderTest {
 				  @PutMapping("/api/example")
 				  public ResponseEntity<ExampleDto> set(@PathVariable final Integer id,
 				      @RequestBody @Valid ExampleForm dto) {
-				    Example entity = this.dataAccessor.readData(id).orElseThrow(EntityNotFoundException::new);
+				    if (!this.dataAccessor.existsData(id)) {
+				      throw new EntityNotFoundException();
+				    }
 				    Example changed = this.dataMapper.map(dto, Example.class);
 				    changed = this.dataAccessor.updateData(changed);
 				    ExampleDto response = this.dataMapper.map(changed, ExampleDto.class);
@@ -91,4 +95,39 @@ public class SetEntityMethodBuilderTest {
 		Assertions.assertTrue(code.contains(expected));
 	}
 
+	@Test
+	void shouldCreateUpsertMethod() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		SetEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withRequestType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withUpsert(true)
+				.buildWith(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @PutMapping("/api/example")
+				  public ResponseEntity<Example> set(@PathVariable final Integer id,
+				      @RequestBody @Valid Example dto) {
+				    Example changed = dto;
+				    changed = this.dataAccessor.updateData(changed);
+				    Example response = changed;
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
 }
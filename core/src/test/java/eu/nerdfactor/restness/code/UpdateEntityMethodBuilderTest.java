@@ -5,6 +5,7 @@ import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import eu.nerdfactor.restness.code.methodbuilder.UpdateEntityMethodBuilder;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
 import eu.nerdfactor.restness.entity.Example;
 import eu.nerdfactor.restness.entity.ExampleDto;
 import eu.nerdfactor.restness.entity.ExampleForm;
@@ -15,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.lang.model.element.Modifier;
+import java.util.List;
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateEntityMethodBuilderTest {
@@ -44,7 +46,7 @@ public class UpdateEntityMethodBuilderTest {
 				  @PatchMapping("/api/example")
 				  public ResponseEntity<Example> update(@PathVariable final Integer id,
 				      @RequestBody @Valid Example dto) {
-				    Example entity = this.dataAccessor.readData(id).orElseThrow(EntityNotFoundException::new);
+				    Example entity = this.dataAccessor.readDataForUpdate(id).orElseThrow(EntityNotFoundException::new);
 				    Example changed = dto;
 				    Example updated = this.dataMerger.merge(entity, changed);
 				    updated = this.dataAccessor.updateData(updated);
@@ -81,7 +83,7 @@ public class UpdateEntityMethodBuilderTest {
 				  @PatchMapping("/api/example")
 				  public ResponseEntity<ExampleDto> update(@PathVariable final Integer id,
 				      @RequestBody @Valid ExampleForm dto) {
-				    Example entity = this.dataAccessor.readData(id).orElseThrow(EntityNotFoundException::new);
+				    Example entity = this.dataAccessor.readDataForUpdate(id).orElseThrow(EntityNotFoundException::new);
 				    Example changed = this.dataMapper.map(dto, Example.class);
 				    Example updated = this.dataMerger.merge(entity, changed);
 				    updated = this.dataAccessor.updateData(updated);
@@ -92,4 +94,81 @@ public class UpdateEntityMethodBuilderTest {
 				""";
 		Assertions.assertTrue(code.contains(expected));
 	}
+
+	@Test
+	void shouldCreateDirectUpdateMethod() {
+		TypeSpec.Builder builder = TypeSpec.classBuilder("ExampleController")
+				.addAnnotation(RestController.class)
+				.addModifiers(Modifier.PUBLIC);
+
+		UpdateEntityMethodBuilder.create()
+				.withHasExistingRequest(false)
+				.withUsingDto(false)
+				.withRequestUrl("/api/example")
+				.withEntityType(ClassName.get(Example.class))
+				.withRequestType(ClassName.get(Example.class))
+				.withResponseType(ClassName.get(Example.class))
+				.withIdentifyingType(ClassName.get(Integer.class))
+				.withSecurityConfiguration(null)
+				.withDataWrapperClass(TypeName.OBJECT)
+				.withControllerType(ClassName.get("eu.nerdfactor.test", "ExampleController"))
+				.withPatchableProperties(List.of(this.property("name", ClassName.get(String.class)), this.property("amount", TypeName.INT)))
+				.withUnpatchableProperties(List.of(this.property("parent", ClassName.get(Example.class))))
+				.withEntityProperties(List.of(this.property("amount", TypeName.INT)))
+				.buildWith(builder);
+
+		String code = JavaFile.builder("eu.nerdfactor.test", builder.build()).build().toString();
+		String expected = """
+				@RestController
+				public class ExampleController {
+				  @PatchMapping("/api/example")
+				  @Transactional
+				  public ResponseEntity<Example> update(@PathVariable final Integer id,
+				      @RequestBody ObjectNode body) throws MethodArgumentNotValidException {
+				    Example dto;
+				    try {
+				      dto = this.objectMapper.convertValue(body, Example.class);
+				    } catch (IllegalArgumentException e) {
+				      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body contains a malformed value", e);
+				    }
+				    BindingResult errors = new BeanPropertyBindingResult(dto, "dto");
+				    new SpringValidatorAdapter(this.validator).validate(dto, errors);
+				    if (errors.hasErrors()) {
+				      throw new MethodArgumentNotValidException(new MethodParameter(ReflectionUtils.findMethod(ExampleController.class, "update", Integer.class, ObjectNode.class), 1), errors);
+				    }
+				    if (dto.getParent() == null) {
+				      Map<String, Object> changes = new HashMap<>();
+				      if (dto.getName() != null && !dto.getName().isEmpty()) {
+				        changes.put("name", dto.getName());
+				      }
+				      if (body.has("amount")) {
+				        changes.put("amount", dto.getAmount());
+				      }
+				      this.dataAccessor.patchData(id, changes, this.dataPatch);
+				      return ResponseEntity.noContent().build();
+				    }
+				    Example entity = this.dataAccessor.readDataForUpdate(id).orElseThrow(EntityNotFoundException::new);
+				    Example changed = dto;
+				    if (!body.has("amount")) {
+				      changed.setAmount(entity.getAmount());
+				    }
+				    Example updated = this.dataMerger.merge(entity, changed);
+				    updated = this.dataAccessor.updateData(updated);
+				    Example response = updated;
+				    return new ResponseEntity<>(response, HttpStatus.OK);
+				  }
+				}
+				""";
+		Assertions.assertTrue(code.contains(expected));
+	}
+
+	private PropertyConfiguration property(String name, TypeName type) {
+		String suffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+		return PropertyConfiguration.builder()
+				.withPropertyName(name)
+				.withTypeName(type)
+				.withGetterMethodName("get" + suffix)
+				.withSetterMethodName("set" + suffix)
+				.build();
+	}
 }
@@ -0,0 +1,254 @@
+package eu.nerdfactor.restness.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A {@link DataAccessor} that wraps another accessor and invalidates the
+ * cached data of the entity class on every write. The cached reads in every
+ * {@link DataReadCache} and the searched pages in every
+ * {@link DataSearchCache} of the entity class become stale at once. Writes
+ * of relations also invalidate the cached data of the related entity class.
+ * Inside a transaction, this is repeated after the transaction completed, so
+ * no other request can cache outdated data in between.
+ * <p>
+ * The accessor itself caches no entities. The read entities belong to the
+ * persistence context of the request, so only their mapped responses or
+ * detached copies are cached. Changes that do not pass this accessor, like
+ * changes of other applications, are only visible after the cached data
+ * expired.
+ *
+ * @param <E>  Type of the entity.
+ * @param <ID> Type of the entity's id.
+ * @author Daniel Klug
+ */
+public class CachingDataAccessor<E, ID> implements DataAccessor<E, ID> {
+
+	private final DataAccessor<E, ID> accessor;
+
+	/**
+	 * The class of the entity, whose cached data is invalidated.
+	 */
+	private final Class<E> entityClass;
+
+	/**
+	 * Construct a {@code CachingDataAccessor}.
+	 *
+	 * @param accessor    The {@link DataAccessor} that accesses the entities.
+	 * @param entityClass The class of the entity.
+	 */
+	public CachingDataAccessor(@NotNull DataAccessor<E, ID> accessor, @NotNull Class<E> entityClass) {
+		this.accessor = accessor;
+		this.entityClass = entityClass;
+	}
+
+	/**
+	 * Get the class of the entity, whose cached data is invalidated.
+	 *
+	 * @return The class of the entity.
+	 */
+	public Class<E> getEntityClass() {
+		return this.entityClass;
+	}
+
+	@Override
+	public Iterable<E> listData() {
+		return this.accessor.listData();
+	}
+
+	@Override
+	public Stream<E> streamData() {
+		return this.accessor.streamData();
+	}
+
+	@Override
+	public Page<E> searchData(Specification<E> spec, Pageable page) {
+		return this.accessor.searchData(spec, page);
+	}
+
+	@Override
+	public Slice<E> sliceData(Specification<E> spec, Pageable page) {
+		return this.accessor.sliceData(spec, page);
+	}
+
+	@Override
+	public Window<E> scrollData(Specification<E> spec, ScrollPosition position, Sort sort, int limit) {
+		return this.accessor.scrollData(spec, position, sort, limit);
+	}
+
+	@Override
+	public <D> List<D> listProjectedData(@NotNull DataProjection<E, D> projection) {
+		return this.accessor.listProjectedData(projection);
+	}
+
+	@Override
+	public <D> Page<D> searchProjectedData(Specification<E> spec, Pageable page, @NotNull DataProjection<E, D> projection) {
+		return this.accessor.searchProjectedData(spec, page, projection);
+	}
+
+	@Override
+	public <D> Slice<D> sliceProjectedData(Specification<E> spec, Pageable page, @NotNull DataProjection<E, D> projection) {
+		return this.accessor.sliceProjectedData(spec, page, projection);
+	}
+
+	@Override
+	public <D> Optional<D> readProjectedData(ID id, @NotNull DataProjection<E, D> projection) {
+		return this.accessor.readProjectedData(id, projection);
+	}
+
+	@Override
+	public <R> Optional<R> readRelationData(ID id, @NotNull DataRelation<E, R> relation) {
+		return this.accessor.readRelationData(id, relation);
+	}
+
+	@Override
+	public <R> List<R> listRelationData(ID id, @NotNull DataRelation<E, R> relation) {
+		return this.accessor.listRelationData(id, relation);
+	}
+
+	@Override
+	public <R> Page<R> searchRelationData(ID id, @NotNull DataRelation<E, R> relation, Specification<R> spec, Pageable page) {
+		return this.accessor.searchRelationData(id, relation, spec, page);
+	}
+
+	@Override
+	public <R> long countRelationData(ID id, @NotNull DataRelation<E, R> relation, Specification<R> spec) {
+		return this.accessor.countRelationData(id, relation, spec);
+	}
+
+	@Override
+	public <R> void addRelationData(ID id, @NotNull DataRelation<E, R> relation, @NotNull Object relatedId) {
+		this.invalidate();
+		this.afterWrite(() -> DataSearchCache.invalidate(relation.getRelatedClass()));
+		this.accessor.addRelationData(id, relation, relatedId);
+	}
+
+	@Override
+	public <R> void removeRelationData(ID id, @NotNull DataRelation<E, R> relation, @NotNull Object relatedId) {
+		this.invalidate();
+		this.afterWrite(() -> DataSearchCache.invalidate(relation.getRelatedClass()));
+		this.accessor.removeRelationData(id, relation, relatedId);
+	}
+
+	@Override
+	public <R> void addAllRelationData(ID id, @NotNull DataRelation<E, R> relation, @NotNull Collection<?> relatedIds) {
+		this.invalidate();
+		this.afterWrite(() -> DataSearchCache.invalidate(relation.getRelatedClass()));
+		this.accessor.addAllRelationData(id, relation, relatedIds);
+	}
+
+	@Override
+	public <R> void removeAllRelationData(ID id, @NotNull DataRelation<E, R> relation, @NotNull Collection<?> relatedIds) {
+		this.invalidate();
+		this.afterWrite(() -> DataSearchCache.invalidate(relation.getRelatedClass()));
+		this.accessor.removeAllRelationData(id, relation, relatedIds);
+	}
+
+	@Override
+	public E createData(@NotNull E entity) {
+		this.invalidate();
+		return this.accessor.createData(entity);
+	}
+
+	@Override
+	public List<E> createAllData(@NotNull Collection<E> entities) {
+		this.invalidate();
+		return this.accessor.createAllData(entities);
+	}
+
+
+	@Override
+	public Optional<E> readData(ID id) {
+		return this.accessor.readData(id);
+	}
+
+	@Override
+	public Optional<E> readDataForUpdate(ID id) {
+		return this.accessor.readDataForUpdate(id);
+	}
+
+	@Override
+	public boolean existsData(ID id) {
+		return this.accessor.existsData(id);
+	}
+
+	@Override
+	public boolean existsAllData(@NotNull Collection<ID> ids) {
+		return this.accessor.existsAllData(ids);
+	}
+
+	@Override
+	public E updateData(@NotNull E entity) {
+		this.invalidate();
+		return this.accessor.updateData(entity);
+	}
+
+	@Override
+	public List<E> updateAllData(@NotNull Collection<E> entities) {
+		this.invalidate();
+		return this.accessor.updateAllData(entities);
+	}
+
+	@Override
+	public void patchData(ID id, @NotNull Map<String, Object> changes, @NotNull DataPatch<E> patch) {
+		this.invalidate();
+		this.accessor.patchData(id, changes, patch);
+	}
+
+	@Override
+	public int getBatchSize() {
+		return this.accessor.getBatchSize();
+	}
+
+	@Override
+	public void deleteData(@NotNull E entity) {
+		this.invalidate();
+		this.accessor.deleteData(entity);
+	}
+
+	@Override
+	public void deleteDataById(@NotNull ID id) {
+		this.invalidate();
+		this.accessor.deleteDataById(id);
+	}
+
+	@Override
+	public long deleteAllData(@NotNull Specification<E> spec) {
+		this.invalidate();
+		return this.accessor.deleteAllData(spec);
+	}
+
+	/**
+	 * Invalidate the cached data of the entity class now and after the
+	 * current transaction completed.
+	 */
+	protected void invalidate() {
+		this.afterWrite(() -> DataSearchCache.invalidate(this.entityClass));
+	}
+
+	/**
+	 * Run the invalidation now and after the current transaction completed.
+	 *
+	 * @param invalidation The invalidation of cached data.
+	 */
+	private void afterWrite(Runnable invalidation) {
+		invalidation.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					invalidation.run();
+				}
+			});
+		}
+	}
+}
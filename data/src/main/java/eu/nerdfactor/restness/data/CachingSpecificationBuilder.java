@@ -0,0 +1,162 @@
+package eu.nerdfactor.restness.data;
+
+import jakarta.persistence.EntityManager;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link DataSpecificationBuilder} that wraps another builder and caches
+ * the built {@link Specification Specifications} by their filter and class,
+ * so repeated filters are only parsed once. The cache is limited to a maximum
+ * size and evicts the least recently used specifications.
+ * <p>
+ * The cached specifications are shared between requests, so the wrapped
+ * builder has to build specifications that do not change after they were
+ * built. Malformed filters are not cached and rejected by every build.
+ * <p>
+ * Specifications built with an {@link EntityManager} are checked only once,
+ * before they are cached, and cached apart from the unchecked ones, so a
+ * cached specification is never returned unchecked to a controller.
+ *
+ * @author Daniel Klug
+ */
+public class CachingSpecificationBuilder implements DataSpecificationBuilder {
+
+	private final DataSpecificationBuilder builder;
+
+	/**
+	 * The built specifications by their filter and class. Specifications do
+	 * not expire.
+	 */
+	private final DataCache<Key, Specification<?>> specifications;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Construct a {@code CachingSpecificationBuilder}.
+	 *
+	 * @param builder     The {@link DataSpecificationBuilder} that builds the
+	 *                    specifications.
+	 * @param maximumSize The maximum number of cached specifications.
+	 */
+	public CachingSpecificationBuilder(@NotNull DataSpecificationBuilder builder, int maximumSize) {
+		this.builder = builder;
+		this.specifications = new DataCache<>(maximumSize, Duration.ofNanos(Long.MAX_VALUE));
+	}
+
+	/**
+	 * Get the cached {@link Specification} of the filter and class or build
+	 * it with the wrapped builder.
+	 *
+	 * @param filter The filter string.
+	 * @param cls    The class to filter.
+	 * @param <T>    The type of the filtered class.
+	 * @return A cached or new {@link Specification} to filter a class.
+	 * @throws IllegalArgumentException If the filter is malformed.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Specification<T> build(String filter, Class<T> cls) {
+		Key key = new Key(filter, cls, false);
+		Specification<T> spec = (Specification<T>) this.specifications.get(key);
+		if (spec != null) {
+			this.hits.incrementAndGet();
+			return spec;
+		}
+		this.misses.incrementAndGet();
+		spec = this.builder.build(filter, cls);
+		if (spec != null) {
+			this.specifications.put(key, spec);
+		}
+		return spec;
+	}
+
+	/**
+	 * Get the cached and checked {@link Specification} of the filter and
+	 * class or build and check it with the wrapped builder. The
+	 * specification is only checked when it is built.
+	 *
+	 * @param filter        The filter string.
+	 * @param cls           The class to filter.
+	 * @param entityManager The {@link EntityManager} of the persistence unit.
+	 * @param <T>           The type of the filtered class.
+	 * @return A cached or new and checked {@link Specification} to filter a
+	 * class.
+	 * @throws IllegalArgumentException If the filter is malformed or can not
+	 *                                  be applied to the class.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Specification<T> build(String filter, Class<T> cls, EntityManager entityManager) {
+		Key key = new Key(filter, cls, true);
+		Specification<T> spec = (Specification<T>) this.specifications.get(key);
+		if (spec != null) {
+			this.hits.incrementAndGet();
+			return spec;
+		}
+		this.misses.incrementAndGet();
+		spec = this.builder.build(filter, cls, entityManager);
+		if (spec != null) {
+			this.specifications.put(key, spec);
+		}
+		return spec;
+	}
+
+	@Override
+	public String normalize(String filter) {
+		return this.builder.normalize(filter);
+	}
+
+	/**
+	 * Get the wrapped builder.
+	 *
+	 * @return The {@link DataSpecificationBuilder} that builds the
+	 * specifications.
+	 */
+	public DataSpecificationBuilder getBuilder() {
+		return this.builder;
+	}
+
+	/**
+	 * Get the number of specifications that were returned from the cache.
+	 *
+	 * @return The number of cache hits.
+	 */
+	public long getHitCount() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Get the number of specifications that were built by the wrapped
+	 * builder.
+	 *
+	 * @return The number of cache misses.
+	 */
+	public long getMissCount() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Get the number of cached specifications.
+	 *
+	 * @return The number of cached specifications.
+	 */
+	public int size() {
+		return this.specifications.size();
+	}
+
+	/**
+	 * The key of a cached specification.
+	 *
+	 * @param filter  The filter string.
+	 * @param cls     The filtered class.
+	 * @param checked If the specification was checked.
+	 */
+	private record Key(String filter, Class<?> cls, boolean checked) {
+	}
+}
@@ -1,14 +1,30 @@
 package eu.nerdfactor.restness.data;
 
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.support.WindowIterator;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -36,11 +52,74 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 		return this.getRepository().findAll();
 	}
 
+	/**
+	 * Get the number of entities that will be fetched at once while streaming
+	 * data.
+	 *
+	 * @return The number of entities in one chunk.
+	 */
+	default int getStreamFetchSize() {
+		return 500;
+	}
+
+	/**
+	 * Stream all entities in chunks of {@link #getStreamFetchSize()}. If the
+	 * repository implements {@link JpaSpecificationExecutor}, the chunks are
+	 * read by keyset scrolling over the id. If it implements
+	 * {@link PagingAndSortingRepository}, the chunks are read page by page.
+	 * Otherwise, all data will be streamed from {@link #listData()}.
+	 * <p>
+	 * Every chunk is read by a separate repository call. Outside of a
+	 * transaction, each chunk uses its own persistence context and already
+	 * streamed entities can be garbage collected.
+	 *
+	 * @return A Stream of entities.
+	 */
+	@SuppressWarnings("unchecked")
+	default Stream<E> streamData() {
+		CrudRepository<E, ID> repository = this.getRepository();
+		int fetchSize = this.getStreamFetchSize();
+		Iterator<E> iterator;
+		if (repository instanceof JpaSpecificationExecutor) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			iterator = WindowIterator
+					.of(position -> executor.findBy(Specification.where(null), query -> query.limit(fetchSize).scroll(position)))
+					.startingAt(ScrollPosition.keyset());
+		} else if (repository instanceof PagingAndSortingRepository) {
+			PagingAndSortingRepository<E, ID> pagingAndSorting = (PagingAndSortingRepository<E, ID>) repository;
+			iterator = new Iterator<>() {
+				private Page<E> page = pagingAndSorting.findAll(PageRequest.of(0, fetchSize));
+				private Iterator<E> current = this.page.iterator();
+
+				@Override
+				public boolean hasNext() {
+					while (!this.current.hasNext() && this.page.hasNext()) {
+						this.page = pagingAndSorting.findAll(this.page.nextPageable());
+						this.current = this.page.iterator();
+					}
+					return this.current.hasNext();
+				}
+
+				@Override
+				public E next() {
+					if (!this.hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return this.current.next();
+				}
+			};
+		} else {
+			return DataAccessor.super.streamData();
+		}
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
 	/**
 	 * Searches for data, filtered by the {@link Specification} and restricted
-	 * to a {@link Page}. Filtering and paging is only applied if the repository
-	 * implements the corresponding interfaces. Otherwise, a page with all data
-	 * will be returned.
+	 * to a {@link Page}. Filtering and paging is only applied by the
+	 * repository if it implements the corresponding interfaces. Otherwise, all
+	 * data is iterated once and the page is collected in memory by the
+	 * {@link DataPageCollector}, without filtering.
 	 *
 	 * @param spec The {@link Specification} for filtering.
 	 * @param page The {@link Pageable} for paging.
@@ -57,9 +136,55 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 			PagingAndSortingRepository<E, ID> pagingAndSorting = (PagingAndSortingRepository<E, ID>) repository;
 			return pagingAndSorting.findAll(page);
 		}
-		return new DataPage<>(StreamSupport
-				.stream(this.getRepository().findAll().spliterator(), false)
-				.toList());
+		return DataPageCollector.collect(repository.findAll(), page);
+	}
+
+	/**
+	 * Searches for data, filtered by the {@link Specification} and restricted
+	 * to a {@link Slice}. If the repository implements
+	 * {@link JpaSpecificationExecutor}, the slice is read without counting
+	 * all matching data. One additional element is read in order to know if
+	 * there is a next slice. Otherwise, the slice is read with
+	 * {@link #searchData(Specification, Pageable)}.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @param page The {@link Pageable} for paging.
+	 * @return A filtered slice of data.
+	 */
+	@SuppressWarnings("unchecked")
+	default Slice<E> sliceData(Specification<E> spec, Pageable page) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (repository instanceof JpaSpecificationExecutor && page.isPaged()) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			ScrollPosition position = page.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(page.getOffset() - 1);
+			Window<E> window = executor.findBy(spec != null ? spec : Specification.where(null), query -> query.sortBy(page.getSort()).limit(page.getPageSize()).scroll(position));
+			return new SliceImpl<>(window.getContent(), page, window.hasNext());
+		}
+		return this.searchData(spec, page);
+	}
+
+	/**
+	 * Scroll through data, filtered by the {@link Specification}. If the
+	 * repository implements {@link JpaSpecificationExecutor}, keyset
+	 * positions can be used and the id will be added to the sort, so every
+	 * window costs the same regardless of its position. Otherwise, only offset
+	 * positions are supported.
+	 *
+	 * @param spec     The {@link Specification} for filtering.
+	 * @param position The {@link ScrollPosition} after which the window
+	 *                 starts.
+	 * @param sort     The {@link Sort} of the data.
+	 * @param limit    The maximum amount of data in the window.
+	 * @return A filtered window of data.
+	 */
+	@SuppressWarnings("unchecked")
+	default Window<E> scrollData(Specification<E> spec, ScrollPosition position, Sort sort, int limit) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (repository instanceof JpaSpecificationExecutor) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			return executor.findBy(spec != null ? spec : Specification.where(null), query -> query.sortBy(sort).limit(limit).scroll(position));
+		}
+		return DataAccessor.super.scrollData(spec, position, sort, limit);
 	}
 
 	/**
@@ -72,6 +197,68 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 		return this.updateData(entity);
 	}
 
+	/**
+	 * Get the {@link EntityManager} that persists created entities. By
+	 * default, no entity manager is set and entities are created with the
+	 * repository.
+	 *
+	 * @return The {@link EntityManager} or null.
+	 */
+	default EntityManager getEntityManager() {
+		return null;
+	}
+
+	/**
+	 * Create all provided entities and write them to the database. If an
+	 * {@link EntityManager} is set, the entities are persisted and flushed,
+	 * so an entity with the id of an existing entity is rejected instead of
+	 * merged into it. Otherwise, they are saved with a single call to the
+	 * repository and entities with the id of an existing entity are merged
+	 * into it, like with {@link #updateAllData(Collection)}.
+	 *
+	 * @param entities The new entities.
+	 * @return The created entities in the same order.
+	 * @throws EntityExistsException           If an entity has the id or
+	 *                                         another unique key of an
+	 *                                         existing entity.
+	 * @throws DataIntegrityViolationException If an entity violates another
+	 *                                         constraint of the database,
+	 *                                         like a missing value or
+	 *                                         reference.
+	 */
+	default List<E> createAllData(@NotNull Collection<E> entities) {
+		EntityManager entityManager = this.getEntityManager();
+		List<E> created = new ArrayList<>(entities.size());
+		if (entityManager == null) {
+			CrudRepository<E, ID> repository = this.getRepository();
+			if (repository instanceof JpaRepository<E, ID> jpaRepository) {
+				created.addAll(jpaRepository.saveAllAndFlush(entities));
+			} else {
+				repository.saveAll(entities).forEach(created::add);
+			}
+			return created;
+		}
+		try {
+			for (E entity : entities) {
+				entityManager.persist(entity);
+				created.add(entity);
+			}
+			entityManager.flush();
+		} catch (PersistenceException e) {
+			for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+				// SQL state 23505 is a unique violation, the other states of class 23 violate other constraints.
+				if (cause instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("23")) {
+					if (sql.getSQLState().equals("23505")) {
+						throw new EntityExistsException(sql.getMessage(), e);
+					}
+					throw new DataIntegrityViolationException(sql.getMessage(), e);
+				}
+			}
+			throw e;
+		}
+		return created;
+	}
+
 	/**
 	 * Read the entity specified by the id.
 	 *
@@ -82,6 +269,35 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 		return this.getRepository().findById(id);
 	}
 
+	/**
+	 * Check if the entity specified by the id exists, without loading it.
+	 *
+	 * @param id The id of the entity.
+	 * @return True if the entity exists.
+	 */
+	default boolean existsData(ID id) {
+		return this.getRepository().existsById(id);
+	}
+
+	/**
+	 * Check if all entities specified by the ids exist. If the repository
+	 * implements {@link JpaSpecificationExecutor}, the entities are counted
+	 * with a single query. Otherwise, every id is checked on its own.
+	 *
+	 * @param ids The ids of the entities.
+	 * @return True if every entity exists.
+	 */
+	@Override
+	default boolean existsAllData(@NotNull Collection<ID> ids) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (repository instanceof JpaSpecificationExecutor) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			Set<ID> distinct = new HashSet<>(ids);
+			return !distinct.contains(null) && executor.count(DataSpecifications.hasIds(distinct)) == distinct.size();
+		}
+		return DataAccessor.super.existsAllData(ids);
+	}
+
 	/**
 	 * Update the provided entity.
 	 *
@@ -92,6 +308,19 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 		return this.getRepository().save(entity);
 	}
 
+	/**
+	 * Update all provided entities with a single call to the repository.
+	 * Entities that do not exist yet will be created.
+	 *
+	 * @param entities The entities with updated data.
+	 * @return The updated entities in the same order.
+	 */
+	default List<E> updateAllData(@NotNull Collection<E> entities) {
+		List<E> updated = new ArrayList<>(entities.size());
+		this.getRepository().saveAll(entities).forEach(updated::add);
+		return updated;
+	}
+
 	/**
 	 * Delete the provided entity.
 	 *
@@ -109,4 +338,24 @@ public interface DataAccessService<E, ID> extends DataAccessor<E, ID> {
 	default void deleteDataById(@NotNull ID id) {
 		this.getRepository().deleteById(id);
 	}
+
+	/**
+	 * Delete all data matching the {@link Specification}. If the repository
+	 * implements {@link JpaSpecificationExecutor}, the data is deleted with a
+	 * single delete query without loading it. Cascades and lifecycle
+	 * callbacks of the entities are not applied in this case. Otherwise, the
+	 * data is deleted one by one.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @return The number of deleted data.
+	 */
+	@SuppressWarnings("unchecked")
+	default long deleteAllData(@NotNull Specification<E> spec) {
+		CrudRepository<E, ID> repository = this.getRepository();
+		if (repository instanceof JpaSpecificationExecutor) {
+			JpaSpecificationExecutor<E> executor = (JpaSpecificationExecutor<E>) repository;
+			return executor.delete(spec);
+		}
+		return DataAccessor.super.deleteAllData(spec);
+	}
 }
@@ -1,11 +1,18 @@
 package eu.nerdfactor.restness.data;
 
+import jakarta.persistence.EntityExistsException;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Generic way to access entity data.
@@ -23,6 +30,19 @@ public interface DataAccessor<E, ID> {
 	 */
 	Iterable<E> listData();
 
+	/**
+	 * Stream all entities. Implementations should fetch the entities lazily
+	 * in chunks, so the whole table is never held in memory at once. By
+	 * default, the stream is backed by {@link #listData()}.
+	 * <p>
+	 * The returned stream should be closed after it was consumed.
+	 *
+	 * @return A Stream of entities.
+	 */
+	default Stream<E> streamData() {
+		return StreamSupport.stream(this.listData().spliterator(), false);
+	}
+
 	/**
 	 * Search all entities. Filter the result with a specification and contain
 	 * them inside a page.
@@ -33,6 +53,227 @@ public interface DataAccessor<E, ID> {
 	 */
 	Page<E> searchData(Specification<E> spec, Pageable page);
 
+	/**
+	 * Search all entities. Filter the result with a specification and contain
+	 * them inside a slice. In contrast to a page, a slice does not know the
+	 * total amount of entities and does not need to count them.
+	 * <p>
+	 * By default, the slice will be read with
+	 * {@link #searchData(Specification, Pageable)}.
+	 *
+	 * @param spec A {@link Specification} to restrict the searched entities.
+	 * @param page A {@link Pageable} to restrict the returned data.
+	 * @return A Slice of entities.
+	 */
+	default Slice<E> sliceData(Specification<E> spec, Pageable page) {
+		return this.searchData(spec, page);
+	}
+
+	/**
+	 * Scroll through all entities. Filter the result with a specification and
+	 * return the window of entities following the provided position.
+	 * <p>
+	 * By default, only offset based positions are supported and the window
+	 * will be read with {@link #searchData(Specification, Pageable)}.
+	 *
+	 * @param spec     A {@link Specification} to restrict the searched
+	 *                 entities.
+	 * @param position The {@link ScrollPosition} after which the window
+	 *                 starts.
+	 * @param sort     The {@link Sort} of the entities.
+	 * @param limit    The maximum number of entities in the window.
+	 * @return A Window of entities.
+	 */
+	default Window<E> scrollData(Specification<E> spec, ScrollPosition position, Sort sort, int limit) {
+		long offset = 0;
+		if (position instanceof OffsetScrollPosition offsetPosition) {
+			offset = offsetPosition.isInitial() ? 0 : offsetPosition.getOffset() + 1;
+		} else if (!position.isInitial()) {
+			throw new IllegalArgumentException("Keyset scrolling is not supported by " + this.getClass().getName());
+		}
+		Page<E> page = this.searchData(spec, PageRequest.of((int) (offset / limit), limit, sort));
+		long start = page.getPageable().isPaged() ? page.getPageable().getOffset() : 0;
+		return Window.from(page.getContent(), index -> ScrollPosition.offset(start + index), page.hasNext());
+	}
+
+	/**
+	 * List all entities as projections, without loading the entities.
+	 *
+	 * @param projection The {@link DataProjection} used to read the
+	 *                   projections.
+	 * @param <D>        Type of the projection.
+	 * @return A List of projections.
+	 */
+	default <D> List<D> listProjectedData(@NotNull DataProjection<E, D> projection) {
+		return projection.list();
+	}
+
+	/**
+	 * Search all entities as projections, without loading the entities.
+	 * Filter the result with a specification and contain them inside a page.
+	 *
+	 * @param spec       A {@link Specification} to restrict the searched
+	 *                   entities.
+	 * @param page       A {@link Pageable} to restrict the returned data.
+	 * @param projection The {@link DataProjection} used to read the
+	 *                   projections.
+	 * @param <D>        Type of the projection.
+	 * @return A Page of projections.
+	 */
+	default <D> Page<D> searchProjectedData(Specification<E> spec, Pageable page, @NotNull DataProjection<E, D> projection) {
+		return projection.search(spec, page);
+	}
+
+	/**
+	 * Search all entities as projections, without loading the entities.
+	 * Filter the result with a specification and contain them inside a slice.
+	 *
+	 * @param spec       A {@link Specification} to restrict the searched
+	 *                   entities.
+	 * @param page       A {@link Pageable} to restrict the returned data.
+	 * @param projection The {@link DataProjection} used to read the
+	 *                   projections.
+	 * @param <D>        Type of the projection.
+	 * @return A Slice of projections.
+	 */
+	default <D> Slice<D> sliceProjectedData(Specification<E> spec, Pageable page, @NotNull DataProjection<E, D> projection) {
+		return projection.slice(spec, page);
+	}
+
+	/**
+	 * Read the entity specified by the id as projection, without loading the
+	 * entity.
+	 *
+	 * @param id         The id of the entity.
+	 * @param projection The {@link DataProjection} used to read the
+	 *                   projection.
+	 * @param <D>        Type of the projection.
+	 * @return An {@link Optional} of the read projection.
+	 */
+	default <D> Optional<D> readProjectedData(ID id, @NotNull DataProjection<E, D> projection) {
+		return projection.read(id);
+	}
+
+	/**
+	 * Read the related entity of the entity specified by the id, without
+	 * loading the entity.
+	 *
+	 * @param id       The id of the entity.
+	 * @param relation The {@link DataRelation} used to query the related
+	 *                 entity.
+	 * @param <R>      Type of the related entity.
+	 * @return An {@link Optional} of the related entity.
+	 */
+	default <R> Optional<R> readRelationData(ID id, @NotNull DataRelation<E, R> relation) {
+		return relation.read(id);
+	}
+
+	/**
+	 * List all related entities of the entity specified by the id, without
+	 * loading the entity.
+	 *
+	 * @param id       The id of the entity.
+	 * @param relation The {@link DataRelation} used to query the related
+	 *                 entities.
+	 * @param <R>      Type of the related entity.
+	 * @return A List of related entities.
+	 */
+	default <R> List<R> listRelationData(ID id, @NotNull DataRelation<E, R> relation) {
+		return relation.list(id);
+	}
+
+	/**
+	 * Search the related entities of the entity specified by the id, without
+	 * loading the entity. Filter the result with a specification and contain
+	 * them inside a page.
+	 *
+	 * @param id       The id of the entity.
+	 * @param relation The {@link DataRelation} used to query the related
+	 *                 entities.
+	 * @param spec     A {@link Specification} to restrict the related
+	 *                 entities.
+	 * @param page     A {@link Pageable} to restrict the returned data.
+	 * @param <R>      Type of the related entity.
+	 * @return A Page of related entities.
+	 */
+	default <R> Page<R> searchRelationData(ID id, @NotNull DataRelation<E, R> relation, Specification<R> spec, Pageable page) {
+		return relation.search(id, spec, page);
+	}
+
+	/**
+	 * Count the related entities of the entity specified by the id, without
+	 * loading the entity or the related entities.
+	 *
+	 * @param id       The id of the entity.
+	 * @param relation The {@link DataRelation} used to count the related
+	 *                 entities.
+	 * @param spec     A {@link Specification} to restrict the counted
+	 *                 entities.
+	 * @param <R>      Type of the related entity.
+	 * @return The number of related entities.
+	 */
+	default <R> long countRelationData(ID id, @NotNull DataRelation<E, R> relation, Specification<R> spec) {
+		return relation.count(id, spec);
+	}
+
+	/**
+	 * Add the related entity with the related id to the entity specified by
+	 * the id, without loading the entity or its relation.
+	 *
+	 * @param id        The id of the entity.
+	 * @param relation  The {@link DataRelation} used to add the related
+	 *                  entity.
+	 * @param relatedId The id of the related entity.
+	 * @param <R>       Type of the related entity.
+	 */
+	default <R> void addRelationData(ID id, @NotNull DataRelation<E, R> relation, @NotNull Object relatedId) {
+		relation.add(id, relatedId);
+	}
+
+	/**
+	 * Remove the related entity with the related id from the entity specified
+	 * by the id, without loading the entity or its relation.
+	 *
+	 * @param id        The id of the entity.
+	 * @param relation  The {@link DataRelation} used to remove the related
+	 *                  entity.
+	 * @param relatedId The id of the related entity.
+	 * @param <R>       Type of the related entity.
+	 */
+	default <R> void removeRelationData(ID id, @NotNull DataRelation<E, R> relation, @NotNull Object relatedId) {
+		relation.remove(id, relatedId);
+	}
+
+	/**
+	 * Add the related entities with the related ids to the entity specified
+	 * by the id, without loading the entity or its relation. The number of
+	 * statements does not depend on the number of ids.
+	 *
+	 * @param id         The id of the entity.
+	 * @param relation   The {@link DataRelation} used to add the related
+	 *                   entities.
+	 * @param relatedIds The ids of the related entities.
+	 * @param <R>        Type of the related entity.
+	 */
+	default <R> void addAllRelationData(ID id, @NotNull DataRelation<E, R> relation, @NotNull Collection<?> relatedIds) {
+		relation.addAll(id, relatedIds);
+	}
+
+	/**
+	 * Remove the related entities with the related ids from the entity
+	 * specified by the id, without loading the entity or its relation. The
+	 * number of statements does not depend on the number of ids.
+	 *
+	 * @param id         The id of the entity.
+	 * @param relation   The {@link DataRelation} used to remove the related
+	 *                   entities.
+	 * @param relatedIds The ids of the related entities.
+	 * @param <R>        Type of the related entity.
+	 */
+	default <R> void removeAllRelationData(ID id, @NotNull DataRelation<E, R> relation, @NotNull Collection<?> relatedIds) {
+		relation.removeAll(id, relatedIds);
+	}
+
 	/**
 	 * Create a new entity with the provided data.
 	 *
@@ -41,6 +282,30 @@ public interface DataAccessor<E, ID> {
 	 */
 	E createData(@NotNull E entity);
 
+	/**
+	 * Create all provided entities. By default, every entity is created with
+	 * {@link #createData(Object)}. Batches clear the persistence context after
+	 * every call, so implementations have to write the entities to the
+	 * database before they return.
+	 *
+	 * @param entities The new entities.
+	 * @return The created entities in the same order.
+	 * @throws EntityExistsException           If an entity has the id or
+	 *                                         another unique key of an
+	 *                                         existing entity.
+	 * @throws DataIntegrityViolationException If an entity violates another
+	 *                                         constraint of the database,
+	 *                                         like a missing value or
+	 *                                         reference.
+	 */
+	default List<E> createAllData(@NotNull Collection<E> entities) {
+		List<E> created = new ArrayList<>(entities.size());
+		for (E entity : entities) {
+			created.add(this.createData(entity));
+		}
+		return created;
+	}
+
 	/**
 	 * Read the entity specified by the id.
 	 *
@@ -49,6 +314,47 @@ public interface DataAccessor<E, ID> {
 	 */
 	Optional<E> readData(ID id);
 
+	/**
+	 * Read the entity specified by the id, in order to change it. By default,
+	 * the entity is read with {@link #readData(Object)}. Accessors that share
+	 * read entities between requests, like a cache, have to read an entity
+	 * that is not shared, so changes are not visible before they are written.
+	 *
+	 * @param id The id of the entity.
+	 * @return An {@link Optional} of the read entity.
+	 */
+	default Optional<E> readDataForUpdate(ID id) {
+		return this.readData(id);
+	}
+
+	/**
+	 * Check if the entity specified by the id exists. By default, the entity
+	 * is read with {@link #readData(Object)}. Implementations should check
+	 * the existence without loading the entity.
+	 *
+	 * @param id The id of the entity.
+	 * @return True if the entity exists.
+	 */
+	default boolean existsData(ID id) {
+		return this.readData(id).isPresent();
+	}
+
+	/**
+	 * Check if all entities specified by the ids exist. By default, every id
+	 * is checked with {@link #existsData(Object)}.
+	 *
+	 * @param ids The ids of the entities.
+	 * @return True if every entity exists.
+	 */
+	default boolean existsAllData(@NotNull Collection<ID> ids) {
+		for (ID id : ids) {
+			if (id == null || !this.existsData(id)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Update the provided entity.
 	 *
@@ -57,6 +363,47 @@ public interface DataAccessor<E, ID> {
 	 */
 	E updateData(@NotNull E entity);
 
+	/**
+	 * Update all provided entities. Entities that do not exist yet will be
+	 * created. By default, every entity is updated with
+	 * {@link #updateData(Object)}.
+	 *
+	 * @param entities The entities with updated data.
+	 * @return The updated entities in the same order.
+	 */
+	default List<E> updateAllData(@NotNull Collection<E> entities) {
+		List<E> updated = new ArrayList<>(entities.size());
+		for (E entity : entities) {
+			updated.add(this.updateData(entity));
+		}
+		return updated;
+	}
+
+	/**
+	 * Set single values of the entity specified by the id, without loading
+	 * the entity. Only basic attributes can be patched, relations have to be
+	 * changed with {@link #updateData(Object)}.
+	 *
+	 * @param id      The id of the entity.
+	 * @param changes The new values by the names of their attributes.
+	 * @param patch   The {@link DataPatch} used to update the entity.
+	 */
+	default void patchData(ID id, @NotNull Map<String, Object> changes, @NotNull DataPatch<E> patch) {
+		patch.patch(id, changes);
+	}
+
+	/**
+	 * Get the number of entities that will be written at once by batch
+	 * requests. The persistence context is flushed and cleared after every
+	 * chunk, so it does not grow with the size of the request. It should
+	 * match the JDBC batch size of the persistence provider.
+	 *
+	 * @return The number of entities in one chunk.
+	 */
+	default int getBatchSize() {
+		return 50;
+	}
+
 	/**
 	 * Delete the provided entity.
 	 *
@@ -70,4 +417,22 @@ public interface DataAccessor<E, ID> {
 	 * @param id The id of the entity to delete.
 	 */
 	void deleteDataById(@NotNull ID id);
+
+	/**
+	 * Delete all entities matching the specification. By default, every
+	 * matching entity is read with
+	 * {@link #searchData(Specification, Pageable)} and deleted with
+	 * {@link #deleteData(Object)}.
+	 *
+	 * @param spec A {@link Specification} to restrict the deleted entities.
+	 * @return The number of deleted entities.
+	 */
+	default long deleteAllData(@NotNull Specification<E> spec) {
+		long count = 0;
+		for (E entity : this.searchData(spec, Pageable.unpaged())) {
+			this.deleteData(entity);
+			count++;
+		}
+		return count;
+	}
 }
@@ -0,0 +1,91 @@
+package eu.nerdfactor.restness.data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result for a single item of a batch request. It contains the position
+ * of the item in the request, the http status of the item and the content
+ * after it was processed.
+ *
+ * @param <T> The type of the contained object.
+ * @author Daniel Klug
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DataBatchResult<T> {
+
+	/**
+	 * The position of the item in the batch request.
+	 */
+	protected final int index;
+
+	/**
+	 * The http status of the item.
+	 */
+	protected final int status;
+
+	/**
+	 * The content of the item after it was processed.
+	 */
+	protected final T content;
+
+	/**
+	 * Construct a {@code DataBatchResult}.
+	 *
+	 * @param index   The position of the item in the batch request.
+	 * @param status  The http status of the item.
+	 * @param content The content of the item after it was processed.
+	 */
+	@JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+	public DataBatchResult(@JsonProperty("index") int index,
+	                       @JsonProperty("status") int status,
+	                       @JsonProperty("content") T content) {
+		this.index = index;
+		this.status = status;
+		this.content = content;
+	}
+
+	/**
+	 * Create results with the same status for a chunk of processed items.
+	 *
+	 * @param offset   The position of the first item of the chunk in the
+	 *                 batch request.
+	 * @param status   The http status of the items.
+	 * @param contents The (mapped) contents of the processed items.
+	 * @param <T>      The type of the contained objects.
+	 * @return A list of results in the order of the items.
+	 */
+	public static <T> List<DataBatchResult<T>> of(int offset, int status, @NotNull List<T> contents) {
+		List<DataBatchResult<T>> results = new ArrayList<>(contents.size());
+		for (int i = 0; i < contents.size(); i++) {
+			results.add(new DataBatchResult<>(offset + i, status, contents.get(i)));
+		}
+		return results;
+	}
+
+	/**
+	 * @return The position of the item in the batch request.
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * @return The http status of the item.
+	 */
+	public int getStatus() {
+		return this.status;
+	}
+
+	/**
+	 * @return The content of the item after it was processed.
+	 */
+	public T getContent() {
+		return this.content;
+	}
+}
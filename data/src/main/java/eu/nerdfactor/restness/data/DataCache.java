@@ -0,0 +1,197 @@
+package eu.nerdfactor.restness.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A small, thread safe cache with a maximum size and a time to live for
+ * every value. Expired values are removed when they are read.
+ * <p>
+ * Values are read without a lock. Every read only remembers the order of
+ * the access, so the least recently used values are approximated. If the
+ * cache is full, a single thread removes the least recently used values
+ * down to nine tenths of the maximum size, so the values are not sorted on
+ * every write. Other threads do not wait for it, so the cache can exceed
+ * its maximum size for a short time.
+ *
+ * @param <K> Type of the keys.
+ * @param <V> Type of the cached values.
+ * @author Daniel Klug
+ */
+public class DataCache<K, V> {
+
+	/**
+	 * The cached values.
+	 */
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * The order of the last access of a value.
+	 */
+	private final AtomicLong accesses = new AtomicLong();
+
+	/**
+	 * The lock of the thread removing the least recently used values.
+	 */
+	private final ReentrantLock eviction = new ReentrantLock();
+
+	/**
+	 * The maximum number of cached values.
+	 */
+	private final int maximumSize;
+
+	/**
+	 * The time to live of every value in nanoseconds.
+	 */
+	private final long timeToLive;
+
+	/**
+	 * The source of the current time in nanoseconds.
+	 */
+	private final LongSupplier clock;
+
+	/**
+	 * Construct a {@code DataCache}.
+	 *
+	 * @param maximumSize The maximum number of cached values.
+	 * @param timeToLive  The time after which a value expires.
+	 */
+	public DataCache(int maximumSize, @NotNull Duration timeToLive) {
+		this(maximumSize, timeToLive, System::nanoTime);
+	}
+
+	/**
+	 * Construct a {@code DataCache} with a custom clock.
+	 *
+	 * @param maximumSize The maximum number of cached values.
+	 * @param timeToLive  The time after which a value expires.
+	 * @param clock       The source of the current time in nanoseconds.
+	 */
+	DataCache(int maximumSize, @NotNull Duration timeToLive, @NotNull LongSupplier clock) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("The maximum size of a cache has to be positive");
+		}
+		this.maximumSize = maximumSize;
+		this.timeToLive = timeToLive.toNanos();
+		this.clock = clock;
+	}
+
+	/**
+	 * Get the value of the key, if it is cached and not expired.
+	 *
+	 * @param key The key of the value.
+	 * @return The cached value or null.
+	 */
+	public V get(@NotNull K key) {
+		Entry<V> entry = this.entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (this.clock.getAsLong() - entry.created >= this.timeToLive) {
+			this.entries.remove(key, entry);
+			return null;
+		}
+		entry.accessed = this.accesses.incrementAndGet();
+		return entry.value;
+	}
+
+	/**
+	 * Cache the value of the key. If the cache is full afterwards, the least
+	 * recently used values are removed.
+	 *
+	 * @param key   The key of the value.
+	 * @param value The value.
+	 */
+	public void put(@NotNull K key, @NotNull V value) {
+		this.entries.put(key, new Entry<>(value, this.clock.getAsLong(), this.accesses.incrementAndGet()));
+		if (this.entries.size() > this.maximumSize && this.eviction.tryLock()) {
+			try {
+				this.evict();
+			} finally {
+				this.eviction.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Remove the value of the key.
+	 *
+	 * @param key The key of the value.
+	 */
+	public void remove(@NotNull K key) {
+		this.entries.remove(key);
+	}
+
+	/**
+	 * Remove all values.
+	 */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * Get the number of cached values, including expired values that were
+	 * not read yet.
+	 *
+	 * @return The number of cached values.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Remove the least recently used values, until the cache is filled to
+	 * nine tenths of its maximum size.
+	 */
+	private void evict() {
+		int excess = this.entries.size() - this.maximumSize + this.maximumSize / 10;
+		if (excess <= 0) {
+			return;
+		}
+		// The order of the accesses is copied, because it changes while the values are sorted.
+		List<Access<K, V>> eldest = new ArrayList<>(this.entries.size());
+		this.entries.forEach((key, entry) -> eldest.add(new Access<>(key, entry, entry.accessed)));
+		eldest.sort(Comparator.comparingLong(Access::accessed));
+		for (Access<K, V> access : eldest.subList(0, Math.min(excess, eldest.size()))) {
+			this.entries.remove(access.key(), access.entry());
+		}
+	}
+
+	/**
+	 * A cached value, the time it was cached and the order of its last
+	 * access.
+	 */
+	private static class Entry<V> {
+
+		private final V value;
+
+		/**
+		 * The time in nanoseconds.
+		 */
+		private final long created;
+
+		private volatile long accessed;
+
+		private Entry(V value, long created, long accessed) {
+			this.value = value;
+			this.created = created;
+			this.accessed = accessed;
+		}
+	}
+
+	/**
+	 * The order of the last access of a cached value at the time the least
+	 * recently used values are removed.
+	 */
+	private record Access<K, V>(K key, Entry<V> entry, long accessed) {
+	}
+}
@@ -0,0 +1,197 @@
+package eu.nerdfactor.restness.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Converts a {@link ScrollPosition} into an opaque cursor that can be handed
+ * to clients and back. Keyset positions keep the type of every key, so the
+ * position can be used in a query again after it was decoded.
+ * <p>
+ * Supported key types are strings, numbers, booleans, characters, UUIDs and
+ * the java.time types for dates and times.
+ *
+ * @author Daniel Klug
+ */
+public final class DataCursor {
+
+	/**
+	 * Prefix of an encoded keyset position that scrolls forward.
+	 */
+	private static final String KEYSET_FORWARD = "kf";
+
+	/**
+	 * Prefix of an encoded keyset position that scrolls backward.
+	 */
+	private static final String KEYSET_BACKWARD = "kb";
+
+	/**
+	 * Prefix of an encoded offset position.
+	 */
+	private static final String OFFSET = "o";
+
+	private DataCursor() {
+	}
+
+	/**
+	 * Encode a {@link ScrollPosition} into a cursor.
+	 *
+	 * @param position The {@link ScrollPosition} to encode.
+	 * @return The cursor for the position.
+	 */
+	public static @NotNull String encode(@NotNull ScrollPosition position) {
+		StringBuilder cursor = new StringBuilder();
+		if (position instanceof OffsetScrollPosition offset) {
+			cursor.append(OFFSET).append(':').append(offset.isInitial() ? "" : offset.getOffset());
+		} else if (position instanceof KeysetScrollPosition keyset) {
+			cursor.append(keyset.scrollsForward() ? KEYSET_FORWARD : KEYSET_BACKWARD).append(':');
+			boolean first = true;
+			for (Map.Entry<String, Object> key : keyset.getKeys().entrySet()) {
+				if (!first) {
+					cursor.append('&');
+				}
+				ValueType type = ValueType.of(key.getValue());
+				cursor.append(urlEncode(key.getKey())).append('=').append(type.code);
+				if (key.getValue() != null) {
+					cursor.append(urlEncode(key.getValue().toString()));
+				}
+				first = false;
+			}
+		} else {
+			throw new IllegalArgumentException("Unsupported scroll position " + position.getClass().getName());
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode a cursor into a {@link ScrollPosition}. An empty cursor will be
+	 * decoded into the initial keyset position.
+	 *
+	 * @param cursor The cursor to decode.
+	 * @return The {@link ScrollPosition} of the cursor.
+	 * @throws IllegalArgumentException If the cursor is malformed.
+	 */
+	public static @NotNull ScrollPosition decode(@Nullable String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return ScrollPosition.keyset();
+		}
+		String decoded;
+		try {
+			decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Malformed cursor " + cursor, e);
+		}
+		int separator = decoded.indexOf(':');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Malformed cursor " + cursor);
+		}
+		String kind = decoded.substring(0, separator);
+		String value = decoded.substring(separator + 1);
+		try {
+			if (kind.equals(OFFSET)) {
+				return value.isEmpty() ? ScrollPosition.offset() : ScrollPosition.offset(Long.parseLong(value));
+			}
+			if (kind.equals(KEYSET_FORWARD) || kind.equals(KEYSET_BACKWARD)) {
+				Map<String, Object> keys = new LinkedHashMap<>();
+				for (String pair : value.isEmpty() ? new String[0] : value.split("&")) {
+					int assignment = pair.indexOf('=');
+					if (assignment <= 0 || assignment == pair.length() - 1) {
+						throw new IllegalArgumentException("Malformed cursor " + cursor);
+					}
+					ValueType type = ValueType.of(pair.charAt(assignment + 1));
+					String raw = urlDecode(pair.substring(assignment + 2));
+					keys.put(urlDecode(pair.substring(0, assignment)), type == ValueType.NULL ? null : type.parser.apply(raw));
+				}
+				return kind.equals(KEYSET_FORWARD) ? ScrollPosition.forward(keys) : ScrollPosition.backward(keys);
+			}
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Malformed cursor " + cursor, e);
+		}
+		throw new IllegalArgumentException("Malformed cursor " + cursor);
+	}
+
+	private static String urlEncode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	private static String urlDecode(String value) {
+		return URLDecoder.decode(value, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The types of keys that can be contained in a cursor.
+	 */
+	private enum ValueType {
+		NULL('0', Void.class, value -> null),
+		STRING('s', String.class, value -> value),
+		CHARACTER('c', Character.class, value -> {
+			if (value.length() != 1) {
+				throw new IllegalArgumentException("Not a character " + value);
+			}
+			return value.charAt(0);
+		}),
+		BOOLEAN('z', Boolean.class, Boolean::valueOf),
+		BYTE('b', Byte.class, Byte::valueOf),
+		SHORT('h', Short.class, Short::valueOf),
+		INTEGER('i', Integer.class, Integer::valueOf),
+		LONG('l', Long.class, Long::valueOf),
+		FLOAT('f', Float.class, Float::valueOf),
+		DOUBLE('d', Double.class, Double::valueOf),
+		BIG_DECIMAL('n', BigDecimal.class, BigDecimal::new),
+		BIG_INTEGER('g', BigInteger.class, BigInteger::new),
+		UUID('u', java.util.UUID.class, java.util.UUID::fromString),
+		LOCAL_DATE('D', LocalDate.class, LocalDate::parse),
+		LOCAL_TIME('T', LocalTime.class, LocalTime::parse),
+		LOCAL_DATE_TIME('L', LocalDateTime.class, LocalDateTime::parse),
+		OFFSET_DATE_TIME('O', OffsetDateTime.class, OffsetDateTime::parse),
+		ZONED_DATE_TIME('Z', ZonedDateTime.class, ZonedDateTime::parse),
+		INSTANT('I', Instant.class, Instant::parse);
+
+		private final char code;
+
+		private final Class<?> type;
+
+		private final Function<String, Object> parser;
+
+		ValueType(char code, Class<?> type, Function<String, Object> parser) {
+			this.code = code;
+			this.type = type;
+			this.parser = parser;
+		}
+
+		static ValueType of(@Nullable Object value) {
+			if (value == null) {
+				return NULL;
+			}
+			for (ValueType type : values()) {
+				if (type.type.equals(value.getClass())) {
+					return type;
+				}
+			}
+			throw new IllegalArgumentException("Unsupported cursor value of type " + value.getClass().getName());
+		}
+
+		static ValueType of(char code) {
+			for (ValueType type : values()) {
+				if (type.code == code) {
+					return type;
+				}
+			}
+			throw new IllegalArgumentException("Unsupported cursor value type " + code);
+		}
+	}
+}
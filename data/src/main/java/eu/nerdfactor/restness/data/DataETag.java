@@ -0,0 +1,77 @@
+package eu.nerdfactor.restness.data;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Creates entity tags for responses, so clients can request a resource
+ * conditionally with an If-None-Match header.
+ * <ul>
+ * <li>Tags created from the version of an entity are weak, because the
+ * serialized response may differ while the entity stays the same.</li>
+ * <li>Tags created from the serialized response are strong.</li>
+ * </ul>
+ *
+ * @author Daniel Klug
+ */
+public final class DataETag {
+
+	private DataETag() {
+	}
+
+	/**
+	 * Create a weak entity tag from the version of an entity.
+	 *
+	 * @param version The version of the entity.
+	 * @return The entity tag for the version.
+	 */
+	public static @NotNull String fromVersion(@NotNull Object version) {
+		return "W/\"" + version + "\"";
+	}
+
+	/**
+	 * Create a strong entity tag from a hash of the serialized content.
+	 *
+	 * @param objectMapper The {@link ObjectMapper} used to serialize the
+	 *                     content.
+	 * @param content      The content of the response.
+	 * @return The entity tag for the content.
+	 * @throws IllegalArgumentException If the content can not be serialized.
+	 */
+	public static @NotNull String fromContent(@NotNull ObjectMapper objectMapper, @Nullable Object content) {
+		try {
+			return "\"0" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(content)) + "\"";
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Could not serialize content for entity tag", e);
+		}
+	}
+
+	/**
+	 * Check if the entity tag matches one of the tags of an If-None-Match
+	 * header. Tags are compared weakly, as required for GET requests.
+	 *
+	 * @param ifNoneMatch The value of the If-None-Match header.
+	 * @param eTag        The entity tag of the current resource.
+	 * @return True if the client already has the current resource.
+	 */
+	public static boolean matches(@Nullable String ifNoneMatch, @NotNull String eTag) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+			return false;
+		}
+		String opaque = opaque(eTag);
+		for (String tag : ifNoneMatch.split(",")) {
+			String trimmed = tag.trim();
+			if (trimmed.equals("*") || opaque(trimmed).equals(opaque)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String opaque(String eTag) {
+		return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+	}
+}
@@ -0,0 +1,260 @@
+package eu.nerdfactor.restness.data;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable, parsed filter string. All terms of the filter have to match.
+ * The values are kept as strings and converted into the java type of their
+ * attribute, when the filter is applied to an entity. Filter Strings should
+ * look like:
+ * <li>{@code name:value} for equal values.</li>
+ * <li>{@code name>value}, {@code name>=value}, {@code name<value} and
+ * {@code name<=value} for comparisons.</li>
+ * <li>{@code name~value} for strings starting with the value.</li>
+ * <li>{@code name:(value1,value2)} for one of the values.</li>
+ * Multiple terms are separated by semicolons, like
+ * {@code name1:value1;name2>value2}. Attributes of singular relations can be
+ * accessed with dots, like {@code customer.name:value}.
+ *
+ * @author Daniel Klug
+ */
+public final class DataFilter {
+
+	/**
+	 * The pattern of a single term. The first operator after the attribute
+	 * separates it from the value, so values can contain operators.
+	 */
+	private static final Pattern TERM = Pattern.compile("([A-Za-z_$][\\w$]*(?:\\.[A-Za-z_$][\\w$]*)*)(>=|<=|:|>|<|~)(.*)", Pattern.DOTALL);
+
+	/**
+	 * The terms of the filter.
+	 */
+	private final List<Term> terms;
+
+	private DataFilter(List<Term> terms) {
+		this.terms = List.copyOf(terms);
+	}
+
+	/**
+	 * Parse a filter string.
+	 *
+	 * @param filter The filter string.
+	 * @return A new {@link DataFilter}.
+	 * @throws IllegalArgumentException If the filter is malformed.
+	 */
+	public static @NotNull DataFilter parse(String filter) {
+		if (filter == null || filter.isBlank()) {
+			return new DataFilter(List.of());
+		}
+		return new DataFilter(Arrays.stream(filter.split(";", -1)).map(DataFilter::parseTerm).toList());
+	}
+
+	private static Term parseTerm(String term) {
+		Matcher matcher = TERM.matcher(term);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Filter term '" + term + "' has to look like name:value");
+		}
+		Operator operator = Operator.of(matcher.group(2));
+		String value = matcher.group(3);
+		List<String> values;
+		if (operator == Operator.EQUAL && value.length() > 1 && value.startsWith("(") && value.endsWith(")")) {
+			operator = Operator.IN;
+			values = List.of(value.substring(1, value.length() - 1).split(",", -1));
+		} else {
+			values = List.of(value);
+		}
+		if (values.stream().anyMatch(String::isEmpty)) {
+			throw new IllegalArgumentException("Filter term '" + term + "' is missing a value");
+		}
+		return new Term(matcher.group(1), operator, values);
+	}
+
+	/**
+	 * @return The terms of the filter.
+	 */
+	public List<Term> getTerms() {
+		return this.terms;
+	}
+
+	/**
+	 * Create a {@link Specification} that matches all terms of the filter.
+	 * Without any terms, all entities are matched.
+	 *
+	 * @param <T> The type of the filtered entity.
+	 * @return A new {@link Specification}.
+	 */
+	public <T> Specification<T> toSpecification() {
+		if (this.terms.isEmpty()) {
+			return Specification.where(null);
+		}
+		return (root, query, cb) -> cb.and(this.terms.stream()
+				.map(term -> term.toPredicate(root, cb))
+				.toArray(Predicate[]::new));
+	}
+
+	/**
+	 * Get the filter string with sorted terms, because all terms have to
+	 * match regardless of their order.
+	 *
+	 * @return The normalized filter string.
+	 */
+	@Override
+	public String toString() {
+		return this.terms.stream()
+				.map(Term::toString)
+				.sorted(Comparator.naturalOrder())
+				.collect(Collectors.joining(";"));
+	}
+
+	/**
+	 * Convert the value of a term into the java type of its attribute.
+	 * Values of date and time types are parsed with their {@code parse}
+	 * method, all others with a {@link DefaultConversionService}.
+	 *
+	 * @param value The value of the term.
+	 * @param type  The java type of the attribute.
+	 * @return The converted value.
+	 * @throws IllegalArgumentException If the value can not be converted.
+	 */
+	static Object convert(String value, Class<?> type) {
+		Class<?> target = ClassUtils.resolvePrimitiveIfNecessary(type);
+		try {
+			if (TemporalAccessor.class.isAssignableFrom(target)) {
+				Method parse = target.getMethod("parse", CharSequence.class);
+				if (Modifier.isStatic(parse.getModifiers())) {
+					return parse.invoke(null, value);
+				}
+			}
+			Object converted = DefaultConversionService.getSharedInstance().convert(value, target);
+			if (converted != null) {
+				return converted;
+			}
+		} catch (ReflectiveOperationException | ConversionException e) {
+			throw new IllegalArgumentException("Filter value '" + value + "' is not a valid " + target.getSimpleName(), e);
+		}
+		throw new IllegalArgumentException("Filter value '" + value + "' is not a valid " + target.getSimpleName());
+	}
+
+	/**
+	 * A single term of a filter.
+	 *
+	 * @param attribute The path of the attribute.
+	 * @param operator  The operator of the term.
+	 * @param values    The values of the term. Only {@link Operator#IN} has
+	 *                  multiple values.
+	 */
+	public record Term(String attribute, Operator operator, List<String> values) {
+
+		public Term {
+			values = List.copyOf(values);
+		}
+
+		/**
+		 * Create a predicate for the term.
+		 *
+		 * @param root The root of the query.
+		 * @param cb   The {@link CriteriaBuilder} of the query.
+		 * @return A new {@link Predicate}.
+		 * @throws IllegalArgumentException If the attribute does not exist or
+		 *                                  the values can not be converted.
+		 */
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		public Predicate toPredicate(@NotNull Root<?> root, @NotNull CriteriaBuilder cb) {
+			Path<?> path = root;
+			for (String attribute : this.attribute.split("\\.")) {
+				path = path.get(attribute);
+			}
+			Class<?> type = path.getJavaType();
+			Object value = convert(this.values.get(0), type);
+			return switch (this.operator) {
+				case EQUAL -> cb.equal(path, value);
+				case IN -> path.in(this.values.stream().map(item -> convert(item, type)).toList());
+				case STARTS_WITH -> {
+					if (type != String.class) {
+						throw new IllegalArgumentException("Filter attribute " + this.attribute + " is not a string");
+					}
+					yield cb.like(path.as(String.class), escape((String) value) + "%", '\\');
+				}
+				default -> {
+					if (!(value instanceof Comparable)) {
+						throw new IllegalArgumentException("Filter attribute " + this.attribute + " can not be compared");
+					}
+					Expression<Comparable> expression = (Expression) path;
+					Comparable comparable = (Comparable) value;
+					yield switch (this.operator) {
+						case GREATER -> cb.greaterThan(expression, comparable);
+						case GREATER_OR_EQUAL -> cb.greaterThanOrEqualTo(expression, comparable);
+						case LESS -> cb.lessThan(expression, comparable);
+						default -> cb.lessThanOrEqualTo(expression, comparable);
+					};
+				}
+			};
+		}
+
+		@Override
+		public String toString() {
+			if (this.operator == Operator.IN) {
+				return this.attribute + ":(" + String.join(",", this.values) + ")";
+			}
+			return this.attribute + this.operator.getSymbol() + this.values.get(0);
+		}
+
+		private static String escape(String value) {
+			return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+		}
+	}
+
+	/**
+	 * The operators of filter terms.
+	 */
+	public enum Operator {
+		EQUAL(":"),
+		IN(":"),
+		GREATER(">"),
+		GREATER_OR_EQUAL(">="),
+		LESS("<"),
+		LESS_OR_EQUAL("<="),
+		STARTS_WITH("~");
+
+		private final String symbol;
+
+		Operator(String symbol) {
+			this.symbol = symbol;
+		}
+
+		/**
+		 * @return The symbol of the operator in a filter string.
+		 */
+		public String getSymbol() {
+			return this.symbol;
+		}
+
+		private static Operator of(String symbol) {
+			for (Operator operator : values()) {
+				if (operator.symbol.equals(symbol)) {
+					return operator;
+				}
+			}
+			throw new IllegalArgumentException("Unknown filter operator " + symbol);
+		}
+	}
+}
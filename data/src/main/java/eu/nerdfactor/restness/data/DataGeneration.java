@@ -0,0 +1,70 @@
+package eu.nerdfactor.restness.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The generation of the cached data of an entity class. Every write of the
+ * entity class increments its generation, which makes all data cached in an
+ * older generation stale at once, in every cache of the entity class.
+ *
+ * @author Daniel Klug
+ */
+final class DataGeneration {
+
+	/**
+	 * The generations of all cached entity classes.
+	 */
+	private static final Map<Class<?>, DataGeneration> GENERATIONS = new ConcurrentHashMap<>();
+
+	private final AtomicLong value = new AtomicLong();
+
+	/**
+	 * The time of the last increment in nanoseconds.
+	 */
+	private volatile long incremented;
+
+	private DataGeneration() {
+	}
+
+	/**
+	 * Get the shared generation of the entity class.
+	 *
+	 * @param entityClass The class of the cached entities.
+	 * @return The generation of the entity class.
+	 */
+	static DataGeneration of(@NotNull Class<?> entityClass) {
+		return GENERATIONS.computeIfAbsent(entityClass, cls -> new DataGeneration());
+	}
+
+	/**
+	 * Get the current value of the generation.
+	 *
+	 * @return The current value.
+	 */
+	long get() {
+		return this.value.get();
+	}
+
+	/**
+	 * Get the time of the last increment.
+	 *
+	 * @return The time in nanoseconds.
+	 */
+	long getIncremented() {
+		return this.incremented;
+	}
+
+	/**
+	 * Increment the generation, so all data cached before is stale.
+	 *
+	 * @param now The current time in nanoseconds.
+	 */
+	void increment(long now) {
+		this.incremented = now;
+		this.value.incrementAndGet();
+	}
+}
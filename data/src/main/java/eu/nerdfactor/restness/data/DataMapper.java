@@ -1,5 +1,9 @@
 package eu.nerdfactor.restness.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Generic way to convert between entity and dto. ModelMapper, Orika and Dozer
  * don't implement DataMapper but the signature for map() matches and can be
@@ -18,4 +22,45 @@ public interface DataMapper {
 	 * @return The converted object.
 	 */
 	<T> T map(Object obj, Class<T> cls);
-}
\ No newline at end of file
+
+	/**
+	 * Convert a collection of objects between entity and dto. The default
+	 * implementation calls {@link #map(Object, Class)} for every object.
+	 * Implementations can override this in order to resolve the mapping only
+	 * once for all objects. Entities should not be mapped in parallel, because
+	 * their lazy relations are loaded by the persistence context of the
+	 * calling thread, which is not thread-safe.
+	 *
+	 * @param objs The original objects.
+	 * @param cls  The class of the converted objects.
+	 * @param <T>  The type of the dto.
+	 * @return A list of converted objects in the same order.
+	 */
+	default <T> List<T> mapAll(Collection<?> objs, Class<T> cls) {
+		List<T> mapped = new ArrayList<>(objs.size());
+		for (Object obj : objs) {
+			mapped.add(this.map(obj, cls));
+		}
+		return mapped;
+	}
+
+	/**
+	 * Convert an iterable of objects between entity and dto. Collections will
+	 * be passed on to {@link #mapAll(Collection, Class)}.
+	 *
+	 * @param objs The original objects.
+	 * @param cls  The class of the converted objects.
+	 * @param <T>  The type of the dto.
+	 * @return A list of converted objects in the same order.
+	 */
+	default <T> List<T> mapAll(Iterable<?> objs, Class<T> cls) {
+		if (objs instanceof Collection<?> collection) {
+			return this.mapAll(collection, cls);
+		}
+		List<T> mapped = new ArrayList<>();
+		for (Object obj : objs) {
+			mapped.add(this.map(obj, cls));
+		}
+		return mapped;
+	}
+}
@@ -0,0 +1,82 @@
+package eu.nerdfactor.restness.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Common lookups in the metamodel of the persistence unit, that are used to
+ * query entities by their id without loading them.
+ * <p>
+ * The metamodel is only accessed when a lookup is called, so classes using
+ * these lookups can be created before the persistence unit is ready.
+ *
+ * @author Daniel Klug
+ */
+public final class DataMetamodel {
+
+	private DataMetamodel() {
+	}
+
+	/**
+	 * Get the name of the single id attribute of an entity.
+	 *
+	 * @param type The {@link ManagedType} of the entity.
+	 * @return The name of the id attribute.
+	 * @throws IllegalStateException If the entity has no single id attribute.
+	 */
+	public static @NotNull String getIdAttribute(@NotNull ManagedType<?> type) {
+		for (SingularAttribute<?, ?> attribute : type.getSingularAttributes()) {
+			if (attribute.isId()) {
+				return attribute.getName();
+			}
+		}
+		throw new IllegalStateException("Entity " + type.getJavaType().getName() + " has no single id attribute");
+	}
+
+	/**
+	 * Get the name of the single id attribute of an entity class.
+	 *
+	 * @param entityManager The {@link EntityManager} of the persistence unit.
+	 * @param entityClass   The class of the entity.
+	 * @return The name of the id attribute.
+	 * @throws IllegalStateException If the entity has no single id attribute.
+	 */
+	public static @NotNull String getIdAttribute(@NotNull EntityManager entityManager, @NotNull Class<?> entityClass) {
+		return getIdAttribute(entityManager.getMetamodel().entity(entityClass));
+	}
+
+	/**
+	 * Check if the entity with the id exists with a count query, without
+	 * loading the entity.
+	 *
+	 * @param entityManager The {@link EntityManager} used for the query.
+	 * @param entityClass   The class of the entity.
+	 * @param idAttribute   The name of the id attribute of the entity.
+	 * @param id            The id of the entity.
+	 * @return True if the entity exists.
+	 */
+	public static boolean exists(@NotNull EntityManager entityManager, @NotNull Class<?> entityClass, @NotNull String idAttribute, @NotNull Object id) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		Root<?> root = query.from(entityClass);
+		query.select(builder.count(root)).where(builder.equal(root.get(idAttribute), id));
+		return entityManager.createQuery(query).getSingleResult() > 0;
+	}
+
+	/**
+	 * Create the exception for an entity that does not exist.
+	 *
+	 * @param entityClass The class of the entity.
+	 * @param id          The id of the entity.
+	 * @return A new {@link EntityNotFoundException}.
+	 */
+	public static @NotNull EntityNotFoundException notFound(@NotNull Class<?> entityClass, Object id) {
+		return new EntityNotFoundException("Could not find " + entityClass.getName() + " with id " + id);
+	}
+}
@@ -0,0 +1,150 @@
+package eu.nerdfactor.restness.data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A single operation of an operations request, that is dispatched to one of
+ * the generated endpoints of a controller. The id, related id and content are
+ * kept as parsed json values and converted by the controller into the types
+ * of the endpoint.
+ * <li>{@code {"op": "create", "content": {...}}}</li>
+ * <li>{@code {"op": "update", "id": 1, "content": {...}}}</li>
+ * <li>{@code {"op": "delete", "id": 1}}</li>
+ * <li>{@code {"op": "addRelation", "id": 1, "relation": "products", "relatedId": 2}}</li>
+ *
+ * @author Daniel Klug
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DataOperation {
+
+	/**
+	 * The kind of operation.
+	 */
+	protected final Type op;
+
+	/**
+	 * The id of the entity.
+	 */
+	protected final Object id;
+
+	/**
+	 * The name of the relation for relation operations.
+	 */
+	protected final String relation;
+
+	/**
+	 * The id of the related entity for relation operations.
+	 */
+	protected final Object relatedId;
+
+	/**
+	 * The request object of the operation.
+	 */
+	protected final Object content;
+
+	/**
+	 * Construct a {@code DataOperation}.
+	 *
+	 * @param op        The kind of operation.
+	 * @param id        The id of the entity.
+	 * @param relation  The name of the relation for relation operations.
+	 * @param relatedId The id of the related entity for relation operations.
+	 * @param content   The request object of the operation.
+	 */
+	@JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+	public DataOperation(@JsonProperty("op") @NotNull Type op,
+	                     @JsonProperty("id") Object id,
+	                     @JsonProperty("relation") String relation,
+	                     @JsonProperty("relatedId") Object relatedId,
+	                     @JsonProperty("content") Object content) {
+		this.op = Objects.requireNonNull(op, "The op of an operation is required");
+		this.id = id;
+		this.relation = relation;
+		this.relatedId = relatedId;
+		this.content = content;
+	}
+
+	/**
+	 * @return The kind of operation.
+	 */
+	public Type getOp() {
+		return this.op;
+	}
+
+	/**
+	 * @return The id of the entity.
+	 */
+	public Object getId() {
+		return this.id;
+	}
+
+	/**
+	 * @return The name of the relation for relation operations.
+	 */
+	public String getRelation() {
+		return this.relation;
+	}
+
+	/**
+	 * @return The id of the related entity for relation operations.
+	 */
+	public Object getRelatedId() {
+		return this.relatedId;
+	}
+
+	/**
+	 * @return The request object of the operation.
+	 */
+	public Object getContent() {
+		return this.content;
+	}
+
+	/**
+	 * The kinds of operations and the endpoints they are dispatched to.
+	 */
+	public enum Type {
+
+		/**
+		 * Create an entity from the content (POST).
+		 */
+		@JsonProperty("create")
+		CREATE,
+
+		/**
+		 * Merge the content into the entity with the id (PATCH).
+		 */
+		@JsonProperty("update")
+		UPDATE,
+
+		/**
+		 * Replace the entity with the id by the content (PUT).
+		 */
+		@JsonProperty("set")
+		SET,
+
+		/**
+		 * Delete the entity with the id (DELETE).
+		 */
+		@JsonProperty("delete")
+		DELETE,
+
+		/**
+		 * Add the related entity with the related id to a multiple relation
+		 * or set the content as single relation.
+		 */
+		@JsonProperty("addRelation")
+		ADD_RELATION,
+
+		/**
+		 * Remove the related entity with the related id from a multiple
+		 * relation or remove a single relation.
+		 */
+		@JsonProperty("removeRelation")
+		REMOVE_RELATION
+	}
+}
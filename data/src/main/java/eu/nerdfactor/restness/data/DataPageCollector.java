@@ -0,0 +1,135 @@
+package eu.nerdfactor.restness.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.BeansException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Collects a {@link Page} from an {@link Iterable} of data that can not be
+ * paged by the repository itself. The data is iterated only once and only the
+ * elements up to the end of the requested page are kept in memory. All
+ * further elements are only counted.
+ * <ul>
+ * <li>Without a sort, only the elements inside the page are kept.</li>
+ * <li>With a sort, the smallest {@code offset + size} elements are kept in a
+ * bounded heap. Properties that can not be read or compared are ignored.</li>
+ * </ul>
+ *
+ * @author Daniel Klug
+ */
+public final class DataPageCollector {
+
+	private DataPageCollector() {
+	}
+
+	/**
+	 * Collect the {@link Page} described by the {@link Pageable} from the
+	 * data.
+	 *
+	 * @param data The data to page.
+	 * @param page The {@link Pageable} for paging and sorting.
+	 * @param <T>  Type of the data.
+	 * @return A page of the data.
+	 */
+	public static <T> @NotNull Page<T> collect(@NotNull Iterable<T> data, @NotNull Pageable page) {
+		Comparator<T> comparator = comparing(page.getSort());
+		if (page.isUnpaged()) {
+			List<T> content = new ArrayList<>();
+			data.forEach(content::add);
+			if (comparator != null) {
+				content.sort(comparator);
+			}
+			return new DataPage<>(content, page, content.size());
+		}
+		long offset = page.getOffset();
+		long end = offset + page.getPageSize();
+		long total = 0;
+		List<T> content = new ArrayList<>(page.getPageSize());
+		if (comparator == null) {
+			for (T element : data) {
+				if (total >= offset && total < end) {
+					content.add(element);
+				}
+				total++;
+			}
+			return new DataPage<>(content, page, total);
+		}
+		if (end > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Page " + page + " is too large to be sorted in memory");
+		}
+		// Keep the smallest elements in a max-heap. The position is used to
+		// keep the order of equal elements stable.
+		Comparator<Ranked<T>> ranking = Comparator.<Ranked<T>, T>comparing(Ranked::element, comparator).thenComparingLong(Ranked::position);
+		PriorityQueue<Ranked<T>> heap = new PriorityQueue<>((int) end + 1, ranking.reversed());
+		for (T element : data) {
+			heap.add(new Ranked<>(element, total++));
+			if (heap.size() > end) {
+				heap.poll();
+			}
+		}
+		List<Ranked<T>> ranked = new ArrayList<>(heap);
+		ranked.sort(ranking);
+		for (int i = (int) offset; i < ranked.size(); i++) {
+			content.add(ranked.get(i).element());
+		}
+		return new DataPage<>(content, page, total);
+	}
+
+	/**
+	 * Create a {@link Comparator} for the {@link Sort}.
+	 *
+	 * @param sort The {@link Sort} to compare by.
+	 * @param <T>  Type of the compared data.
+	 * @return A {@link Comparator} or null if the data is not sorted.
+	 */
+	private static <T> Comparator<T> comparing(@NotNull Sort sort) {
+		Comparator<T> comparator = null;
+		for (Sort.Order order : sort) {
+			Comparator<T> next = (a, b) -> compare(order, a, b);
+			comparator = comparator == null ? next : comparator.thenComparing(next);
+		}
+		return comparator;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static int compare(@NotNull Sort.Order order, Object a, Object b) {
+		Object first;
+		Object second;
+		try {
+			first = new DirectFieldAccessFallbackBeanWrapper(a).getPropertyValue(order.getProperty());
+			second = new DirectFieldAccessFallbackBeanWrapper(b).getPropertyValue(order.getProperty());
+		} catch (BeansException e) {
+			return 0;
+		}
+		if (first == null || second == null) {
+			if (first == second) {
+				return 0;
+			}
+			int nulls = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST ? -1 : 1;
+			return first == null ? nulls : -nulls;
+		}
+		int result;
+		if (order.isIgnoreCase() && first instanceof String firstString && second instanceof String secondString) {
+			result = firstString.compareToIgnoreCase(secondString);
+		} else if (first instanceof Comparable comparable && first.getClass().isInstance(second)) {
+			result = comparable.compareTo(second);
+		} else {
+			return 0;
+		}
+		return order.isAscending() ? result : -result;
+	}
+
+	/**
+	 * An element together with its position in the iterated data.
+	 */
+	private record Ranked<T>(T element, long position) {
+	}
+}
@@ -0,0 +1,151 @@
+package eu.nerdfactor.restness.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Updates single attributes of an entity directly with one
+ * {@code UPDATE ... SET ... WHERE id = ?} statement, without loading the
+ * entity. Only the attributes of the whitelist can be patched, which should
+ * only contain basic attributes. Relations have to be changed on the loaded
+ * entity.
+ * <p>
+ * If the entity has a numeric version, the version is incremented by the
+ * same statement. Lifecycle callbacks and entity listeners of the entity are
+ * not applied.
+ *
+ * @param <E> Type of the entity.
+ * @author Daniel Klug
+ */
+public class DataPatch<E> {
+
+	private final EntityManager entityManager;
+
+	private final Class<E> entityClass;
+
+	/**
+	 * The names of the attributes that can be patched.
+	 */
+	private final Set<String> attributes;
+
+	/**
+	 * The name of the id attribute of the entity.
+	 */
+	private volatile String idAttribute;
+
+	/**
+	 * The name of the numeric version attribute of the entity or an empty
+	 * string, if the entity has no numeric version.
+	 */
+	private volatile String versionAttribute;
+
+	/**
+	 * Construct a {@code DataPatch}.
+	 *
+	 * @param entityManager The {@link EntityManager} used for updates.
+	 * @param entityClass   The class of the entity.
+	 * @param attributes    The names of the attributes that can be patched.
+	 */
+	public DataPatch(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Collection<String> attributes) {
+		this.entityManager = entityManager;
+		this.entityClass = entityClass;
+		this.attributes = Set.copyOf(attributes);
+	}
+
+	/**
+	 * Check if all provided attributes can be patched.
+	 *
+	 * @param attributes The names of the attributes.
+	 * @return True if every attribute is in the whitelist.
+	 */
+	public boolean isPatchable(@NotNull Collection<String> attributes) {
+		return this.attributes.containsAll(attributes);
+	}
+
+	/**
+	 * Set the provided values of the entity with the id in a single
+	 * statement. Without any values and version, only the existence of the
+	 * entity is checked. If the entity is loaded in the persistence context,
+	 * it is refreshed afterwards.
+	 *
+	 * @param id      The id of the entity.
+	 * @param changes The new values by the names of their attributes.
+	 * @throws EntityNotFoundException  If the entity does not exist.
+	 * @throws IllegalArgumentException If an attribute can not be patched.
+	 */
+	public void patch(@NotNull Object id, @NotNull Map<String, Object> changes) {
+		if (!this.isPatchable(changes.keySet())) {
+			throw new IllegalArgumentException("Only " + this.attributes + " of " + this.entityClass.getName() + " can be patched");
+		}
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		String version = this.getVersionAttribute();
+		if (changes.isEmpty() && version.isEmpty()) {
+			if (!DataMetamodel.exists(this.entityManager, this.entityClass, this.getIdAttribute(), id)) {
+				throw DataMetamodel.notFound(this.entityClass, id);
+			}
+			return;
+		}
+		CriteriaUpdate<E> update = builder.createCriteriaUpdate(this.entityClass);
+		Root<E> root = update.from(this.entityClass);
+		changes.forEach((attribute, value) -> {
+			Path<Object> path = root.get(attribute);
+			if (value == null) {
+				update.<Object>set(path, builder.nullLiteral(path.getJavaType()));
+			} else {
+				update.set(path, value);
+			}
+		});
+		if (!version.isEmpty()) {
+			Path<Number> path = root.get(version);
+			update.set(path, builder.sum(path, 1));
+		}
+		update.where(builder.equal(root.get(this.getIdAttribute()), id));
+		if (this.entityManager.createQuery(update).executeUpdate() == 0) {
+			throw DataMetamodel.notFound(this.entityClass, id);
+		}
+		// The statement bypasses the persistence context, so a loaded entity has to be refreshed.
+		E reference = this.entityManager.getReference(this.entityClass, id);
+		if (this.entityManager.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(reference)) {
+			this.entityManager.refresh(reference);
+		}
+	}
+
+	private String getIdAttribute() {
+		if (this.idAttribute == null) {
+			this.resolveAttributes();
+		}
+		return this.idAttribute;
+	}
+
+	private String getVersionAttribute() {
+		if (this.versionAttribute == null) {
+			this.resolveAttributes();
+		}
+		return this.versionAttribute;
+	}
+
+	private void resolveAttributes() {
+		EntityType<E> type = this.entityManager.getMetamodel().entity(this.entityClass);
+		String id = DataMetamodel.getIdAttribute(type);
+		String version = "";
+		for (SingularAttribute<? super E, ?> attribute : type.getSingularAttributes()) {
+			if (attribute.isVersion() && Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType()))) {
+				version = attribute.getName();
+			}
+		}
+		this.versionAttribute = version;
+		this.idAttribute = id;
+	}
+}
@@ -0,0 +1,267 @@
+package eu.nerdfactor.restness.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Reads entities directly into a projection, without loading managed
+ * entities into the persistence context. Only the basic attributes of the
+ * entity that are also present in the projection are selected.
+ * <ul>
+ * <li>Class projections need a public constructor without parameters and
+ * public setters for the selected attributes.</li>
+ * <li>Interface projections need getters for the selected attributes.</li>
+ * </ul>
+ * Relations and attributes that can not be found in the projection are not
+ * selected and will not be set.
+ *
+ * @param <E> Type of the entity.
+ * @param <D> Type of the projection.
+ * @author Daniel Klug
+ */
+public class DataProjection<E, D> {
+
+	/**
+	 * Factory for interface projections.
+	 */
+	private static final ProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+	private final EntityManager entityManager;
+
+	private final Class<E> entityClass;
+
+	private final Class<D> projectionClass;
+
+	/**
+	 * The names of the selected attributes.
+	 */
+	private final List<String> attributes = new ArrayList<>();
+
+	/**
+	 * The setters of the selected attributes for class projections.
+	 */
+	private final List<MethodHandle> setters = new ArrayList<>();
+
+	/**
+	 * The constructor for class projections.
+	 */
+	private final MethodHandle constructor;
+
+	/**
+	 * Construct a {@code DataProjection} and resolve the selected attributes.
+	 *
+	 * @param entityManager   The {@link EntityManager} used for queries.
+	 * @param entityClass     The class of the entity.
+	 * @param projectionClass The class of the projection.
+	 * @throws IllegalArgumentException If the projection can not be
+	 *                                  created.
+	 */
+	public DataProjection(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Class<D> projectionClass) {
+		this.entityManager = entityManager;
+		this.entityClass = entityClass;
+		this.projectionClass = projectionClass;
+		EntityType<E> entityType = entityManager.getMetamodel().entity(entityClass);
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			this.constructor = projectionClass.isInterface() ? null : lookup.findConstructor(projectionClass, MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class));
+			for (SingularAttribute<? super E, ?> attribute : entityType.getSingularAttributes()) {
+				if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+					continue;
+				}
+				if (projectionClass.isInterface()) {
+					if (this.findGetter(attribute.getName()) != null) {
+						this.attributes.add(attribute.getName());
+					}
+					continue;
+				}
+				Method setter = this.findSetter(attribute.getName(), attribute.getJavaType());
+				if (setter != null) {
+					this.attributes.add(attribute.getName());
+					this.setters.add(lookup.unreflect(setter).asType(MethodType.methodType(void.class, Object.class, Object.class)));
+				}
+			}
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalArgumentException("Could not create projection " + projectionClass.getName() + " for " + entityClass.getName(), e);
+		}
+		if (this.attributes.isEmpty()) {
+			throw new IllegalArgumentException("Projection " + projectionClass.getName() + " contains no attributes of " + entityClass.getName());
+		}
+	}
+
+	/**
+	 * List all entities as projections.
+	 *
+	 * @return A list of projections.
+	 */
+	public List<D> list() {
+		return this.query(null, Pageable.unpaged(), 0);
+	}
+
+	/**
+	 * Read the entity specified by the id as projection.
+	 *
+	 * @param id The id of the entity.
+	 * @return An {@link Optional} of the projection.
+	 * @throws IllegalStateException If the entity has no single id attribute.
+	 */
+	public Optional<D> read(Object id) {
+		String idAttribute = DataMetamodel.getIdAttribute(this.entityManager, this.entityClass);
+		Specification<E> spec = (root, query, builder) -> builder.equal(root.get(idAttribute), id);
+		return this.query(spec, Pageable.ofSize(1), 0).stream().findFirst();
+	}
+
+	/**
+	 * Search for entities as projections, filtered by the
+	 * {@link Specification} and restricted to a page. The total amount is
+	 * only counted, if it can not be determined from the page.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @param page The {@link Pageable} for paging.
+	 * @return A page of projections.
+	 */
+	public DataPage<D> search(Specification<E> spec, Pageable page) {
+		List<D> content = this.query(spec, page, 0);
+		if (page.isUnpaged()) {
+			return new DataPage<>(content, page, content.size());
+		}
+		if ((page.getOffset() == 0 || !content.isEmpty()) && content.size() < page.getPageSize()) {
+			return new DataPage<>(content, page, page.getOffset() + content.size());
+		}
+		return new DataPage<>(content, page, this.count(spec));
+	}
+
+	/**
+	 * Search for entities as projections, filtered by the
+	 * {@link Specification} and restricted to a {@link Slice}. One additional
+	 * row is read instead of counting all entities.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @param page The {@link Pageable} for paging.
+	 * @return A slice of projections.
+	 */
+	public DataSlice<D> slice(Specification<E> spec, Pageable page) {
+		if (page.isUnpaged()) {
+			return new DataSlice<>(this.query(spec, page, 0), page, false);
+		}
+		List<D> content = new ArrayList<>(this.query(spec, page, 1));
+		boolean hasNext = content.size() > page.getPageSize();
+		if (hasNext) {
+			content.remove(content.size() - 1);
+		}
+		return new DataSlice<>(content, page, hasNext);
+	}
+
+	/**
+	 * Count the entities filtered by the {@link Specification}.
+	 *
+	 * @param spec The {@link Specification} for filtering.
+	 * @return The amount of entities.
+	 */
+	public long count(Specification<E> spec) {
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		Root<E> root = query.from(this.entityClass);
+		Predicate predicate = spec != null ? spec.toPredicate(root, query, builder) : null;
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.select(query.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+		query.orderBy(Collections.emptyList());
+		return this.entityManager.createQuery(query).getSingleResult();
+	}
+
+	private List<D> query(Specification<E> spec, Pageable page, int additionalRows) {
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<E> root = query.from(this.entityClass);
+		List<Selection<?>> selections = new ArrayList<>(this.attributes.size());
+		for (String attribute : this.attributes) {
+			selections.add(root.get(attribute).alias(attribute));
+		}
+		query.multiselect(selections);
+		Predicate predicate = spec != null ? spec.toPredicate(root, query, builder) : null;
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		if (page.getSort().isSorted()) {
+			query.orderBy(QueryUtils.toOrders(page.getSort(), root, builder));
+		}
+		TypedQuery<Tuple> typedQuery = this.entityManager.createQuery(query);
+		if (page.isPaged()) {
+			typedQuery.setFirstResult((int) page.getOffset());
+			typedQuery.setMaxResults(page.getPageSize() + additionalRows);
+		}
+		List<Tuple> tuples = typedQuery.getResultList();
+		List<D> content = new ArrayList<>(tuples.size());
+		for (Tuple tuple : tuples) {
+			content.add(this.create(tuple));
+		}
+		return content;
+	}
+
+	@SuppressWarnings("unchecked")
+	private D create(Tuple tuple) {
+		if (this.constructor == null) {
+			Map<String, Object> values = new HashMap<>();
+			for (int i = 0; i < this.attributes.size(); i++) {
+				values.put(this.attributes.get(i), tuple.get(i));
+			}
+			return PROJECTION_FACTORY.createProjection(this.projectionClass, values);
+		}
+		try {
+			Object projection = this.constructor.invokeExact();
+			for (int i = 0; i < this.setters.size(); i++) {
+				Object value = tuple.get(i);
+				if (value != null) {
+					this.setters.get(i).invokeExact(projection, value);
+				}
+			}
+			return (D) projection;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Could not create projection " + this.projectionClass.getName(), e);
+		}
+	}
+
+	private Method findSetter(String attribute, Class<?> type) {
+		String name = "set" + attribute.substring(0, 1).toUpperCase() + attribute.substring(1);
+		for (Method method : this.projectionClass.getMethods()) {
+			if (method.getName().equals(name) && method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers())
+					&& ClassUtils.isAssignable(method.getParameterTypes()[0], type)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private Method findGetter(String attribute) {
+		String suffix = attribute.substring(0, 1).toUpperCase() + attribute.substring(1);
+		for (Method method : this.projectionClass.getMethods()) {
+			if ((method.getName().equals("get" + suffix) || method.getName().equals("is" + suffix)) && method.getParameterCount() == 0) {
+				return method;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,125 @@
+package eu.nerdfactor.restness.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A cache for the responses of single entities read by their id. The
+ * responses are the mapped dtos or detached copies of the entities, so no
+ * entity of the persistence context of a request is shared with other
+ * requests.
+ * <p>
+ * Every cached response remembers the generation of the entity class it was
+ * read in. The generations are shared with the {@link DataSearchCache}, so a
+ * write through any {@link CachingDataAccessor} of the entity makes all
+ * cached responses of the entity class stale. A response is only cached, if
+ * the generation did not change while it was read, so a slow read can not
+ * cache outdated data after a write completed. Writes that do not pass a
+ * {@link CachingDataAccessor} have to call {@link #invalidate(Class)},
+ * otherwise they are only visible after the time to live.
+ * <p>
+ * Reads inside a writing transaction are not cached, because they could
+ * contain changes that are rolled back later.
+ *
+ * @param <T> Type of the responses.
+ * @author Daniel Klug
+ */
+public class DataReadCache<T> {
+
+	/**
+	 * The cached responses by the ids of their entities.
+	 */
+	private final DataCache<Object, Entry<T>> responses;
+
+	/**
+	 * The generation of the read entity class.
+	 */
+	private final DataGeneration generation;
+
+	/**
+	 * The source of the current time in nanoseconds.
+	 */
+	private final LongSupplier clock;
+
+	/**
+	 * Construct a {@code DataReadCache}.
+	 *
+	 * @param entityClass The class of the read entities.
+	 * @param maximumSize The maximum number of cached responses.
+	 * @param timeToLive  The time after which a response expires.
+	 */
+	public DataReadCache(@NotNull Class<?> entityClass, int maximumSize, @NotNull Duration timeToLive) {
+		this(entityClass, maximumSize, timeToLive, System::nanoTime);
+	}
+
+	/**
+	 * Construct a {@code DataReadCache} with a custom clock.
+	 *
+	 * @param entityClass The class of the read entities.
+	 * @param maximumSize The maximum number of cached responses.
+	 * @param timeToLive  The time after which a response expires.
+	 * @param clock       The source of the current time in nanoseconds.
+	 */
+	DataReadCache(@NotNull Class<?> entityClass, int maximumSize, @NotNull Duration timeToLive, @NotNull LongSupplier clock) {
+		this.generation = DataGeneration.of(entityClass);
+		this.responses = new DataCache<>(maximumSize, timeToLive, clock);
+		this.clock = clock;
+	}
+
+	/**
+	 * Get the cached response of the id or read it. Inside a writing
+	 * transaction, the response is always read and not cached.
+	 *
+	 * @param id   The id of the entity.
+	 * @param read A supplier that reads and maps the entity.
+	 * @return An {@link Optional} of the cached or read response.
+	 */
+	public Optional<T> read(@NotNull Object id, @NotNull Supplier<Optional<T>> read) {
+		if (TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return read.get();
+		}
+		long generation = this.generation.get();
+		Entry<T> entry = this.responses.get(id);
+		if (entry != null && entry.generation() == generation) {
+			return Optional.of(entry.response());
+		}
+		Optional<T> response = read.get();
+		if (response.isPresent() && this.generation.get() == generation) {
+			this.responses.put(id, new Entry<>(response.get(), generation));
+		}
+		return response;
+	}
+
+	/**
+	 * Make all cached responses of the read entity class stale, in this and
+	 * every other cache of the entity class.
+	 */
+	public void invalidate() {
+		this.generation.increment(this.clock.getAsLong());
+	}
+
+	/**
+	 * Make all cached responses of the entity class stale in every cache. The
+	 * generation is shared with the {@link DataSearchCache}, so the searched
+	 * pages of the entity class become stale as well.
+	 *
+	 * @param entityClass The class of the written entities.
+	 */
+	public static void invalidate(@NotNull Class<?> entityClass) {
+		DataGeneration.of(entityClass).increment(System.nanoTime());
+	}
+
+	/**
+	 * A cached response and the generation it was read in.
+	 *
+	 * @param response   The cached response.
+	 * @param generation The generation of the entity class.
+	 */
+	private record Entry<T>(T response, long generation) {
+	}
+}
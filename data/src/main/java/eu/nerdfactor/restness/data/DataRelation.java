@@ -0,0 +1,486 @@
+package eu.nerdfactor.restness.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Queries the related entities of an entity directly, without loading the
+ * entity or initializing its relation. The related entities are selected by
+ * a join or a subquery on the relation attribute of the entity, so every
+ * kind of mapping (owning or inverse side, join table or foreign key) can be
+ * used.
+ * <p>
+ * If the join table or the mapped by attribute of the relation is
+ * configured, related entities can also be added and removed directly with
+ * plain statements, without loading the entity or its relation.
+ *
+ * @param <E> Type of the entity.
+ * @param <R> Type of the related entity.
+ * @author Daniel Klug
+ */
+public class DataRelation<E, R> {
+
+	/**
+	 * The maximum number of related entities written by a single statement.
+	 */
+	private static final int CHUNK_SIZE = 500;
+
+	private final EntityManager entityManager;
+
+	private final Class<E> entityClass;
+
+	private final Class<R> relatedClass;
+
+	private final String attribute;
+
+	/**
+	 * The name of the join table of the relation.
+	 */
+	private String joinTable;
+
+	/**
+	 * The column of the join table referencing the entity.
+	 */
+	private String joinColumn;
+
+	/**
+	 * The column of the join table referencing the related entity.
+	 */
+	private String inverseJoinColumn;
+
+	/**
+	 * The attribute of the related entity, that owns the relation.
+	 */
+	private String mappedBy;
+
+	/**
+	 * The name of the id attribute of the entity.
+	 */
+	private volatile String idAttribute;
+
+	/**
+	 * The name of the id attribute of the related entity.
+	 */
+	private volatile String relatedIdAttribute;
+
+	/**
+	 * Construct a {@code DataRelation}.
+	 *
+	 * @param entityManager The {@link EntityManager} used for queries.
+	 * @param entityClass   The class of the entity.
+	 * @param relatedClass  The class of the related entity.
+	 * @param attribute     The name of the relation attribute in the entity.
+	 */
+	public DataRelation(@NotNull EntityManager entityManager, @NotNull Class<E> entityClass, @NotNull Class<R> relatedClass, @NotNull String attribute) {
+		this.entityManager = entityManager;
+		this.entityClass = entityClass;
+		this.relatedClass = relatedClass;
+		this.attribute = attribute;
+	}
+
+	/**
+	 * Use the join table to add and remove related entities directly.
+	 *
+	 * @param table             The name of the join table.
+	 * @param joinColumn        The column referencing the entity.
+	 * @param inverseJoinColumn The column referencing the related entity.
+	 * @return The relation in a fluent api pattern.
+	 */
+	public DataRelation<E, R> withJoinTable(@NotNull String table, @NotNull String joinColumn, @NotNull String inverseJoinColumn) {
+		this.joinTable = table;
+		this.joinColumn = joinColumn;
+		this.inverseJoinColumn = inverseJoinColumn;
+		return this;
+	}
+
+	/**
+	 * Use the attribute of the related entity, that owns the relation, to add
+	 * and remove related entities directly.
+	 *
+	 * @param attribute The name of the owning attribute in the related
+	 *                  entity.
+	 * @return The relation in a fluent api pattern.
+	 */
+	public DataRelation<E, R> withMappedBy(@NotNull String attribute) {
+		this.mappedBy = attribute;
+		return this;
+	}
+
+	/**
+	 * Get the class of the related entity.
+	 *
+	 * @return The class of the related entity.
+	 */
+	public Class<R> getRelatedClass() {
+		return this.relatedClass;
+	}
+
+	/**
+	 * Create a {@link Specification} that matches all entities related to
+	 * the entity with the id.
+	 *
+	 * @param id The id of the entity.
+	 * @return A new {@link Specification} for the related entities.
+	 */
+	public Specification<R> of(@NotNull Object id) {
+		String idAttribute = this.getIdAttribute();
+		return (root, query, cb) -> {
+			Subquery<R> subquery = query.subquery(this.relatedClass);
+			Root<E> entity = subquery.from(this.entityClass);
+			Join<E, R> related = entity.join(this.attribute);
+			subquery.select(related).where(cb.equal(entity.get(idAttribute), id));
+			return root.in(subquery);
+		};
+	}
+
+	/**
+	 * Read the entity related to the entity with the id in a single query.
+	 * The entity is only checked for existence, if there is no related
+	 * entity.
+	 *
+	 * @param id The id of the entity.
+	 * @return An {@link Optional} of the related entity.
+	 * @throws EntityNotFoundException If the entity does not exist.
+	 */
+	public Optional<R> read(@NotNull Object id) {
+		List<R> related = this.select(id).setMaxResults(1).getResultList();
+		if (related.isEmpty() && !this.exists(id)) {
+			throw DataMetamodel.notFound(this.entityClass, id);
+		}
+		return related.stream().findFirst();
+	}
+
+	/**
+	 * List all entities related to the entity with the id in a single query.
+	 * The entity is only checked for existence, if there are no related
+	 * entities.
+	 *
+	 * @param id The id of the entity.
+	 * @return A List of related entities.
+	 * @throws EntityNotFoundException If the entity does not exist.
+	 */
+	public List<R> list(@NotNull Object id) {
+		List<R> related = this.select(id).getResultList();
+		if (related.isEmpty() && !this.exists(id)) {
+			throw DataMetamodel.notFound(this.entityClass, id);
+		}
+		return related;
+	}
+
+	/**
+	 * Search the entities related to the entity with the id, filtered by
+	 * the {@link Specification} and restricted to a page. The total amount
+	 * is only counted, if it can not be determined from the page.
+	 *
+	 * @param id   The id of the entity.
+	 * @param spec The {@link Specification} for filtering.
+	 * @param page The {@link Pageable} for paging.
+	 * @return A page of related entities.
+	 * @throws EntityNotFoundException If the entity does not exist.
+	 */
+	public Page<R> search(@NotNull Object id, Specification<R> spec, Pageable page) {
+		Specification<R> related = this.of(id).and(spec);
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<R> query = builder.createQuery(this.relatedClass);
+		Root<R> root = query.from(this.relatedClass);
+		Predicate predicate = related.toPredicate(root, query, builder);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		if (page.getSort().isSorted()) {
+			query.orderBy(QueryUtils.toOrders(page.getSort(), root, builder));
+		}
+		TypedQuery<R> typedQuery = this.entityManager.createQuery(query.select(root));
+		if (page.isPaged()) {
+			typedQuery.setFirstResult((int) page.getOffset());
+			typedQuery.setMaxResults(page.getPageSize());
+		}
+		List<R> content = typedQuery.getResultList();
+		if (content.isEmpty() && !this.exists(id)) {
+			throw DataMetamodel.notFound(this.entityClass, id);
+		}
+		if (page.isUnpaged()) {
+			return new DataPage<>(content, page, content.size());
+		}
+		if ((page.getOffset() == 0 || !content.isEmpty()) && content.size() < page.getPageSize()) {
+			return new DataPage<>(content, page, page.getOffset() + content.size());
+		}
+		return new DataPage<>(content, page, this.countRelated(id, spec));
+	}
+
+	/**
+	 * Count the entities related to the entity with the id, filtered by the
+	 * {@link Specification}, in a count query. The related entities are not
+	 * loaded. The entity is only checked for existence, if there are no
+	 * related entities.
+	 *
+	 * @param id   The id of the entity.
+	 * @param spec The {@link Specification} for filtering.
+	 * @return The amount of related entities.
+	 * @throws EntityNotFoundException If the entity does not exist.
+	 */
+	public long count(@NotNull Object id, Specification<R> spec) {
+		long count = this.countRelated(id, spec);
+		if (count == 0 && !this.exists(id)) {
+			throw DataMetamodel.notFound(this.entityClass, id);
+		}
+		return count;
+	}
+
+	/**
+	 * Add the related entity with the related id to the entity with the id.
+	 *
+	 * @param id        The id of the entity.
+	 * @param relatedId The id of the related entity.
+	 * @throws EntityNotFoundException If the entity or the related entity
+	 *                                 does not exist.
+	 * @throws IllegalStateException   If the relation can not be written
+	 *                                 directly.
+	 * @see #addAll(Object, Collection)
+	 */
+	public void add(@NotNull Object id, @NotNull Object relatedId) {
+		this.addAll(id, List.of(relatedId));
+	}
+
+	/**
+	 * Add the related entities with the related ids to the entity with the id
+	 * with a fixed number of statements, independent of the number of ids.
+	 * The entity is checked with a count query and the related entities with
+	 * a single query selecting their ids.
+	 * <ul>
+	 *     <li>A join table is written with multi row inserts of at most
+	 *     {@value #CHUNK_SIZE} rows. Related entities that were already added
+	 *     are selected in a single query before and not added again. Two
+	 *     concurrent requests adding the same related entity can still both
+	 *     insert it, so the join table should declare a unique key on both
+	 *     columns, which makes the slower request fail instead.</li>
+	 *     <li>A foreign key is written with a single update statement.</li>
+	 * </ul>
+	 *
+	 * @param id         The id of the entity.
+	 * @param relatedIds The ids of the related entities.
+	 * @throws EntityNotFoundException If the entity or one of the related
+	 *                                 entities does not exist.
+	 * @throws IllegalStateException   If the relation can not be written
+	 *                                 directly.
+	 */
+	public void addAll(@NotNull Object id, @NotNull Collection<?> relatedIds) {
+		if (!this.exists(id)) {
+			throw DataMetamodel.notFound(this.entityClass, id);
+		}
+		Set<Object> ids = new LinkedHashSet<>(relatedIds);
+		if (ids.isEmpty()) {
+			return;
+		}
+		Set<Object> existing = new HashSet<>(this.selectRelatedIds(ids));
+		for (Object relatedId : ids) {
+			if (!existing.contains(relatedId)) {
+				throw DataMetamodel.notFound(this.relatedClass, relatedId);
+			}
+		}
+		if (this.joinTable != null) {
+			ids.removeAll(this.selectAddedIds(id, ids));
+			String insert = "insert into " + this.quote(this.joinTable) + " (" + this.quote(this.joinColumn) + ", " + this.quote(this.inverseJoinColumn) + ") values ";
+			for (List<Object> chunk : chunks(ids)) {
+				StringJoiner rows = new StringJoiner(", ");
+				for (int i = 0; i < chunk.size(); i++) {
+					rows.add("(?" + (i * 2 + 1) + ", ?" + (i * 2 + 2) + ")");
+				}
+				Query query = this.entityManager.createNativeQuery(insert + rows);
+				for (int i = 0; i < chunk.size(); i++) {
+					query.setParameter(i * 2 + 1, id);
+					query.setParameter(i * 2 + 2, chunk.get(i));
+				}
+				query.executeUpdate();
+			}
+			return;
+		}
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaUpdate<R> update = builder.createCriteriaUpdate(this.relatedClass);
+		Root<R> root = update.from(this.relatedClass);
+		update.set(root.get(this.getMappedBy()), this.entityManager.getReference(this.entityClass, id));
+		update.where(root.get(this.getRelatedIdAttribute()).in(ids));
+		this.entityManager.createQuery(update).executeUpdate();
+	}
+
+	/**
+	 * Remove the related entity with the related id from the entity with the
+	 * id.
+	 *
+	 * @param id        The id of the entity.
+	 * @param relatedId The id of the related entity.
+	 * @throws EntityNotFoundException If the entity does not exist.
+	 * @throws IllegalStateException   If the relation can not be written
+	 *                                 directly.
+	 * @see #removeAll(Object, Collection)
+	 */
+	public void remove(@NotNull Object id, @NotNull Object relatedId) {
+		this.removeAll(id, List.of(relatedId));
+	}
+
+	/**
+	 * Remove the related entities with the related ids from the entity with
+	 * the id. The entity is checked with a count query, then the related
+	 * entities are removed with a single statement for at most
+	 * {@value #CHUNK_SIZE} ids. Related entities, that were not added, are
+	 * ignored.
+	 *
+	 * @param id         The id of the entity.
+	 * @param relatedIds The ids of the related entities.
+	 * @throws EntityNotFoundException If the entity does not exist.
+	 * @throws IllegalStateException   If the relation can not be written
+	 *                                 directly.
+	 */
+	public void removeAll(@NotNull Object id, @NotNull Collection<?> relatedIds) {
+		if (!this.exists(id)) {
+			throw DataMetamodel.notFound(this.entityClass, id);
+		}
+		Set<Object> ids = new LinkedHashSet<>(relatedIds);
+		if (this.joinTable != null) {
+			String delete = "delete from " + this.quote(this.joinTable) + " where " + this.quote(this.joinColumn) + " = ?1 and " + this.quote(this.inverseJoinColumn) + " in ";
+			for (List<Object> chunk : chunks(ids)) {
+				StringJoiner parameters = new StringJoiner(", ", "(", ")");
+				for (int i = 0; i < chunk.size(); i++) {
+					parameters.add("?" + (i + 2));
+				}
+				Query query = this.entityManager.createNativeQuery(delete + parameters).setParameter(1, id);
+				for (int i = 0; i < chunk.size(); i++) {
+					query.setParameter(i + 2, chunk.get(i));
+				}
+				query.executeUpdate();
+			}
+			return;
+		}
+		if (ids.isEmpty()) {
+			return;
+		}
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaUpdate<R> update = builder.createCriteriaUpdate(this.relatedClass);
+		Root<R> root = update.from(this.relatedClass);
+		Path<E> owner = root.get(this.getMappedBy());
+		update.set(owner, builder.nullLiteral(this.entityClass));
+		update.where(root.get(this.getRelatedIdAttribute()).in(ids), builder.equal(owner.get(this.getIdAttribute()), id));
+		this.entityManager.createQuery(update).executeUpdate();
+	}
+
+	/**
+	 * Check if the entity with the id exists.
+	 *
+	 * @param id The id of the entity.
+	 * @return True if the entity exists.
+	 */
+	public boolean exists(@NotNull Object id) {
+		return DataMetamodel.exists(this.entityManager, this.entityClass, this.getIdAttribute(), id);
+	}
+
+	private TypedQuery<R> select(@NotNull Object id) {
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<R> query = builder.createQuery(this.relatedClass);
+		Root<E> root = query.from(this.entityClass);
+		Join<E, R> related = root.join(this.attribute);
+		query.select(related).where(builder.equal(root.get(this.getIdAttribute()), id));
+		return this.entityManager.createQuery(query);
+	}
+
+	/**
+	 * Select the ids of the related entities, that exist, in a single query.
+	 */
+	private List<Object> selectRelatedIds(@NotNull Collection<Object> relatedIds) {
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object> query = builder.createQuery(Object.class);
+		Root<R> root = query.from(this.relatedClass);
+		Path<Object> relatedId = root.get(this.getRelatedIdAttribute());
+		query.select(relatedId).where(relatedId.in(relatedIds));
+		return this.entityManager.createQuery(query).getResultList();
+	}
+
+	/**
+	 * Select the ids of the related entities, that were already added to the
+	 * entity with the id, in a single query.
+	 */
+	private List<Object> selectAddedIds(@NotNull Object id, @NotNull Collection<Object> relatedIds) {
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object> query = builder.createQuery(Object.class);
+		Root<E> root = query.from(this.entityClass);
+		Path<Object> relatedId = root.join(this.attribute).get(this.getRelatedIdAttribute());
+		query.select(relatedId).where(builder.equal(root.get(this.getIdAttribute()), id), relatedId.in(relatedIds));
+		return this.entityManager.createQuery(query).getResultList();
+	}
+
+	/**
+	 * Split the ids into chunks of at most {@value #CHUNK_SIZE} ids, so a
+	 * statement does not exceed the parameter limit of the database.
+	 */
+	private static List<List<Object>> chunks(@NotNull Collection<Object> ids) {
+		List<Object> list = new ArrayList<>(ids);
+		List<List<Object>> chunks = new ArrayList<>();
+		for (int i = 0; i < list.size(); i += CHUNK_SIZE) {
+			chunks.add(list.subList(i, Math.min(i + CHUNK_SIZE, list.size())));
+		}
+		return chunks;
+	}
+
+	private long countRelated(@NotNull Object id, Specification<R> spec) {
+		Specification<R> related = this.of(id).and(spec);
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		Root<R> root = query.from(this.relatedClass);
+		Predicate predicate = related.toPredicate(root, query, builder);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.select(query.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+		query.orderBy(Collections.emptyList());
+		return this.entityManager.createQuery(query).getSingleResult();
+	}
+
+	private String getIdAttribute() {
+		if (this.idAttribute == null) {
+			this.idAttribute = DataMetamodel.getIdAttribute(this.entityManager, this.entityClass);
+		}
+		return this.idAttribute;
+	}
+
+	private String getRelatedIdAttribute() {
+		if (this.relatedIdAttribute == null) {
+			this.relatedIdAttribute = DataMetamodel.getIdAttribute(this.entityManager, this.relatedClass);
+		}
+		return this.relatedIdAttribute;
+	}
+
+	private String getMappedBy() {
+		if (this.mappedBy == null) {
+			throw new IllegalStateException("Relation " + this.attribute + " of " + this.entityClass.getName() + " has no join table or mapped by attribute");
+		}
+		return this.mappedBy;
+	}
+
+	/**
+	 * Quote an identifier of the join table, if the persistence unit quotes
+	 * all identifiers. Otherwise, the identifier is used as declared.
+	 */
+	private String quote(String identifier) {
+		if (identifier.startsWith("\"") || !"true".equals(String.valueOf(this.entityManager.getEntityManagerFactory().getProperties().get("hibernate.globally_quoted_identifiers")))) {
+			return identifier;
+		}
+		return "\"" + identifier + "\"";
+	}
+}
@@ -0,0 +1,219 @@
+package eu.nerdfactor.restness.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A cache for the pages of searches, keyed by the normalized filter and the
+ * number, size and sort of the page. The pages are shared between requests,
+ * so they have to contain mapped responses or detached copies of the
+ * entities, never managed entities. Generated controllers without a dto
+ * cache detached copies.
+ * <p>
+ * Every cached page remembers the generation of the searched entity class it
+ * was searched in. The generations are shared by all caches of the same
+ * entity class, so a write through any {@link CachingDataAccessor} of the
+ * entity makes the pages of every cache stale. Invalidating only increments
+ * the generation, so all cached pages become stale at once without looking
+ * at any of them. Writes that do not pass a {@link CachingDataAccessor} have
+ * to call {@link #invalidate(Class)}, otherwise they are only visible after
+ * the time to live.
+ * <p>
+ * Searches inside a writing transaction are not cached, because they could
+ * contain changes that are rolled back later.
+ * <p>
+ * Stale pages can still be returned during a grace period, while one thread
+ * searches the page again. This keeps bursts of equal searches from all
+ * hitting the database, but returns outdated pages for the length of the
+ * grace period, even right after a write. Without a grace period, stale pages
+ * are never returned.
+ *
+ * @param <T> Type of the responses.
+ * @author Daniel Klug
+ */
+public class DataSearchCache<T> {
+
+	/**
+	 * The cached pages, kept until the time to live and the grace period
+	 * passed.
+	 */
+	private final DataCache<Key, Entry<T>> pages;
+
+	/**
+	 * The keys of the pages that are searched again by a thread.
+	 */
+	private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The generation of the searched entity class.
+	 */
+	private final DataGeneration generation;
+
+	/**
+	 * The time to live of every page in nanoseconds.
+	 */
+	private final long timeToLive;
+
+	/**
+	 * The grace period of stale pages in nanoseconds.
+	 */
+	private final long gracePeriod;
+
+	/**
+	 * The source of the current time in nanoseconds.
+	 */
+	private final LongSupplier clock;
+
+	/**
+	 * Construct a {@code DataSearchCache}.
+	 *
+	 * @param entityClass The class of the searched entities.
+	 * @param maximumSize The maximum number of cached pages.
+	 * @param timeToLive  The time after which a page is stale.
+	 * @param gracePeriod The time a stale page can still be returned, while
+	 *                    it is searched again.
+	 */
+	public DataSearchCache(@NotNull Class<?> entityClass, int maximumSize, @NotNull Duration timeToLive, @NotNull Duration gracePeriod) {
+		this(entityClass, maximumSize, timeToLive, gracePeriod, System::nanoTime);
+	}
+
+	/**
+	 * Construct a {@code DataSearchCache} with a custom clock.
+	 *
+	 * @param entityClass The class of the searched entities.
+	 * @param maximumSize The maximum number of cached pages.
+	 * @param timeToLive  The time after which a page is stale.
+	 * @param gracePeriod The time a stale page can still be returned, while
+	 *                    it is searched again.
+	 * @param clock       The source of the current time in nanoseconds.
+	 */
+	DataSearchCache(@NotNull Class<?> entityClass, int maximumSize, @NotNull Duration timeToLive, @NotNull Duration gracePeriod, @NotNull LongSupplier clock) {
+		this.generation = DataGeneration.of(entityClass);
+		this.pages = new DataCache<>(maximumSize, timeToLive.plus(gracePeriod), clock);
+		this.timeToLive = timeToLive.toNanos();
+		this.gracePeriod = gracePeriod.toNanos();
+		this.clock = clock;
+	}
+
+	/**
+	 * Get the cached page of the search or search it. If the cached page is
+	 * stale but in its grace period, it is returned while another thread
+	 * searches it again. Inside a writing transaction, the page is always
+	 * searched and not cached.
+	 *
+	 * @param filter   The normalized filter of the search.
+	 * @param pageable The {@link Pageable} of the search.
+	 * @param search   A supplier that searches and maps the page.
+	 * @return The cached or searched page.
+	 */
+	public Page<T> search(String filter, @NotNull Pageable pageable, @NotNull Supplier<Page<T>> search) {
+		if (TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return search.get();
+		}
+		Key key = Key.of(filter, pageable);
+		long generation = this.generation.get();
+		long now = this.clock.getAsLong();
+		Entry<T> entry = this.pages.get(key);
+		if (entry != null && entry.generation() == generation && now - entry.created() < this.timeToLive) {
+			return entry.page();
+		}
+		boolean claimed = this.refreshing.add(key);
+		if (!claimed && entry != null && this.isInGracePeriod(entry, generation, now)) {
+			return entry.page();
+		}
+		try {
+			Page<T> page = search.get();
+			this.pages.put(key, new Entry<>(page, generation, now));
+			return page;
+		} finally {
+			if (claimed) {
+				this.refreshing.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Make all cached pages of the searched entity class stale, in this and
+	 * every other cache of the entity class.
+	 */
+	public void invalidate() {
+		this.generation.increment(this.clock.getAsLong());
+	}
+
+	/**
+	 * Make all cached pages of the entity class stale in every cache. The
+	 * generation is shared with the {@link DataReadCache}, so the cached
+	 * reads of the entity class become stale as well.
+	 *
+	 * @param entityClass The class of the written entities.
+	 */
+	public static void invalidate(@NotNull Class<?> entityClass) {
+		DataGeneration.of(entityClass).increment(System.nanoTime());
+	}
+
+	/**
+	 * Get the current generation of the searched entity class, that is
+	 * incremented by every invalidation.
+	 *
+	 * @return The current generation.
+	 */
+	public long getGeneration() {
+		return this.generation.get();
+	}
+
+	/**
+	 * Check if a stale page can still be returned. A page is in its grace
+	 * period, if it expired or was invalidated once less than the grace
+	 * period ago.
+	 *
+	 * @param entry      The cached page.
+	 * @param generation The current generation.
+	 * @param now        The current time in nanoseconds.
+	 * @return True if the page can be returned.
+	 */
+	private boolean isInGracePeriod(Entry<T> entry, long generation, long now) {
+		if (entry.generation() == generation) {
+			return now - entry.created() - this.timeToLive < this.gracePeriod;
+		}
+		return entry.generation() == generation - 1 && now - this.generation.getIncremented() < this.gracePeriod;
+	}
+
+	/**
+	 * The key of a cached page.
+	 *
+	 * @param filter The normalized filter.
+	 * @param number The number of the page or -1 if unpaged.
+	 * @param size   The size of the page or -1 if unpaged.
+	 * @param sort   The sort of the page.
+	 */
+	private record Key(String filter, int number, int size, String sort) {
+
+		private static Key of(String filter, Pageable pageable) {
+			return new Key(
+					filter != null ? filter : "",
+					pageable.isPaged() ? pageable.getPageNumber() : -1,
+					pageable.isPaged() ? pageable.getPageSize() : -1,
+					pageable.getSort().toString()
+			);
+		}
+	}
+
+	/**
+	 * A cached page, the generation it was searched in and the time it was
+	 * cached.
+	 *
+	 * @param page       The cached page.
+	 * @param generation The generation of the entity class.
+	 * @param created    The time in nanoseconds.
+	 */
+	private record Entry<T>(Page<T> page, long generation, long created) {
+	}
+}
@@ -0,0 +1,56 @@
+package eu.nerdfactor.restness.data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simple wrapper for a {@link Slice} in order to provide {@link Slice} return
+ * value to search controller endpoints. A slice only knows if there is a next
+ * slice and does not contain the total amount of elements.
+ *
+ * @author Daniel Klug
+ */
+@JsonIgnoreProperties(ignoreUnknown = true, value = {"pageable"})
+public class DataSlice<T> extends SliceImpl<T> {
+
+	/**
+	 * Construct a {@code DataSlice}.
+	 *
+	 * @param content The content of the slice.
+	 * @param slice   The number of the current slice.
+	 * @param size    The size of the current slice.
+	 * @param last    If this is the last slice.
+	 */
+	@JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+	public DataSlice(@JsonProperty("content") List<T> content,
+	                 @JsonProperty("number") int slice,
+	                 @JsonProperty("size") int size,
+	                 @JsonProperty("last") boolean last) {
+		super(content, Pageable.ofSize(Math.max(1, size)).withPage(slice), !last);
+	}
+
+	/**
+	 * Construct a {@code DataSlice}.
+	 *
+	 * @param content  The content of the slice.
+	 * @param pageable The paging information.
+	 * @param hasNext  If there is a next slice.
+	 */
+	public DataSlice(List<T> content, Pageable pageable, boolean hasNext) {
+		super(content, pageable, hasNext);
+	}
+
+	/**
+	 * Construct an empty {@code DataSlice}.
+	 */
+	public DataSlice() {
+		super(new ArrayList<>());
+	}
+}
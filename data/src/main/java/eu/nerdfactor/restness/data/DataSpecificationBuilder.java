@@ -1,5 +1,6 @@
 package eu.nerdfactor.restness.data;
 
+import jakarta.persistence.EntityManager;
 import org.springframework.data.jpa.domain.Specification;
 
 /**
@@ -16,6 +17,40 @@ public interface DataSpecificationBuilder {
 	 * @param cls    The class to filter.
 	 * @param <T>    The type of the filtered class.
 	 * @return A new {@link Specification} to filter a class.
+	 * @throws IllegalArgumentException If the filter is malformed. Generated
+	 *                                  controllers respond with 400 Bad
+	 *                                  Request.
 	 */
 	<T> Specification<T> build(String filter, Class<T> cls);
+
+	/**
+	 * Build a {@link Specification} from a filter string and check that it
+	 * can be applied to the class with
+	 * {@link DataSpecifications#validate(Specification, Class, EntityManager)}.
+	 * Generated controllers build their specifications with this method.
+	 *
+	 * @param filter        The filter string.
+	 * @param cls           The class to filter.
+	 * @param entityManager The {@link EntityManager} of the persistence unit.
+	 * @param <T>           The type of the filtered class.
+	 * @return A new and checked {@link Specification} to filter a class.
+	 * @throws IllegalArgumentException If the filter is malformed or can not
+	 *                                  be applied to the class. Generated
+	 *                                  controllers respond with 400 Bad
+	 *                                  Request.
+	 */
+	default <T> Specification<T> build(String filter, Class<T> cls, EntityManager entityManager) {
+		return DataSpecifications.validate(this.build(filter, cls), cls, entityManager);
+	}
+
+	/**
+	 * Normalize a filter string, so equal filters result in the same string.
+	 * The normalized filter is used to identify cached searches.
+	 *
+	 * @param filter The filter string.
+	 * @return The normalized filter string.
+	 */
+	default String normalize(String filter) {
+		return filter != null ? filter.strip() : "";
+	}
 }
@@ -0,0 +1,101 @@
+package eu.nerdfactor.restness.data;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Common {@link Specification Specifications} used by generated controllers,
+ * that do not depend on the filter syntax of a
+ * {@link DataSpecificationBuilder}.
+ *
+ * @author Daniel Klug
+ */
+public final class DataSpecifications {
+
+	/**
+	 * The exception of Hibernate for paths that can not be resolved. It is
+	 * compared by name, so other persistence providers do not need Hibernate.
+	 */
+	private static final String PATH_EXCEPTION = "org.hibernate.query.PathException";
+
+	private DataSpecifications() {
+	}
+
+	/**
+	 * Create a {@link Specification} that matches all entities with one of
+	 * the provided ids. The id attribute is resolved from the metamodel of
+	 * the entity, so it can be used for every entity with a single id.
+	 *
+	 * @param ids The ids of the matching entities.
+	 * @param <T> The type of the entity.
+	 * @return A new {@link Specification} matching the ids.
+	 * @throws IllegalStateException If the entity has no single id attribute.
+	 */
+	public static <T> @NotNull Specification<T> hasIds(@NotNull Collection<?> ids) {
+		return (root, query, cb) -> root.get(DataMetamodel.getIdAttribute(root.getModel())).in(ids);
+	}
+
+	/**
+	 * Check that a {@link Specification} can be applied to an entity class,
+	 * by creating its predicate for a query that is never executed.
+	 * Specifications usually resolve their attributes and convert their
+	 * values only when the predicate is created, which would otherwise happen
+	 * inside the query of the data accessor, where an unknown attribute or a
+	 * malformed value can no longer be told apart from other failures.
+	 * Values that are passed on to the database without conversion are not
+	 * checked.
+	 *
+	 * @param spec          The {@link Specification} to check.
+	 * @param cls           The class of the entity.
+	 * @param entityManager The {@link EntityManager} of the persistence unit.
+	 * @param <T>           The type of the entity.
+	 * @return The checked {@link Specification}.
+	 * @throws IllegalArgumentException If an attribute of the predicate can
+	 *                                  not be resolved or a value can not be
+	 *                                  converted. Other failures are not
+	 *                                  wrapped.
+	 */
+	public static <T> Specification<T> validate(Specification<T> spec, @NotNull Class<T> cls, @NotNull EntityManager entityManager) {
+		if (spec == null) {
+			return null;
+		}
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<T> query = builder.createQuery(cls);
+		try {
+			spec.toPredicate(query.from(cls), query, builder);
+		} catch (IllegalArgumentException e) {
+			throw e;
+		} catch (ConversionException e) {
+			throw new IllegalArgumentException("Filter can not be applied to " + cls.getSimpleName() + ": " + e.getMessage(), e);
+		} catch (PersistenceException e) {
+			if (!isPathException(e)) {
+				throw e;
+			}
+			throw new IllegalArgumentException("Filter can not be applied to " + cls.getSimpleName() + ": " + e.getMessage(), e);
+		}
+		return spec;
+	}
+
+	/**
+	 * Check if an exception is thrown by Hibernate for a path that can not be
+	 * resolved.
+	 *
+	 * @param e The exception of the persistence provider.
+	 * @return True if the exception is a {@code PathException} of Hibernate.
+	 */
+	private static boolean isPathException(PersistenceException e) {
+		for (Class<?> cls = e.getClass(); cls != null; cls = cls.getSuperclass()) {
+			if (cls.getName().equals(PATH_EXCEPTION)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,94 @@
+package eu.nerdfactor.restness.data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simple wrapper for a {@link Window} in order to provide a scrollable return
+ * value to search controller endpoints. Instead of a page number, it contains
+ * a cursor that points to the next window.
+ *
+ * @param <T> The type of the contained objects.
+ * @author Daniel Klug
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DataWindow<T> {
+
+	/**
+	 * The content of the window.
+	 */
+	protected final List<T> content;
+
+	/**
+	 * The cursor pointing to the next window or null, if this is the last
+	 * window.
+	 */
+	protected final String next;
+
+	/**
+	 * Construct a {@code DataWindow}.
+	 *
+	 * @param content The content of the window.
+	 * @param next    The cursor pointing to the next window.
+	 */
+	@JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+	public DataWindow(@JsonProperty("content") List<T> content,
+	                  @JsonProperty("next") String next) {
+		this.content = content != null ? content : new ArrayList<>();
+		this.next = next;
+	}
+
+	/**
+	 * Create a {@code DataWindow} for the content of a {@link Window}. The
+	 * cursor to the next window will be created from the position of the last
+	 * element in the {@link Window}.
+	 *
+	 * @param content The (mapped) content of the window.
+	 * @param window  The {@link Window} that was read.
+	 * @param <T>     The type of the contained objects.
+	 * @return A new {@code DataWindow}.
+	 */
+	public static <T> DataWindow<T> of(@NotNull List<T> content, @NotNull Window<?> window) {
+		String next = null;
+		if (window.hasNext() && !window.isEmpty()) {
+			next = DataCursor.encode(window.positionAt(window.size() - 1));
+		}
+		return new DataWindow<>(content, next);
+	}
+
+	/**
+	 * @return The content of the window.
+	 */
+	public List<T> getContent() {
+		return this.content;
+	}
+
+	/**
+	 * @return The cursor pointing to the next window.
+	 */
+	public @Nullable String getNext() {
+		return this.next;
+	}
+
+	/**
+	 * @return The number of elements in the window.
+	 */
+	public int getSize() {
+		return this.content.size();
+	}
+
+	/**
+	 * @return True if there is a next window.
+	 */
+	@JsonProperty("hasNext")
+	public boolean hasNext() {
+		return this.next != null;
+	}
+}
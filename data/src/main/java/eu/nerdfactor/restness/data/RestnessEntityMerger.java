@@ -1,16 +1,34 @@
 package eu.nerdfactor.restness.data;
 
-import java.lang.reflect.InvocationTargetException;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A simplistic entity merger that will try to merge {@link PersistentEntity} or
- * use reflection of getter and setters.
+ * use reflection of getter and setters. The reflected getters and setters are
+ * cached for every class.
  *
  * @author Daniel Klug
  */
 public class RestnessEntityMerger implements DataMerger {
 
+	/**
+	 * The merge plans of all classes that were merged by reflection.
+	 */
+	private static final ClassValue<MergePlan> PLANS = new ClassValue<>() {
+		@Override
+		protected MergePlan computeValue(@NotNull Class<?> type) {
+			return MergePlan.of(type);
+		}
+	};
+
 	/**
 	 * Update an object by merging it with an updated version.
 	 *
@@ -30,6 +48,8 @@ public class RestnessEntityMerger implements DataMerger {
 
 	/**
 	 * Merges two objects of the same type by accessing getters and setters.
+	 * The getters and setters of every class are only looked up once and kept
+	 * in a {@link MergePlan}.
 	 *
 	 * @param original The original object.
 	 * @param updated  The object with updated values.
@@ -37,39 +57,85 @@ public class RestnessEntityMerger implements DataMerger {
 	 * @return The original object with the merged values.
 	 */
 	protected <T> T reflectMerge(T original, T updated) {
-		Method[] methods = original.getClass().getDeclaredMethods();
-		for (Method m : methods) {
-			String name = m.getName();
-			try {
-				String setter = name;
-				Class<?> type = m.getReturnType();
-				Object value = null;
-				if (name.startsWith("get") && m.getParameterCount() == 0) {
-					value = m.invoke(updated);
-					setter = name.replace("get", "set");
-				}
-				if (name.startsWith("is") && m.getParameterCount() == 0) {
+		PLANS.get(original.getClass()).merge(original, updated);
+		return original;
+	}
+
+	/**
+	 * A list of properties that can be merged for one class.
+	 *
+	 * @param properties The properties of the class.
+	 */
+	private record MergePlan(List<MergeProperty> properties) {
+
+		/**
+		 * Create the plan for a class. Every getter declared by the class,
+		 * that has a public setter with the same type, will be merged. Only
+		 * non-empty strings and primitive types are merged.
+		 *
+		 * @param type The class to merge.
+		 * @return The {@link MergePlan} for the class.
+		 */
+		static MergePlan of(Class<?> type) {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			List<MergeProperty> properties = new ArrayList<>();
+			for (Method getter : type.getDeclaredMethods()) {
+				String name = getter.getName();
+				Class<?> propertyType = getter.getReturnType();
+				String setter;
+				if (name.startsWith("get") && name.length() > 3) {
+					setter = "set" + name.substring(3);
+				} else if (name.startsWith("is") && name.length() > 2) {
 					// getters for booleans may start with "is", per java code conventions.
-					value = m.invoke(updated);
-					setter = name.replace("is", "set");
+					setter = "set" + name.substring(2);
+				} else {
+					continue;
+				}
+				if (getter.getParameterCount() != 0 || Modifier.isStatic(getter.getModifiers())
+						|| (propertyType != String.class && (!propertyType.isPrimitive() || propertyType == Void.TYPE))) {
+					continue;
+				}
+				try {
+					properties.add(new MergeProperty(
+							lookup.unreflect(getter).asType(MethodType.methodType(Object.class, Object.class)),
+							lookup.unreflect(type.getMethod(setter, propertyType)).asType(MethodType.methodType(void.class, Object.class, Object.class)),
+							propertyType == String.class
+					));
+				} catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+					// setter may not exist or can't be accessed.
 				}
-				if (value != null && (type == String.class && !value.equals(""))
-						|| (type.isPrimitive() && !type.equals(Void.TYPE))) {
-					// only merge non-empty values or primitive types.
-					try {
-						Method method = original.getClass().getMethod(setter, type);
-						method.invoke(original, value);
-					} catch (NoSuchMethodException | SecurityException |
-					         IllegalAccessError | IllegalAccessException |
-					         InvocationTargetException e) {
-						// setter may not exist or can't be accessed.
+			}
+			return new MergePlan(List.copyOf(properties));
+		}
+
+		/**
+		 * Merge the updated values into the original object.
+		 *
+		 * @param original The original object.
+		 * @param updated  The object with updated values.
+		 */
+		void merge(Object original, Object updated) {
+			for (MergeProperty property : this.properties) {
+				try {
+					Object value = property.getter().invokeExact(updated);
+					if (!property.string() || (value != null && !value.equals(""))) {
+						// only merge non-empty values or primitive types.
+						property.setter().invokeExact(original, value);
 					}
+				} catch (Throwable e) {
+					// merge may fail.
 				}
-			} catch (Exception e) {
-				// merge may fail.
-				// todo: throw Exception to be handled upstream or fail silently?
 			}
 		}
-		return original;
+	}
+
+	/**
+	 * A property that can be merged.
+	 *
+	 * @param getter The {@link MethodHandle} of the getter.
+	 * @param setter The {@link MethodHandle} of the setter.
+	 * @param string If the property is a string.
+	 */
+	private record MergeProperty(MethodHandle getter, MethodHandle setter, boolean string) {
 	}
 }
@@ -4,6 +4,7 @@ import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -31,6 +32,11 @@ public class RestnessEntityWrapper<T> implements DataWrapper<T> {
 	 */
 	protected Pageable page = null;
 
+	/**
+	 * A cursor pointing to the next window of items.
+	 */
+	protected String next = null;
+
 	/**
 	 * Specify that the DataWrapper contains no content.
 	 */
@@ -39,6 +45,7 @@ public class RestnessEntityWrapper<T> implements DataWrapper<T> {
 		this.item = null;
 		this.items = null;
 		this.page = null;
+		this.next = null;
 	}
 
 	/**
@@ -74,4 +81,28 @@ public class RestnessEntityWrapper<T> implements DataWrapper<T> {
 		this.items = page.getContent();
 		this.page = page.getPageable();
 	}
+
+	/**
+	 * Set the content to a slice of items.
+	 *
+	 * @param slice A slice of items.
+	 */
+	@Override
+	public void setContent(@NotNull Slice<T> slice) {
+		this.noContent();
+		this.items = slice.getContent();
+		this.page = slice.getPageable();
+	}
+
+	/**
+	 * Set the content to a window of items.
+	 *
+	 * @param window A window of items.
+	 */
+	@Override
+	public void setContent(@NotNull DataWindow<T> window) {
+		this.noContent();
+		this.items = window.getContent();
+		this.next = window.getNext();
+	}
 }
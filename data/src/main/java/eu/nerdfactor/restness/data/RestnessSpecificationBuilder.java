@@ -2,18 +2,45 @@ package eu.nerdfactor.restness.data;
 
 import org.springframework.data.jpa.domain.Specification;
 
-import java.util.Arrays;
+import java.time.Duration;
 
 /**
  * A simplistic specification builder that will directly map a filter string
  * into a specification for query filtering.
  * Filter String should look like:
- * name1:value1;name2:value2;name3:value3
+ * name1:value1;name2>value2;name3~prefix;name4:(value4,value5)
+ * <p>
+ * Every filter string is parsed once into a {@link DataFilter}, that is
+ * cached for the following requests with the same filter.
  *
  * @author Daniel Klug
+ * @see DataFilter
  */
 public class RestnessSpecificationBuilder implements DataSpecificationBuilder {
 
+	/**
+	 * The parsed filters by their filter strings. Parsed filters do not
+	 * expire.
+	 */
+	private final DataCache<String, DataFilter> filters;
+
+	/**
+	 * Construct a {@code RestnessSpecificationBuilder} that caches up to 1000
+	 * parsed filters.
+	 */
+	public RestnessSpecificationBuilder() {
+		this(1000);
+	}
+
+	/**
+	 * Construct a {@code RestnessSpecificationBuilder}.
+	 *
+	 * @param cacheSize The maximum number of cached filters.
+	 */
+	public RestnessSpecificationBuilder(int cacheSize) {
+		this.filters = new DataCache<>(cacheSize, Duration.ofNanos(Long.MAX_VALUE));
+	}
+
 	/**
 	 * Build a {@link Specification} from a filter string.
 	 *
@@ -21,21 +48,42 @@ public class RestnessSpecificationBuilder implements DataSpecificationBuilder {
 	 * @param cls    The class to filter.
 	 * @param <T>    The type of the filtered class.
 	 * @return A new {@link Specification} to filter a class.
+	 * @throws IllegalArgumentException If the filter is malformed.
 	 */
 	@Override
 	public <T> Specification<T> build(String filter, Class<T> cls) {
-		Specification<T> spec = Specification.where(null);
-		if (filter != null && !filter.isBlank()) {
-			try {
-				String[] pairs = filter.contains(";") ? filter.split(";") : new String[] { filter };
-				for (String pair : pairs) {
-					String[] params = pair.split(":");
-					spec = spec.and((root, query, cb) -> cb.equal(root.get(params[0]), params[1]));
-				}
-			} catch (Exception e) {
-				// ignore wrong formatted filters.
-			}
+		return this.parse(filter).toSpecification();
+	}
+
+	/**
+	 * Normalize a filter string by sorting its terms, because all terms have
+	 * to match regardless of their order.
+	 *
+	 * @param filter The filter string.
+	 * @return The normalized filter string.
+	 * @throws IllegalArgumentException If the filter is malformed.
+	 */
+	@Override
+	public String normalize(String filter) {
+		return this.parse(filter).toString();
+	}
+
+	/**
+	 * Get the parsed filter from the cache or parse it.
+	 *
+	 * @param filter The filter string.
+	 * @return The parsed {@link DataFilter}.
+	 * @throws IllegalArgumentException If the filter is malformed.
+	 */
+	protected DataFilter parse(String filter) {
+		if (filter == null || filter.isBlank()) {
+			return DataFilter.parse(null);
+		}
+		DataFilter parsed = this.filters.get(filter);
+		if (parsed == null) {
+			parsed = DataFilter.parse(filter);
+			this.filters.put(filter, parsed);
 		}
-		return spec;
+		return parsed;
 	}
 }
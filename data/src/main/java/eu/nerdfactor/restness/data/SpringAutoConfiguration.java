@@ -1,16 +1,23 @@
 package eu.nerdfactor.restness.data;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 /**
  * Spring configuration containing {@link Bean}s for RESTness entity mapper,
  * merger and specification builder. Those fallback beans should only be used
  * during development and replaced with real implementations before production.
+ * <p>
+ * If the property {@code restness.specification-cache.size} is set, every
+ * {@link DataSpecificationBuilder} is wrapped by a
+ * {@link CachingSpecificationBuilder} with the configured size.
  *
  * @author Daniel Klug
  */
@@ -56,4 +63,27 @@ public class SpringAutoConfiguration {
 		log.warn("Use of fallback SpecificationBuilder. Please implement your own SpecificationBuilder to provide proper Specifications for Entity searching.");
 		return new RestnessSpecificationBuilder();
 	}
+
+	/**
+	 * Provides a {@link BeanPostProcessor} that wraps every
+	 * {@link DataSpecificationBuilder} into a
+	 * {@link CachingSpecificationBuilder}, if a cache size is configured.
+	 *
+	 * @param environment The {@link Environment} containing the cache size.
+	 * @return A {@link BeanPostProcessor} for specification builders.
+	 */
+	@Bean
+	@ConditionalOnProperty("restness.specification-cache.size")
+	public static BeanPostProcessor getCachingSpecificationBuilderPostProcessor(Environment environment) {
+		int size = environment.getProperty("restness.specification-cache.size", Integer.class, 0);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (size > 0 && bean instanceof DataSpecificationBuilder builder && !(bean instanceof CachingSpecificationBuilder)) {
+					return new CachingSpecificationBuilder(builder, size);
+				}
+				return bean;
+			}
+		};
+	}
 }
@@ -0,0 +1,35 @@
+package eu.nerdfactor.restness.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+public class CachingSpecificationBuilderTest {
+
+	/**
+	 * Test that specifications are cached by their filter and class.
+	 */
+	@Test
+	void shouldCacheSpecificationsByFilterAndClass() {
+		CachingSpecificationBuilder builder = new CachingSpecificationBuilder(new RestnessSpecificationBuilder(), 10);
+		Specification<String> spec = builder.build("name:Thor", String.class);
+		Assertions.assertSame(spec, builder.build("name:Thor", String.class));
+		Assertions.assertNotSame(spec, builder.build("name:Loki", String.class));
+		builder.build("name:Thor", Integer.class);
+		Assertions.assertEquals(1, builder.getHitCount());
+		Assertions.assertEquals(3, builder.getMissCount());
+		Assertions.assertEquals(3, builder.size());
+	}
+
+	/**
+	 * Test that malformed filters are rejected every time and not cached.
+	 */
+	@Test
+	void shouldNotCacheMalformedFilters() {
+		CachingSpecificationBuilder builder = new CachingSpecificationBuilder(new RestnessSpecificationBuilder(), 10);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> builder.build("name", String.class));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> builder.build("name", String.class));
+		Assertions.assertEquals(2, builder.getMissCount());
+		Assertions.assertEquals(0, builder.size());
+	}
+}
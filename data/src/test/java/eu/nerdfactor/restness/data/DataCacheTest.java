@@ -0,0 +1,77 @@
+package eu.nerdfactor.restness.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DataCacheTest {
+
+	/**
+	 * Test that the least recently used value is evicted, if the cache is
+	 * full.
+	 */
+	@Test
+	void shouldEvictLeastRecentlyUsedValue() {
+		DataCache<Integer, String> cache = new DataCache<>(2, Duration.ofMinutes(1));
+		cache.put(1, "Thor");
+		cache.put(2, "Loki");
+		Assertions.assertEquals("Thor", cache.get(1));
+		cache.put(3, "Odin");
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertEquals("Thor", cache.get(1));
+		Assertions.assertNull(cache.get(2));
+		Assertions.assertEquals("Odin", cache.get(3));
+	}
+
+	/**
+	 * Test that values expire after their time to live.
+	 */
+	@Test
+	void shouldExpireValues() {
+		AtomicLong clock = new AtomicLong();
+		DataCache<Integer, String> cache = new DataCache<>(10, Duration.ofNanos(100), clock::get);
+		cache.put(1, "Thor");
+		clock.set(99);
+		Assertions.assertEquals("Thor", cache.get(1));
+		clock.set(100);
+		Assertions.assertNull(cache.get(1));
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	/**
+	 * Test that concurrent reads and writes keep the cache close to its
+	 * maximum size.
+	 */
+	@Test
+	void shouldEvictConcurrently() throws Exception {
+		DataCache<Integer, String> cache = new DataCache<>(100, Duration.ofMinutes(1));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int thread = 0; thread < 4; thread++) {
+				int offset = thread * 1000;
+				writers.add(executor.submit(() -> {
+					for (int key = offset; key < offset + 1000; key++) {
+						cache.put(key, "Thor");
+						cache.get(key - 1);
+					}
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		cache.put(-1, "Loki");
+		Assertions.assertTrue(cache.size() <= 100);
+		Assertions.assertEquals("Loki", cache.get(-1));
+	}
+}
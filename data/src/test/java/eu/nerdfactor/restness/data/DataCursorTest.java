@@ -0,0 +1,56 @@
+package eu.nerdfactor.restness.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class DataCursorTest {
+
+	/**
+	 * Test that a keyset position keeps its keys and their types.
+	 */
+	@Test
+	void shouldEncodeAndDecodeKeysetPosition() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("id", 42);
+		keys.put("name", "Wanda & Pietro = twins");
+		keys.put("orderedAt", LocalDateTime.of(2024, 5, 1, 12, 30));
+		keys.put("reference", UUID.fromString("c0ffee00-0000-4000-8000-000000000001"));
+		keys.put("deletedAt", null);
+		ScrollPosition position = ScrollPosition.forward(keys);
+		ScrollPosition result = DataCursor.decode(DataCursor.encode(position));
+		Assertions.assertEquals(position, result);
+	}
+
+	/**
+	 * Test that an offset position is restored.
+	 */
+	@Test
+	void shouldEncodeAndDecodeOffsetPosition() {
+		ScrollPosition position = ScrollPosition.offset(99);
+		Assertions.assertEquals(position, DataCursor.decode(DataCursor.encode(position)));
+	}
+
+	/**
+	 * Test that a missing cursor starts at the initial keyset position.
+	 */
+	@Test
+	void shouldDecodeEmptyCursorToInitialPosition() {
+		Assertions.assertEquals(ScrollPosition.keyset(), DataCursor.decode(null));
+		Assertions.assertEquals(ScrollPosition.keyset(), DataCursor.decode(""));
+	}
+
+	/**
+	 * Test that a cursor not created by the encoder is rejected.
+	 */
+	@Test
+	void shouldRejectMalformedCursor() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataCursor.decode("not-a-cursor"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataCursor.decode("a2Y6aWQ9eDE"));
+	}
+}
@@ -0,0 +1,36 @@
+package eu.nerdfactor.restness.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class DataETagTest {
+
+	/**
+	 * Test that version tags are compared weakly with the tags of the header.
+	 */
+	@Test
+	void shouldMatchVersionTagWeakly() {
+		String eTag = DataETag.fromVersion(3);
+		Assertions.assertEquals("W/\"3\"", eTag);
+		Assertions.assertTrue(DataETag.matches("W/\"3\"", eTag));
+		Assertions.assertTrue(DataETag.matches("\"1\", \"3\"", eTag));
+		Assertions.assertTrue(DataETag.matches("*", eTag));
+		Assertions.assertFalse(DataETag.matches("W/\"2\"", eTag));
+		Assertions.assertFalse(DataETag.matches(null, eTag));
+	}
+
+	/**
+	 * Test that content tags only change with the serialized content.
+	 */
+	@Test
+	void shouldCreateContentTagFromSerializedContent() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		String eTag = DataETag.fromContent(objectMapper, Map.of("name", "Thor"));
+		Assertions.assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+		Assertions.assertEquals(eTag, DataETag.fromContent(objectMapper, Map.of("name", "Thor")));
+		Assertions.assertNotEquals(eTag, DataETag.fromContent(objectMapper, Map.of("name", "Loki")));
+	}
+}
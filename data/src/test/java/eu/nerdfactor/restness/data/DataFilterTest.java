@@ -0,0 +1,66 @@
+package eu.nerdfactor.restness.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class DataFilterTest {
+
+	/**
+	 * Test that all operators are parsed and the values can contain
+	 * operators.
+	 */
+	@Test
+	void shouldParseOperators() {
+		DataFilter filter = DataFilter.parse("name:Thor;amount>=5;amount<10;orderedAt>2024-01-01T10:00;name~Lo;id:(1,2,3);customer.name:Odin");
+		List<DataFilter.Term> terms = filter.getTerms();
+		Assertions.assertEquals(7, terms.size());
+		Assertions.assertEquals(new DataFilter.Term("name", DataFilter.Operator.EQUAL, List.of("Thor")), terms.get(0));
+		Assertions.assertEquals(new DataFilter.Term("amount", DataFilter.Operator.GREATER_OR_EQUAL, List.of("5")), terms.get(1));
+		Assertions.assertEquals(new DataFilter.Term("amount", DataFilter.Operator.LESS, List.of("10")), terms.get(2));
+		Assertions.assertEquals(new DataFilter.Term("orderedAt", DataFilter.Operator.GREATER, List.of("2024-01-01T10:00")), terms.get(3));
+		Assertions.assertEquals(new DataFilter.Term("name", DataFilter.Operator.STARTS_WITH, List.of("Lo")), terms.get(4));
+		Assertions.assertEquals(new DataFilter.Term("id", DataFilter.Operator.IN, List.of("1", "2", "3")), terms.get(5));
+		Assertions.assertEquals(new DataFilter.Term("customer.name", DataFilter.Operator.EQUAL, List.of("Odin")), terms.get(6));
+	}
+
+	/**
+	 * Test that malformed filters are rejected instead of being ignored.
+	 */
+	@Test
+	void shouldRejectMalformedFilters() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataFilter.parse("name"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataFilter.parse("name:"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataFilter.parse("name:Thor;;amount>5"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataFilter.parse(":Thor"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataFilter.parse("id:(1,,3)"));
+		Assertions.assertTrue(DataFilter.parse(" ").getTerms().isEmpty());
+	}
+
+	/**
+	 * Test that equal filters are normalized into the same string.
+	 */
+	@Test
+	void shouldNormalizeFilters() {
+		RestnessSpecificationBuilder builder = new RestnessSpecificationBuilder();
+		Assertions.assertEquals("amount>5;id:(1,2);name:Thor", builder.normalize("name:Thor;id:(1,2);amount>5"));
+		Assertions.assertEquals(builder.normalize("amount>5;name:Thor"), builder.normalize("name:Thor;amount>5"));
+		Assertions.assertEquals("", builder.normalize(null));
+		Assertions.assertSame(builder.parse("name:Thor"), builder.parse("name:Thor"));
+	}
+
+	/**
+	 * Test that values are converted into the type of their attribute.
+	 */
+	@Test
+	void shouldConvertValues() {
+		Assertions.assertEquals(42, DataFilter.convert("42", int.class));
+		Assertions.assertEquals(true, DataFilter.convert("true", Boolean.class));
+		Assertions.assertEquals(DataOperation.Type.DELETE, DataFilter.convert("DELETE", DataOperation.Type.class));
+		Assertions.assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), DataFilter.convert("2024-01-01T10:00", LocalDateTime.class));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataFilter.convert("many", int.class));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> DataFilter.convert("yesterday", LocalDateTime.class));
+	}
+}
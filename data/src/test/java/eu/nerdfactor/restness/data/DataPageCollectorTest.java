@@ -0,0 +1,70 @@
+package eu.nerdfactor.restness.data;
+
+import eu.nerdfactor.restness.entity.Example;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class DataPageCollectorTest {
+
+	private final List<Example> examples = List.of(
+			new Example(1, "c", true, 30L),
+			new Example(2, "a", true, 10L),
+			new Example(3, "e", false, 50L),
+			new Example(4, "b", true, 20L),
+			new Example(5, "d", false, 40L)
+	);
+
+	/**
+	 * Test that only the requested page is collected and all elements are
+	 * counted.
+	 */
+	@Test
+	void shouldCollectPageWithoutSort() {
+		Page<Example> page = DataPageCollector.collect(this.examples, PageRequest.of(1, 2));
+
+		Assertions.assertEquals(List.of(3, 4), page.getContent().stream().map(Example::getId).toList());
+		Assertions.assertEquals(5, page.getTotalElements());
+		Assertions.assertEquals(3, page.getTotalPages());
+	}
+
+	/**
+	 * Test that the page is collected from the sorted elements.
+	 */
+	@Test
+	void shouldCollectSortedPage() {
+		Page<Example> page = DataPageCollector.collect(this.examples, PageRequest.of(1, 2, Sort.by("name")));
+
+		Assertions.assertEquals(List.of("c", "d"), page.getContent().stream().map(Example::getName).toList());
+		Assertions.assertEquals(5, page.getTotalElements());
+	}
+
+	/**
+	 * Test that multiple orders and directions are applied.
+	 */
+	@Test
+	void shouldCollectPageSortedByMultipleProperties() {
+		Sort sort = Sort.by(Sort.Order.asc("active"), Sort.Order.desc("amount"));
+		Page<Example> page = DataPageCollector.collect(this.examples, PageRequest.of(0, 3, sort));
+
+		Assertions.assertEquals(List.of(3, 5, 1), page.getContent().stream().map(Example::getId).toList());
+	}
+
+	/**
+	 * Test that a page after the last element is empty but still counted.
+	 */
+	@Test
+	void shouldCollectEmptyPageAfterLastElement() {
+		List<Example> iterated = new ArrayList<>();
+		Page<Example> page = DataPageCollector.collect(() -> this.examples.stream().peek(iterated::add).iterator(), PageRequest.of(5, 2));
+
+		Assertions.assertTrue(page.getContent().isEmpty());
+		Assertions.assertEquals(5, page.getTotalElements());
+		Assertions.assertEquals(5, iterated.size());
+	}
+}
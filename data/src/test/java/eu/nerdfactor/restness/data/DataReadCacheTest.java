@@ -0,0 +1,75 @@
+package eu.nerdfactor.restness.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DataReadCacheTest {
+
+	/**
+	 * Test that reads are cached until the entity class is invalidated by
+	 * any cache or search cache of the class.
+	 */
+	@Test
+	void shouldCacheReadsUntilInvalidated() {
+		DataReadCache<String> cache = new DataReadCache<>(Hero.class, 10, Duration.ofMinutes(1));
+		AtomicInteger reads = new AtomicInteger();
+		Assertions.assertEquals("Thor", cache.read(1, () -> this.read(reads)).orElseThrow());
+		Assertions.assertEquals("Thor", cache.read(1, () -> this.read(reads)).orElseThrow());
+		Assertions.assertEquals(1, reads.get());
+		DataSearchCache.invalidate(Hero.class);
+		cache.read(1, () -> this.read(reads));
+		Assertions.assertEquals(2, reads.get());
+		cache.invalidate();
+		cache.read(1, () -> this.read(reads));
+		Assertions.assertEquals(3, reads.get());
+	}
+
+	/**
+	 * Test that a read is not cached, if the entity class was invalidated
+	 * while it was read.
+	 */
+	@Test
+	void shouldNotCacheReadsOutdatedWhileReading() {
+		DataReadCache<String> cache = new DataReadCache<>(Villain.class, 10, Duration.ofMinutes(1));
+		AtomicInteger reads = new AtomicInteger();
+		cache.read(1, () -> {
+			DataReadCache.invalidate(Villain.class);
+			return this.read(reads);
+		});
+		cache.read(1, () -> this.read(reads));
+		Assertions.assertEquals(2, reads.get());
+	}
+
+	/**
+	 * Test that missing entities are not cached.
+	 */
+	@Test
+	void shouldNotCacheMissingEntities() {
+		DataReadCache<String> cache = new DataReadCache<>(Sidekick.class, 10, Duration.ofMinutes(1));
+		AtomicInteger reads = new AtomicInteger();
+		cache.read(1, () -> {
+			reads.incrementAndGet();
+			return Optional.empty();
+		});
+		Assertions.assertEquals("Thor", cache.read(1, () -> this.read(reads)).orElseThrow());
+		Assertions.assertEquals(2, reads.get());
+	}
+
+	private Optional<String> read(AtomicInteger reads) {
+		reads.incrementAndGet();
+		return Optional.of("Thor");
+	}
+
+	private static class Hero {
+	}
+
+	private static class Villain {
+	}
+
+	private static class Sidekick {
+	}
+}
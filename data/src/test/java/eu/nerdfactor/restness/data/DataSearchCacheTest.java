@@ -0,0 +1,103 @@
+package eu.nerdfactor.restness.data;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DataSearchCacheTest {
+
+	/**
+	 * Test that equal searches are cached until the cache is invalidated.
+	 */
+	@Test
+	void shouldCacheSearchesUntilInvalidated() {
+		DataSearchCache<String> cache = new DataSearchCache<>(Hero.class, 10, Duration.ofMinutes(1), Duration.ZERO);
+		long generation = cache.getGeneration();
+		AtomicInteger searches = new AtomicInteger();
+		cache.search("name:Thor", PageRequest.of(0, 10), () -> this.search(searches));
+		cache.search("name:Thor", PageRequest.of(0, 10), () -> this.search(searches));
+		Assertions.assertEquals(1, searches.get());
+		cache.search("name:Thor", PageRequest.of(1, 10), () -> this.search(searches));
+		cache.search("name:Loki", PageRequest.of(0, 10), () -> this.search(searches));
+		Assertions.assertEquals(3, searches.get());
+		cache.invalidate();
+		cache.search("name:Thor", PageRequest.of(0, 10), () -> this.search(searches));
+		Assertions.assertEquals(4, searches.get());
+		Assertions.assertEquals(generation + 1, cache.getGeneration());
+	}
+
+	/**
+	 * Test that all caches of an entity class share their generation, so an
+	 * invalidation of the class makes the pages of every cache stale.
+	 */
+	@Test
+	void shouldInvalidateAllCachesOfEntityClass() {
+		DataSearchCache<String> cache = new DataSearchCache<>(Villain.class, 10, Duration.ofMinutes(1), Duration.ZERO);
+		DataSearchCache<String> otherCache = new DataSearchCache<>(Villain.class, 10, Duration.ofMinutes(1), Duration.ZERO);
+		DataSearchCache<String> unrelatedCache = new DataSearchCache<>(Sidekick.class, 10, Duration.ofMinutes(1), Duration.ZERO);
+		AtomicInteger searches = new AtomicInteger();
+		cache.search("name:Loki", PageRequest.of(0, 10), () -> this.search(searches));
+		otherCache.search("name:Loki", PageRequest.of(0, 10), () -> this.search(searches));
+		unrelatedCache.search("name:Loki", PageRequest.of(0, 10), () -> this.search(searches));
+		Assertions.assertEquals(3, searches.get());
+		DataSearchCache.invalidate(Villain.class);
+		cache.search("name:Loki", PageRequest.of(0, 10), () -> this.search(searches));
+		otherCache.search("name:Loki", PageRequest.of(0, 10), () -> this.search(searches));
+		unrelatedCache.search("name:Loki", PageRequest.of(0, 10), () -> this.search(searches));
+		Assertions.assertEquals(5, searches.get());
+		Assertions.assertEquals(cache.getGeneration(), otherCache.getGeneration());
+	}
+
+	/**
+	 * Test that stale pages are returned during the grace period, while
+	 * another search is running.
+	 */
+	@Test
+	void shouldReturnStalePagesWhileSearching() {
+		AtomicLong clock = new AtomicLong();
+		DataSearchCache<String> cache = new DataSearchCache<>(Henchman.class, 10, Duration.ofNanos(100), Duration.ofNanos(50), clock::get);
+		AtomicInteger searches = new AtomicInteger();
+		Page<String> cached = cache.search(null, PageRequest.of(0, 10), () -> this.search(searches));
+		clock.set(120);
+		Page<String> refreshed = cache.search(null, PageRequest.of(0, 10), () -> {
+			Page<String> stale = cache.search(null, PageRequest.of(0, 10), () -> this.search(searches));
+			Assertions.assertSame(cached, stale);
+			return this.search(searches);
+		});
+		Assertions.assertNotSame(cached, refreshed);
+		Assertions.assertEquals(2, searches.get());
+		cache.invalidate();
+		clock.set(200);
+		Page<String> outdated = cache.search(null, PageRequest.of(0, 10), () -> {
+			Page<String> stale = cache.search(null, PageRequest.of(0, 10), () -> this.search(searches));
+			Assertions.assertNotSame(refreshed, stale);
+			return stale;
+		});
+		Assertions.assertEquals(3, searches.get());
+		Assertions.assertNotSame(refreshed, outdated);
+	}
+
+	private Page<String> search(AtomicInteger searches) {
+		searches.incrementAndGet();
+		return new PageImpl<>(List.of("Thor", "Loki"));
+	}
+
+	private static class Hero {
+	}
+
+	private static class Villain {
+	}
+
+	private static class Sidekick {
+	}
+
+	private static class Henchman {
+	}
+}
@@ -5,6 +5,8 @@ import eu.nerdfactor.restness.entity.ExampleDto;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class RestnessEntityMapperTest {
 
 	private final DataMapper mapper = new RestnessEntityMapper();
@@ -29,6 +31,18 @@ public class RestnessEntityMapperTest {
 		Assertions.assertInstanceOf(Example.class, result);
 	}
 
+	/**
+	 * Test that a collection of entities is mapped to dtos in the same order.
+	 */
+	@Test
+	void shouldMapAllEntitiesToDtos() {
+		List<Example> entities = List.of(new Example(1, "first", true, 10L), new Example(2, "second", false, 20L));
+		List<ExampleDto> result = this.mapper.mapAll(entities, ExampleDto.class);
+		Assertions.assertEquals(2, result.size());
+		Assertions.assertEquals("first", result.get(0).getName());
+		Assertions.assertEquals("second", result.get(1).getName());
+	}
+
 	/**
 	 * Test that mapping between two unknown objects won't work.
 	 */
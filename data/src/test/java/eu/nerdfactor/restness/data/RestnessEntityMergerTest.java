@@ -74,4 +74,46 @@ public class RestnessEntityMergerTest {
 		Assertions.assertFalse(result.isActive());
 		Assertions.assertSame(original, result);
 	}
+
+	/**
+	 * Test that properties are merged, even if their name contains the
+	 * prefix of the getter.
+	 */
+	@Test
+	void shouldMergePropertiesContainingGetterPrefixUsingReflection() {
+		Budget original = new Budget();
+		original.setBudget(10);
+		original.setIsland("original");
+		Budget updated = new Budget();
+		updated.setBudget(100);
+		updated.setIsland("updated");
+
+		Budget result = this.merger.merge(original, updated);
+
+		Assertions.assertEquals(100, result.getBudget());
+		Assertions.assertEquals("updated", result.getIsland());
+		Assertions.assertSame(original, result);
+	}
+
+	public static class Budget {
+
+		private int budget;
+		private String island;
+
+		public int getBudget() {
+			return this.budget;
+		}
+
+		public void setBudget(int budget) {
+			this.budget = budget;
+		}
+
+		public String getIsland() {
+			return this.island;
+		}
+
+		public void setIsland(String island) {
+			this.island = island;
+		}
+	}
 }
@@ -11,12 +11,17 @@ import eu.nerdfactor.restness.example.entity.OrderModel;
 import eu.nerdfactor.restness.example.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import static eu.nerdfactor.restness.annotation.RestnessConfiguration.INDENT_SPACE;
 
 /**
@@ -36,11 +41,10 @@ import static eu.nerdfactor.restness.annotation.RestnessConfiguration.INDENT_SPA
 @Component
 @RequiredArgsConstructor
 @RestnessConfiguration(indentation = INDENT_SPACE, classNamePattern = "Restness{NAME_NORMALIZED}Controller", log = true)
-@RestnessController(className = "eu.nerdfactor.restness.example.controller.OrderController", value = "/api/orders", entity = OrderModel.class, id = Integer.class, dto = OrderDto.class)
+@RestnessController(className = "eu.nerdfactor.restness.example.controller.OrderController", value = "/api/orders", entity = OrderModel.class, id = Integer.class, dto = OrderDto.class, withStreaming = true, withCursorSearch = true, withSliceSearch = true, withGeneratedMapper = true, withGeneratedMerger = true, withProjection = true, withETag = true, withBatch = true, withBulkDelete = true, withPagedRelations = true, withDirectRelations = true, withDirectUpdate = true, withOperations = true)
 @RestnessSecurity(className = "eu.nerdfactor.restness.example.controller.OrderController")
 public class RestnessConfig {
 
-
 	private final EmployeeRepository employeeRepository;
 
 	/**
@@ -63,7 +67,10 @@ public class RestnessConfig {
 	 * Provides a bean of {@link DataMapper} to map between entities and dto.
 	 * This inline implementation passes the call to map() on to a
 	 * {@link ModelMapper} object. This way different mapping libraries can be
-	 * used.
+	 * used. Collections are mapped with a single {@link TypeMap} lookup per
+	 * source class. They are mapped sequentially, because the entities can
+	 * have lazy relations that are loaded by the session of the request
+	 * thread.
 	 *
 	 * @return A new DataMapper
 	 */
@@ -75,6 +82,20 @@ public class RestnessConfig {
 			public <T> T map(Object o, Class<T> cls) {
 				return mapper.map(o, cls);
 			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public <T> List<T> mapAll(Collection<?> objs, Class<T> cls) {
+				List<T> mapped = new ArrayList<>(objs.size());
+				TypeMap<Object, T> typeMap = null;
+				for (Object o : objs) {
+					if (typeMap == null || !typeMap.getSourceType().equals(o.getClass())) {
+						typeMap = mapper.typeMap((Class<Object>) o.getClass(), cls);
+					}
+					mapped.add(typeMap.map(o));
+				}
+				return mapped;
+			}
 		};
 	}
 
@@ -14,7 +14,7 @@ import eu.nerdfactor.restness.example.entity.Employee;
  * inclusion of base security. Therefore, the methods only require access to the
  * relation object and not to employee.
  */
-@RestnessController(value = "/api/employee", entity = Employee.class, id = Integer.class)
+@RestnessController(value = "/api/employee", entity = Employee.class, id = Integer.class, withCache = true, withSearchCache = true)
 @RestnessSecurity(inclusive = false)
 public class EmployeeController {
 
@@ -36,6 +36,10 @@ public interface CustomerRepository extends JpaRepository<CustomerDao, String>,
 		return this.findById(s);
 	}
 
+	default boolean existsData(String s) {
+		return this.existsById(s);
+	}
+
 	default CustomerDao updateData(@NotNull CustomerDao entity) {
 		return this.save(entity);
 	}
@@ -3,6 +3,7 @@ package eu.nerdfactor.restness.example.dto;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import eu.nerdfactor.restness.example.customer.CustomerDao;
 import eu.nerdfactor.restness.example.entity.ProductEntity;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,6 +21,7 @@ public class OrderDto {
 
 	private LocalDateTime orderedAt;
 
+	@PositiveOrZero
 	private int amount;
 
 	@JsonIgnore
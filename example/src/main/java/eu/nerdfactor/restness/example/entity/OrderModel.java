@@ -30,10 +30,13 @@ public class OrderModel {
 
 	/**
 	 * Uses Relation to specify a relation to Products. This may not be
-	 * necessary because of ManyToMany annotation being present.
+	 * necessary because of ManyToMany annotation being present. The explicit
+	 * join table allows the controller to add and remove products directly.
+	 * Its unique key keeps concurrent requests from adding a product twice.
 	 */
 	@Relation
 	@ManyToMany(fetch = FetchType.EAGER)
+	@JoinTable(name = "order_model_products", joinColumns = @JoinColumn(name = "order_model_id"), inverseJoinColumns = @JoinColumn(name = "products_id"), uniqueConstraints = @UniqueConstraint(columnNames = {"order_model_id", "products_id"}))
 	private List<ProductEntity> products;
 
 	public void addProduct(ProductEntity product) {
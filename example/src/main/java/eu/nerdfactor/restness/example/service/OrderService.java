@@ -3,6 +3,7 @@ package eu.nerdfactor.restness.example.service;
 import eu.nerdfactor.restness.data.DataAccessService;
 import eu.nerdfactor.restness.example.entity.OrderModel;
 import eu.nerdfactor.restness.example.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.CrudRepository;
@@ -10,7 +11,8 @@ import org.springframework.stereotype.Service;
 
 /**
  * Service for Orders.<br> Implements DataAccessService to provide normalized
- * access to entities.
+ * access to entities. Batches of orders are persisted with the entity
+ * manager, so they never overwrite existing orders.
  */
 @Service
 @RequiredArgsConstructor
@@ -18,8 +20,15 @@ public class OrderService implements DataAccessService<OrderModel, Integer> {
 
 	private final OrderRepository repository;
 
+	private final EntityManager entityManager;
+
 	@Override
 	public CrudRepository<OrderModel, Integer> getRepository() {
 		return this.repository;
 	}
+
+	@Override
+	public EntityManager getEntityManager() {
+		return this.entityManager;
+	}
 }
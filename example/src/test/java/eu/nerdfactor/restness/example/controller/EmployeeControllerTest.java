@@ -13,6 +13,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -23,6 +25,7 @@ import java.util.stream.StreamSupport;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -52,6 +55,124 @@ class EmployeeControllerTest {
 				.andExpect(content().json(jsonMapper.writeValueAsString(employee)));
 	}
 
+	/**
+	 * Should answer repeated reads from the cache and read the employee
+	 * again after it was updated through the controller, because the
+	 * controller is configured to cache entities.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_EMPLOYEE", "UPDATE_EMPLOYEE"})
+	void shouldLoadCachedEmployeeUntilUpdated() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		Employee employee = new Employee();
+		employee.setPerNo(13579);
+		employee.setName("Wanda Maximoff");
+		employee = this.repository.save(employee);
+		mockMvc.perform(get(API_PATH + "/" + employee.getPerNo()))
+				.andExpect(status().isOk());
+		employee.setName("Scarlet Witch");
+		this.repository.save(employee);
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(get(API_PATH + "/" + employee.getPerNo()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Wanda Maximoff"));
+		Employee changed = new Employee();
+		changed.setPerNo(employee.getPerNo());
+		changed.setName("Vision");
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(patch(API_PATH + "/" + employee.getPerNo())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(this.jsonMapper.writeValueAsString(changed))
+		).andExpect(status().isOk());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(get(API_PATH + "/" + employee.getPerNo()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Vision"));
+	}
+
+	/**
+	 * Should add staff to an employee, that was read and cached before, and
+	 * read it afterwards. The cached employee is detached and its staff is
+	 * not initialized, so the relation has to be changed on an employee that
+	 * is read without the cache.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_EMPLOYEE", "UPDATE_EMPLOYEE"})
+	void shouldAddStaffToCachedEmployee() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		Employee manager = new Employee();
+		manager.setPerNo(14001);
+		manager.setName("Maria Hill");
+		this.repository.save(manager);
+		Employee staff = new Employee();
+		staff.setPerNo(14002);
+		staff.setName("Phil Coulson");
+		this.repository.save(staff);
+		mockMvc.perform(get(API_PATH + "/14001"))
+				.andExpect(status().isOk());
+		SecurityContextHolder.setContext(context);
+		String json = mockMvc.perform(post(API_PATH + "/14001/staff/14002"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		List<Employee> added = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(1, added.size());
+		Employee changed = new Employee();
+		changed.setPerNo(14001);
+		changed.setName("Nick Fury");
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(patch(API_PATH + "/14001")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(this.jsonMapper.writeValueAsString(changed))
+		).andExpect(status().isOk());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(get(API_PATH + "/14001"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("Nick Fury"));
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(get(API_PATH + "/14001/staff"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].name").value("Phil Coulson"));
+	}
+
+	/**
+	 * Should answer repeated searches from the cache and search again after
+	 * an employee was created through the controller, because the controller
+	 * is configured to cache searched pages. The pages are cached by their
+	 * filter, but the repository of employees can not filter and returns all
+	 * employees.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_EMPLOYEE", "CREATE_EMPLOYEE"})
+	void shouldSearchCachedEmployeesUntilCreated() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		String path = API_PATH + "/search?size=5&filter=name:'Pietro'";
+		long count = StreamSupport.stream(this.repository.findAll().spliterator(), false).count();
+		mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(count));
+		Employee employee1 = new Employee();
+		employee1.setPerNo(24680);
+		employee1.setName("Pietro Maximoff");
+		this.repository.save(employee1);
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(count));
+		Employee employee2 = new Employee();
+		employee2.setPerNo(24681);
+		employee2.setName("Quicksilver");
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(post(API_PATH)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(this.jsonMapper.writeValueAsString(employee2))
+		).andExpect(status().isOk());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(count + 2));
+	}
+
 	@Test
 	@WithMockUser(roles = "READ_EMPLOYEE")
 	void shouldReturn404ErrorLoadingNotExistingEmployee() throws Exception {
@@ -158,13 +279,13 @@ class EmployeeControllerTest {
 	}
 
 	/**
-	 * Should load the list of existing employees and ignore the paging
-	 * request because {@link EmployeeRepository} does not provide sorting and
+	 * Should load a page of existing employees. The page is collected in
+	 * memory because {@link EmployeeRepository} does not provide sorting and
 	 * paging.
 	 */
 	@Test
 	@WithMockUser(roles = "READ_EMPLOYEE")
-	void shouldLoadExistingEmployeeListAndIgnorePaging() throws Exception {
+	void shouldLoadExistingEmployeeListWithPagingInMemory() throws Exception {
 		long count = StreamSupport.stream(this.repository.findAll().spliterator(), false).count();
 		Employee employee1 = new Employee();
 		employee1.setPerNo(98765);
@@ -188,6 +309,7 @@ class EmployeeControllerTest {
 
 		assertNotNull(responses);
 		assertEquals(count + 3, responses.getTotalElements());
-		assertEquals(count + 3, responses.getContent().size());
+		assertEquals(1, responses.getContent().size());
+		assertEquals(1, responses.getNumber());
 	}
 }
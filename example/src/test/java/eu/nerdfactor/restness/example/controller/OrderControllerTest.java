@@ -1,20 +1,55 @@
 package eu.nerdfactor.restness.example.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.nerdfactor.restness.data.CachingSpecificationBuilder;
+import eu.nerdfactor.restness.data.DataBatchResult;
+import eu.nerdfactor.restness.data.DataCursor;
+import eu.nerdfactor.restness.data.DataPage;
+import eu.nerdfactor.restness.data.DataSlice;
+import eu.nerdfactor.restness.data.DataSpecificationBuilder;
+import eu.nerdfactor.restness.data.DataWindow;
+import eu.nerdfactor.restness.example.customer.CustomerDao;
+import eu.nerdfactor.restness.example.customer.CustomerDto;
+import eu.nerdfactor.restness.example.customer.CustomerRepository;
 import eu.nerdfactor.restness.example.dto.OrderDto;
+import eu.nerdfactor.restness.example.dto.ProductDto;
 import eu.nerdfactor.restness.example.entity.OrderModel;
+import eu.nerdfactor.restness.example.entity.ProductEntity;
 import eu.nerdfactor.restness.example.repository.OrderRepository;
+import eu.nerdfactor.restness.example.repository.ProductRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -32,6 +67,15 @@ class OrderControllerTest {
 	@Autowired
 	OrderRepository repository;
 
+	@Autowired
+	ProductRepository productRepository;
+
+	@Autowired
+	CustomerRepository customerRepository;
+
+	@Autowired
+	DataSpecificationBuilder specificationBuilder;
+
 	@Test
 	@WithMockUser(roles = {"READ_ORDER"})
 	void loadOrder() throws Exception {
@@ -49,4 +93,717 @@ class OrderControllerTest {
 		// milliseconds will be different after loading from DB, therefor only compare day
 		assertEquals(now.getDayOfMonth(), response.getOrderedAt().getDayOfMonth());
 	}
+
+	/**
+	 * Should answer with 304 and no body, if the client already has the
+	 * current order, because the controller is configured to use ETags. The
+	 * mocked user is cleared after a request, so it is restored for the
+	 * second request.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER"})
+	void loadUnmodifiedOrder() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		OrderModel order = new OrderModel();
+		order.setId(5001);
+		order.setOrderedAt(LocalDateTime.now());
+		order = this.repository.save(order);
+		String eTag = mockMvc.perform(get(API_PATH + "/" + order.getId()))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn()
+				.getResponse()
+				.getHeader(HttpHeaders.ETAG);
+		SecurityContextHolder.setContext(context);
+		String body = mockMvc.perform(get(API_PATH + "/" + order.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+		assertTrue(body.isEmpty());
+	}
+
+	/**
+	 * Should create all orders of the batch in one request and return the
+	 * created orders in the order of the request.
+	 */
+	@Test
+	@WithMockUser(roles = {"CREATE_ORDER"})
+	void createOrderBatch() throws Exception {
+		List<OrderDto> orders = new ArrayList<>();
+		for (int id = 6001; id <= 6003; id++) {
+			OrderDto order = new OrderDto();
+			order.setId(id);
+			order.setAmount(id - 6000);
+			orders.add(order);
+		}
+		String json = mockMvc.perform(post(API_PATH + "/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(orders)))
+				.andExpect(status().isCreated())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+		List<OrderDto> created = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(3, created.size());
+		for (int i = 0; i < created.size(); i++) {
+			assertEquals(6001 + i, created.get(i).getId());
+		}
+		assertEquals(2, this.repository.findById(6002).orElseThrow().getAmount());
+	}
+
+	/**
+	 * Should reject a batch that contains the id of an existing order,
+	 * without updating the existing order or creating the other orders.
+	 */
+	@Test
+	@WithMockUser(roles = {"CREATE_ORDER"})
+	void createOrderBatchWithExistingId() throws Exception {
+		OrderModel existing = new OrderModel();
+		existing.setId(6102);
+		existing.setAmount(7);
+		this.repository.save(existing);
+		List<OrderDto> orders = new ArrayList<>();
+		for (int id = 6101; id <= 6103; id++) {
+			OrderDto order = new OrderDto();
+			order.setId(id);
+			order.setAmount(1);
+			orders.add(order);
+		}
+		mockMvc.perform(post(API_PATH + "/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(orders)))
+				.andExpect(status().isConflict());
+		assertEquals(7, this.repository.findById(6102).orElseThrow().getAmount());
+		assertFalse(this.repository.existsById(6101));
+	}
+
+	/**
+	 * Should update all existing orders of the batch in one request, but
+	 * reject the whole batch without any change, if it contains the id of an
+	 * order that does not exist. The mocked user is cleared after a request,
+	 * so it is restored for the following request.
+	 */
+	@Test
+	@WithMockUser(roles = {"UPDATE_ORDER"})
+	void setOrderBatch() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		List<OrderDto> orders = new ArrayList<>();
+		for (int id = 6201; id <= 6202; id++) {
+			OrderModel existing = new OrderModel();
+			existing.setId(id);
+			existing.setAmount(1);
+			this.repository.save(existing);
+			OrderDto order = new OrderDto();
+			order.setId(id);
+			order.setAmount(5);
+			orders.add(order);
+		}
+		mockMvc.perform(put(API_PATH + "/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(orders)))
+				.andExpect(status().isOk());
+		assertEquals(5, this.repository.findById(6202).orElseThrow().getAmount());
+		OrderDto missing = new OrderDto();
+		missing.setId(6203);
+		missing.setAmount(9);
+		orders.get(0).setAmount(9);
+		orders.add(missing);
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(put(API_PATH + "/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(orders)))
+				.andExpect(status().isNotFound());
+		assertEquals(5, this.repository.findById(6201).orElseThrow().getAmount());
+		assertFalse(this.repository.existsById(6203));
+	}
+
+	/**
+	 * Should delete only the orders with the provided ids and return the
+	 * number of deleted orders.
+	 */
+	@Test
+	@WithMockUser(roles = {"DELETE_ORDER"})
+	void deleteOrdersByIds() throws Exception {
+		for (int id = 7001; id <= 7003; id++) {
+			OrderModel order = new OrderModel();
+			order.setId(id);
+			this.repository.save(order);
+		}
+		String count = mockMvc.perform(delete(API_PATH + "?ids=7001,7002"))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+		assertEquals("2", count);
+		assertFalse(this.repository.existsById(7001));
+		assertTrue(this.repository.existsById(7003));
+	}
+
+	/**
+	 * Should delete all orders matching the filter.
+	 */
+	@Test
+	@WithMockUser(roles = {"DELETE_ORDER"})
+	void deleteOrdersByFilter() throws Exception {
+		for (int id = 7101; id <= 7103; id++) {
+			OrderModel order = new OrderModel();
+			order.setId(id);
+			this.repository.save(order);
+		}
+		mockMvc.perform(delete(API_PATH + "?filter=id > 7100 and id < 7200"))
+				.andExpect(status().isOk());
+		assertFalse(this.repository.existsById(7101));
+		assertFalse(this.repository.existsById(7103));
+	}
+
+	/**
+	 * Should not delete all orders, if neither ids nor a filter are provided.
+	 */
+	@Test
+	@WithMockUser(roles = {"DELETE_ORDER"})
+	void deleteOrdersWithoutIdsOrFilter() throws Exception {
+		long count = this.repository.count();
+		mockMvc.perform(delete(API_PATH))
+				.andExpect(status().isBadRequest());
+		assertEquals(count, this.repository.count());
+	}
+
+	/**
+	 * Should stream the list of orders as newline delimited JSON, because the
+	 * controller is configured to use streaming.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER"})
+	void streamOrderList() throws Exception {
+		long count = this.repository.count();
+		OrderModel order = new OrderModel();
+		order.setId(1001);
+		order.setOrderedAt(LocalDateTime.now());
+		order = this.repository.save(order);
+		MvcResult result = mockMvc.perform(get(API_PATH))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String ndjson = mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+		List<String> lines = ndjson.lines().filter(line -> !line.isBlank()).toList();
+		assertEquals(count + 1, lines.size());
+		List<Integer> ids = new ArrayList<>();
+		for (String line : lines) {
+			ids.add(this.jsonMapper.readValue(line, OrderDto.class).getId());
+		}
+		assertTrue(ids.contains(order.getId()));
+	}
+
+	/**
+	 * Should return the first window of the filtered orders and a cursor
+	 * pointing to the next window.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER"})
+	void scrollFirstOrdersByCursor() throws Exception {
+		this.createOrders(2001, 2003);
+		String json = mockMvc.perform(get(API_PATH + "/search/cursor?size=2&sort=id&filter=id > 2000 and id < 3000"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		DataWindow<OrderDto> response = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(2, response.getContent().size());
+		assertEquals(2001, response.getContent().get(0).getId());
+		assertEquals(2002, response.getContent().get(1).getId());
+		assertEquals(DataCursor.encode(ScrollPosition.forward(Map.of("id", 2002))), response.getNext());
+	}
+
+	/**
+	 * Should return the last window of the filtered orders after the position
+	 * of the cursor.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER"})
+	void scrollNextOrdersByCursor() throws Exception {
+		this.createOrders(3001, 3003);
+		String cursor = DataCursor.encode(ScrollPosition.forward(Map.of("id", 3002)));
+		String json = mockMvc.perform(get(API_PATH + "/search/cursor?size=2&sort=id&filter=id > 3000 and id < 4000&cursor=" + cursor))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		DataWindow<OrderDto> response = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(1, response.getContent().size());
+		assertEquals(3003, response.getContent().get(0).getId());
+		assertNull(response.getNext());
+		assertFalse(response.hasNext());
+	}
+
+	/**
+	 * Should search the filtered orders and return a slice without the total
+	 * amount of orders, because the controller is configured to use slices.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER"})
+	void searchOrderSlice() throws Exception {
+		this.createOrders(4001, 4003);
+		String json = mockMvc.perform(get(API_PATH + "/search?page=0&size=2&sort=id&filter=id > 4000 and id < 5000"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertFalse(json.contains("totalElements"));
+		DataSlice<OrderDto> response = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(2, response.getContent().size());
+		assertEquals(4001, response.getContent().get(0).getId());
+		assertTrue(response.hasNext());
+	}
+
+	/**
+	 * Should answer with 400 before any order is searched or deleted, if a
+	 * filter contains an unknown attribute. The mocked user is cleared after
+	 * a request, so it is restored for the second request.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "DELETE_ORDER"})
+	void searchOrdersWithUnknownAttribute() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		this.createOrders(8801, 8802);
+		mockMvc.perform(get(API_PATH + "/search?filter=unknown : 1"))
+				.andExpect(status().isBadRequest());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(delete(API_PATH + "?filter=unknown : 1"))
+				.andExpect(status().isBadRequest());
+		assertTrue(this.repository.existsById(8801));
+	}
+
+	/**
+	 * Should build the specification of a repeated filter only once, because
+	 * the specification builder is wrapped by a cache in the application
+	 * properties.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER"})
+	void searchOrdersWithCachedSpecification() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		CachingSpecificationBuilder builder = assertInstanceOf(CachingSpecificationBuilder.class, this.specificationBuilder);
+		this.createOrders(8701, 8703);
+		String path = API_PATH + "/search?page=0&size=5&sort=id&filter=id > 8700 and id < 8800";
+		mockMvc.perform(get(path)).andExpect(status().isOk());
+		long hits = builder.getHitCount();
+		long misses = builder.getMissCount();
+		SecurityContextHolder.setContext(context);
+		String json = mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		DataSlice<OrderDto> response = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(3, response.getContent().size());
+		assertEquals(hits + 1, builder.getHitCount());
+		assertEquals(misses, builder.getMissCount());
+	}
+
+	/**
+	 * Should query a sorted page of the products of an order, because the
+	 * controller is configured to use paged relations.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "READ_PRODUCT", "UPDATE_PRODUCT"})
+	void loadPagedOrderProducts() throws Exception {
+		List<ProductEntity> products = new ArrayList<>();
+		for (String name : List.of("Paged A", "Paged B", "Paged C")) {
+			ProductEntity product = new ProductEntity();
+			product.setName(name);
+			products.add(this.productRepository.save(product));
+		}
+		OrderModel order = new OrderModel();
+		order.setId(8001);
+		order.setOrderedAt(LocalDateTime.now());
+		order.setProducts(products);
+		this.repository.save(order);
+		String json = mockMvc.perform(get(API_PATH + "/8001/products?page=0&size=2&sort=name,desc"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		DataPage<ProductDto> response = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(3, response.getTotalElements());
+		assertEquals(2, response.getContent().size());
+		assertEquals("Paged C", response.getContent().get(0).getName());
+		assertEquals("Paged B", response.getContent().get(1).getName());
+	}
+
+	/**
+	 * Should answer with 404, if the order of the paged products does not
+	 * exist.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "READ_PRODUCT"})
+	void loadPagedProductsOfMissingOrder() throws Exception {
+		mockMvc.perform(get(API_PATH + "/8999/products"))
+				.andExpect(status().isNotFound());
+	}
+
+	/**
+	 * Should count the (filtered) products of an order with a count query.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "READ_PRODUCT", "UPDATE_PRODUCT"})
+	void countOrderProducts() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		List<ProductEntity> products = new ArrayList<>();
+		for (String name : List.of("Counted A", "Counted B", "Other C")) {
+			ProductEntity product = new ProductEntity();
+			product.setName(name);
+			products.add(this.productRepository.save(product));
+		}
+		OrderModel order = new OrderModel();
+		order.setId(8201);
+		order.setOrderedAt(LocalDateTime.now());
+		order.setProducts(products);
+		this.repository.save(order);
+		String count = mockMvc.perform(get(API_PATH + "/8201/products/count"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertEquals("3", count);
+		SecurityContextHolder.setContext(context);
+		String filtered = mockMvc.perform(get(API_PATH + "/8201/products/count?filter=name~~'Counted%'"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertEquals("2", filtered);
+	}
+
+	/**
+	 * Should add and remove a list of products of an order by their ids in a
+	 * single request each.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "UPDATE_ORDER", "READ_PRODUCT", "UPDATE_PRODUCT"})
+	void addAndRemoveOrderProductBatch() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		List<Integer> ids = new ArrayList<>();
+		for (String name : List.of("Batch A", "Batch B", "Batch C")) {
+			ProductEntity product = new ProductEntity();
+			product.setName(name);
+			ids.add(this.productRepository.save(product).getId());
+		}
+		OrderModel order = new OrderModel();
+		order.setId(8301);
+		order.setOrderedAt(LocalDateTime.now());
+		order.setProducts(new ArrayList<>());
+		this.repository.save(order);
+		mockMvc.perform(post(API_PATH + "/8301/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(ids)))
+				.andExpect(status().isNoContent());
+		SecurityContextHolder.setContext(context);
+		assertEquals("3", mockMvc.perform(get(API_PATH + "/8301/products/count"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(delete(API_PATH + "/8301/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(ids.subList(0, 2))))
+				.andExpect(status().isNoContent());
+		SecurityContextHolder.setContext(context);
+		String count = mockMvc.perform(get(API_PATH + "/8301/products/count"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertEquals("1", count);
+	}
+
+	/**
+	 * Should add a batch of products only once, even if it repeats products
+	 * or contains products that were already added. A batch with a missing
+	 * product is rejected with 404 without adding any product of it.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "UPDATE_ORDER", "READ_PRODUCT", "UPDATE_PRODUCT"})
+	void addOrderProductBatchOnlyOnce() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		List<Integer> ids = new ArrayList<>();
+		for (String name : List.of("Once A", "Once B", "Once C")) {
+			ProductEntity product = new ProductEntity();
+			product.setName(name);
+			ids.add(this.productRepository.save(product).getId());
+		}
+		OrderModel order = new OrderModel();
+		order.setId(8351);
+		order.setOrderedAt(LocalDateTime.now());
+		order.setProducts(new ArrayList<>());
+		this.repository.save(order);
+		mockMvc.perform(post(API_PATH + "/8351/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(List.of(ids.get(0), ids.get(0)))))
+				.andExpect(status().isNoContent());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(post(API_PATH + "/8351/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(ids)))
+				.andExpect(status().isNoContent());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(post(API_PATH + "/8351/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(this.jsonMapper.writeValueAsString(List.of(ids.get(1), 99999))))
+				.andExpect(status().isNotFound());
+		SecurityContextHolder.setContext(context);
+		assertEquals("3", mockMvc.perform(get(API_PATH + "/8351/products/count"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	/**
+	 * Should answer with 404, if products are removed directly from an order
+	 * that does not exist.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "UPDATE_ORDER", "READ_PRODUCT", "UPDATE_PRODUCT"})
+	void removeProductsOfMissingOrder() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		mockMvc.perform(delete(API_PATH + "/8998/products/1"))
+				.andExpect(status().isNotFound());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(delete(API_PATH + "/8998/products/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("[1, 2]"))
+				.andExpect(status().isNotFound());
+	}
+
+	/**
+	 * Should add a product to an order directly in the join table and not
+	 * add it twice, because the controller is configured to use direct
+	 * relations.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "UPDATE_ORDER", "READ_PRODUCT", "UPDATE_PRODUCT"})
+	void addOrderProductDirectly() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		ProductEntity product = new ProductEntity();
+		product.setName("Direct");
+		product = this.productRepository.save(product);
+		OrderModel order = new OrderModel();
+		order.setId(8401);
+		order.setOrderedAt(LocalDateTime.now());
+		order.setProducts(new ArrayList<>());
+		this.repository.save(order);
+		mockMvc.perform(post(API_PATH + "/8401/products/" + product.getId()))
+				.andExpect(status().isNoContent());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(post(API_PATH + "/8401/products/" + product.getId()))
+				.andExpect(status().isNoContent());
+		SecurityContextHolder.setContext(context);
+		String json = mockMvc.perform(get(API_PATH + "/8401/products"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		DataPage<ProductDto> products = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(1, products.getContent().size());
+		assertEquals("Direct", products.getContent().get(0).getName());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(delete(API_PATH + "/8401/products/" + product.getId()))
+				.andExpect(status().isNoContent());
+		SecurityContextHolder.setContext(context);
+		assertEquals("0", mockMvc.perform(get(API_PATH + "/8401/products/count"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	/**
+	 * Should answer with 404 and not write the join table, if the product
+	 * added directly to an order does not exist.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "UPDATE_ORDER", "READ_PRODUCT", "UPDATE_PRODUCT"})
+	void addMissingOrderProductDirectly() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		OrderModel order = new OrderModel();
+		order.setId(8451);
+		order.setOrderedAt(LocalDateTime.now());
+		order.setProducts(new ArrayList<>());
+		this.repository.save(order);
+		mockMvc.perform(post(API_PATH + "/8451/products/99999"))
+				.andExpect(status().isNotFound());
+		SecurityContextHolder.setContext(context);
+		assertEquals("0", mockMvc.perform(get(API_PATH + "/8451/products/count"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	/**
+	 * Should read the customer of an order with a query on the customer,
+	 * without loading the order.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "READ_CUSTOMER"})
+	void loadOrderCustomer() throws Exception {
+		CustomerDao customer = new CustomerDao();
+		customer.setEmail("relation@example.com");
+		customer.setName("Relation");
+		customer = this.customerRepository.save(customer);
+		OrderModel order = new OrderModel();
+		order.setId(8101);
+		order.setOrderedAt(LocalDateTime.now());
+		order.setCustomer(customer);
+		this.repository.save(order);
+		String json = mockMvc.perform(get(API_PATH + "/8101/customer"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		CustomerDto response = this.jsonMapper.readValue(json, CustomerDto.class);
+		assertEquals("relation@example.com", response.getEmail());
+		assertEquals("Relation", response.getName());
+	}
+
+	/**
+	 * Should update the amount of an order with a single update statement
+	 * and keep all other values, because the controller is configured to use
+	 * direct updates. The order is not read again for the response.
+	 */
+	@Test
+	@WithMockUser(roles = {"UPDATE_ORDER"})
+	void patchOrderAmountDirectly() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		LocalDateTime orderedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+		OrderModel order = new OrderModel();
+		order.setId(8501);
+		order.setOrderedAt(orderedAt);
+		order.setAmount(1);
+		this.repository.save(order);
+		mockMvc.perform(patch(API_PATH + "/8501")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"amount\": 5}"))
+				.andExpect(status().isNoContent());
+		OrderModel patched = this.repository.findById(8501).orElseThrow();
+		assertEquals(5, patched.getAmount());
+		assertEquals(orderedAt, patched.getOrderedAt());
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(patch(API_PATH + "/8998")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"amount\": 5}"))
+				.andExpect(status().isNotFound());
+	}
+
+	/**
+	 * Should only update the properties present in the request body and keep
+	 * the primitive amount, that was not sent.
+	 */
+	@Test
+	@WithMockUser(roles = {"UPDATE_ORDER"})
+	void patchOrderWithoutPrimitive() throws Exception {
+		OrderModel order = new OrderModel();
+		order.setId(8502);
+		order.setOrderedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+		order.setAmount(4);
+		this.repository.save(order);
+		LocalDateTime orderedAt = LocalDateTime.of(2024, 2, 1, 12, 0);
+		mockMvc.perform(patch(API_PATH + "/8502")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"orderedAt\": \"2024-02-01T12:00:00\"}"))
+				.andExpect(status().isNoContent());
+		OrderModel patched = this.repository.findById(8502).orElseThrow();
+		assertEquals(4, patched.getAmount());
+		assertEquals(orderedAt, patched.getOrderedAt());
+	}
+
+	/**
+	 * Should reject a malformed value of a direct update with 400.
+	 */
+	@Test
+	@WithMockUser(roles = {"UPDATE_ORDER"})
+	void patchOrderWithMalformedValue() throws Exception {
+		OrderModel order = new OrderModel();
+		order.setId(8503);
+		order.setAmount(4);
+		this.repository.save(order);
+		mockMvc.perform(patch(API_PATH + "/8503")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"amount\": \"many\"}"))
+				.andExpect(status().isBadRequest());
+		assertEquals(4, this.repository.findById(8503).orElseThrow().getAmount());
+	}
+
+	/**
+	 * Should reject an invalid value of a direct update with 400 and report
+	 * the failing field, like a validated request body.
+	 */
+	@Test
+	@WithMockUser(roles = {"UPDATE_ORDER"})
+	void patchOrderWithInvalidValue() throws Exception {
+		OrderModel order = new OrderModel();
+		order.setId(8504);
+		order.setAmount(4);
+		this.repository.save(order);
+		mockMvc.perform(patch(API_PATH + "/8504")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"amount\": -1}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(result -> assertEquals("amount", ((MethodArgumentNotValidException) result.getResolvedException()).getFieldError().getField()));
+		assertEquals(4, this.repository.findById(8504).orElseThrow().getAmount());
+	}
+
+	/**
+	 * Should create an order, patch it and add a product in one request and
+	 * return the result of every operation.
+	 */
+	@Test
+	@WithMockUser(roles = {"CREATE_ORDER", "READ_ORDER", "UPDATE_ORDER", "READ_PRODUCT", "UPDATE_PRODUCT"})
+	void applyOrderOperations() throws Exception {
+		ProductEntity product = new ProductEntity();
+		product.setName("Operated");
+		product = this.productRepository.save(product);
+		String operations = """
+				[
+				  {"op": "create", "content": {"id": 8601, "amount": 2}},
+				  {"op": "update", "id": 8601, "content": {"amount": 3}},
+				  {"op": "addRelation", "id": 8601, "relation": "products", "relatedId": %d}
+				]
+				""".formatted(product.getId());
+		String json = mockMvc.perform(post(API_PATH + "/_ops")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(operations))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		List<DataBatchResult<Object>> results = this.jsonMapper.readValue(json, new TypeReference<>() {
+		});
+		assertEquals(3, results.size());
+		assertEquals(200, results.get(0).getStatus());
+		assertEquals(204, results.get(1).getStatus());
+		assertEquals(204, results.get(2).getStatus());
+		assertEquals(3, this.repository.findById(8601).orElseThrow().getAmount());
+		assertEquals(1, this.repository.findById(8601).orElseThrow().getProducts().size());
+	}
+
+	/**
+	 * Should roll back all operations, if one operation fails.
+	 */
+	@Test
+	@WithMockUser(roles = {"CREATE_ORDER", "UPDATE_ORDER"})
+	void rollBackFailedOrderOperations() throws Exception {
+		String operations = """
+				[
+				  {"op": "create", "content": {"id": 8602, "amount": 2}},
+				  {"op": "update", "id": 8997, "content": {"amount": 3}}
+				]
+				""";
+		mockMvc.perform(post(API_PATH + "/_ops")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(operations))
+				.andExpect(status().isNotFound());
+		assertFalse(this.repository.existsById(8602));
+	}
+
+	/**
+	 * Should reject a cursor that was not created by the controller.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER"})
+	void rejectMalformedCursor() throws Exception {
+		mockMvc.perform(get(API_PATH + "/search/cursor?cursor=not-a-cursor"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private void createOrders(int firstId, int lastId) {
+		for (int id = firstId; id <= lastId; id++) {
+			OrderModel order = new OrderModel();
+			order.setId(id);
+			order.setOrderedAt(LocalDateTime.now());
+			this.repository.save(order);
+		}
+	}
 }
@@ -0,0 +1,95 @@
+package eu.nerdfactor.restness.example.controller;
+
+import eu.nerdfactor.restness.data.DataSpecificationBuilder;
+import eu.nerdfactor.restness.data.RestnessSpecificationBuilder;
+import eu.nerdfactor.restness.example.entity.OrderModel;
+import eu.nerdfactor.restness.example.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the filters of the generated order controller with the
+ * {@link RestnessSpecificationBuilder} instead of the specification builder
+ * of the example application.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderFilterControllerTest {
+
+	private static final String API_PATH = "/api/orders";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	OrderRepository repository;
+
+	/**
+	 * Should search the orders matching the typed values of the filter.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER"})
+	void searchOrdersWithTypedFilter() throws Exception {
+		this.createOrder(9101, 3);
+		this.createOrder(9102, 5);
+		mockMvc.perform(get(API_PATH + "/search?sort=id&filter=id>9100;id<9200;amount>=4"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content.length()").value(1))
+				.andExpect(jsonPath("$.content[0].id").value(9102));
+	}
+
+	/**
+	 * Should answer with 400 before any order is searched or deleted, if a
+	 * filter contains a value that does not match the type of its attribute,
+	 * an unknown attribute or compares the prefix of an attribute that is not
+	 * a string. The mocked user is cleared after a request, so it is restored
+	 * for the following requests.
+	 */
+	@Test
+	@WithMockUser(roles = {"READ_ORDER", "DELETE_ORDER"})
+	void searchOrdersWithInvalidFilter() throws Exception {
+		SecurityContext context = SecurityContextHolder.getContext();
+		this.createOrder(9201, 1);
+		for (String filter : new String[]{"amount>abc", "unknown:1", "amount~1", "id:(9201,abc)"}) {
+			SecurityContextHolder.setContext(context);
+			mockMvc.perform(get(API_PATH + "/search?filter=" + filter))
+					.andExpect(status().isBadRequest());
+		}
+		SecurityContextHolder.setContext(context);
+		mockMvc.perform(delete(API_PATH + "?filter=id:9201;amount>abc"))
+				.andExpect(status().isBadRequest());
+		assertTrue(this.repository.existsById(9201));
+	}
+
+	private void createOrder(int id, int amount) {
+		OrderModel order = new OrderModel();
+		order.setId(id);
+		order.setAmount(amount);
+		this.repository.save(order);
+	}
+
+	@TestConfiguration
+	static class FilterConfiguration {
+
+		@Bean
+		@Primary
+		public DataSpecificationBuilder getFilterSpecificationBuilder() {
+			return new RestnessSpecificationBuilder();
+		}
+	}
+}
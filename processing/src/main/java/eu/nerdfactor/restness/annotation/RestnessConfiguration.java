@@ -9,6 +9,11 @@ import java.lang.annotation.Target;
 
 /**
  * Annotation class to configure the generation of generated rest controllers.
+ * <p>
+ * Generated endpoints run on the request thread of the servlet container. To
+ * run them on virtual threads, enable {@code spring.threads.virtual.enabled}
+ * with Java 21, so Spring Boot serves every request on its own virtual
+ * thread.
  *
  * @author Daniel Klug
  */
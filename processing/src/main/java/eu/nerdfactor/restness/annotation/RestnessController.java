@@ -61,6 +61,193 @@ public @interface RestnessController {
 	 */
 	boolean withRelations() default true;
 
+	/**
+	 * By default, the list endpoint collects all entities into one response. If
+	 * enabled, the entities will be read in chunks and streamed as newline
+	 * delimited JSON while they are mapped. This keeps the memory usage flat
+	 * for large tables.
+	 */
+	boolean withStreaming() default false;
+
+	/**
+	 * If enabled, an additional search endpoint will be created, that returns
+	 * a window of entities and a cursor pointing to the next window. Each
+	 * window will be read after the position of the cursor instead of an
+	 * offset, so deep windows are as fast as the first one.
+	 */
+	boolean withCursorSearch() default false;
+
+	/**
+	 * By default, the search endpoint returns a page containing the total
+	 * amount of found entities. If enabled, it will return a slice that only
+	 * knows if there is a next slice. This skips the additional count query
+	 * for every search.
+	 */
+	boolean withSliceSearch() default false;
+
+	/**
+	 * By default, all mapping between entity and dto is done by the
+	 * configured DataMapper. If enabled, a DataMapper is generated along with
+	 * the controller that copies matching properties with plain getter and
+	 * setter calls. Mappings it does not know about are still passed on to the
+	 * configured DataMapper.
+	 */
+	boolean withGeneratedMapper() default false;
+
+	/**
+	 * By default, updated entities are merged by the configured DataMerger.
+	 * If enabled, a DataMerger is generated along with the controller that
+	 * copies all changed properties of the entity with plain getter and setter
+	 * calls. Null values and empty strings are skipped. Other objects are
+	 * still passed on to the configured DataMerger.
+	 */
+	boolean withGeneratedMerger() default false;
+
+	/**
+	 * By default, list, search and read load the entities and map them into
+	 * the response dto. If enabled, only the basic attributes present in the
+	 * response dto are selected from the database and written directly into
+	 * the dto, without loading any entity. Relations and nested objects of
+	 * the dto are not set and reported as compiler warnings. Only used if the
+	 * controller has a response dto.
+	 */
+	boolean withProjection() default false;
+
+	/**
+	 * By default, the get endpoint always returns the full entity. If
+	 * enabled, the response contains an ETag and a request with a matching
+	 * If-None-Match header is answered with 304 Not Modified and no body. The
+	 * ETag is created from the version of the entity, so mapping is skipped
+	 * for unchanged entities. Without a version, with a projection or if the
+	 * response contains relations or nested objects, whose changes do not
+	 * change the version, it is created from a hash of the serialized
+	 * response.
+	 */
+	boolean withETag() default false;
+
+	/**
+	 * By default, the set endpoint (PUT) answers with 404 Not Found, if the
+	 * entity does not exist. If enabled, the entity is created instead and
+	 * the existence is not checked at all.
+	 */
+	boolean withUpsert() default false;
+
+	/**
+	 * By default, the update endpoint (PATCH) loads the entity, merges the
+	 * changes and saves the complete entity. If enabled, changes that only
+	 * contain basic properties of the entity are written with a single update
+	 * statement without loading the entity and answer with 204 No Content,
+	 * because the entity is not read again. Changes of relations still use
+	 * the merge and answer with the updated entity. In both cases primitive
+	 * properties are only changed, if they are present in the request body.
+	 */
+	boolean withDirectUpdate() default false;
+
+	/**
+	 * By default, only single entities can be created or updated. If
+	 * enabled, additional batch endpoints are generated, that create (POST) or
+	 * create and update (PUT) a list of entities in one transaction. Creating
+	 * an entity with the id of an existing entity rejects the whole batch with
+	 * 409 Conflict, other constraint violations with 400 Bad Request. Updating
+	 * an entity that does not exist rejects the whole batch with 404 Not
+	 * Found, unless upserts are enabled. Entities are only persisted instead
+	 * of merged, if the {@code DataAccessService} provides its entity
+	 * manager. Multiple relations also get endpoints, that add or remove
+	 * a list of related entities by their ids.
+	 */
+	boolean withBatch() default false;
+
+	/**
+	 * By default, entities can only be deleted one by one. If enabled, an
+	 * additional endpoint is generated, that deletes all entities with the
+	 * provided ids or matching the provided filter in a single delete query
+	 * and returns the number of deleted entities.
+	 */
+	boolean withBulkDelete() default false;
+
+	/**
+	 * By default, every change is sent in its own request. If enabled, an
+	 * additional operations endpoint (POST) is generated, that applies an
+	 * ordered list of create, update, set, delete and relation operations in
+	 * one transaction. The operations are dispatched to the generated
+	 * endpoints and validated with the bean validation provider.
+	 */
+	boolean withOperations() default false;
+
+	/**
+	 * By default, every read of a single entity is answered by the data
+	 * accessor. If enabled, the responses of entities read by id are cached
+	 * in memory. Entity responses are cached as detached copies, so no
+	 * managed entity is shared between requests. Every write through a
+	 * controller with a cache for the same entity makes all cached responses
+	 * stale. Other writes are only visible after the time to live. Reads with
+	 * a version ETag are not cached.
+	 */
+	boolean withCache() default false;
+
+	/**
+	 * The maximum number of cached responses, if the cache is enabled.
+	 */
+	int cacheSize() default 1000;
+
+	/**
+	 * The number of seconds after which a cached response expires, if the
+	 * cache is enabled.
+	 */
+	long cacheTtl() default 60;
+
+	/**
+	 * By default, every search is answered by the data accessor. If enabled,
+	 * the mapped pages of searches are cached in memory by their filter, page
+	 * and sort. Entity responses are cached as detached copies, so no managed
+	 * entity is shared between requests. Every write through a controller
+	 * with a cache for the same entity makes all cached pages stale, as does
+	 * adding or removing the entity in a relation of such a controller. Other
+	 * writes are only visible after the time to live. Only page searches of
+	 * entities are cached.
+	 */
+	boolean withSearchCache() default false;
+
+	/**
+	 * The maximum number of cached pages, if the search cache is enabled.
+	 */
+	int searchCacheSize() default 100;
+
+	/**
+	 * The number of seconds after which a cached page is stale, if the
+	 * search cache is enabled.
+	 */
+	long searchCacheTtl() default 10;
+
+	/**
+	 * The number of seconds a stale page is still returned, while one request
+	 * searches it again. This can return outdated pages right after a write,
+	 * so it is disabled by default.
+	 */
+	long searchCacheGrace() default 0;
+
+	/**
+	 * By default, the related entities are returned as complete list from
+	 * the loaded entity. If enabled, the related entities are queried
+	 * directly, without loading the entity, and can be filtered, sorted and
+	 * paged like the search endpoint.
+	 */
+	boolean withPagedRelations() default false;
+
+	/**
+	 * By default, related entities are added and removed through the
+	 * accessors of the loaded entity, which initializes the whole relation.
+	 * If enabled, multiple relations with an explicit join table or a mapped
+	 * by attribute are written directly on the join table or the foreign
+	 * key, without loading the entity or its relation. A batch of related
+	 * entities is written with a fixed number of statements. Adding to these
+	 * relations then answers with 204, like removing them, instead of
+	 * returning the whole relation. Other relations still answer with the
+	 * whole relation. A join table should declare a unique key on both
+	 * columns, so concurrent requests can not add the same entity twice.
+	 */
+	boolean withDirectRelations() default false;
+
 	@Retention(RetentionPolicy.SOURCE)
 	@Target({ElementType.TYPE})
 	@interface List {
@@ -5,6 +5,7 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import eu.nerdfactor.restness.annotation.IdAccessor;
 import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
 import eu.nerdfactor.restness.config.RelationConfiguration;
 import eu.nerdfactor.restness.data.DataAccessor;
 import eu.nerdfactor.restness.data.DataMapper;
@@ -246,7 +247,84 @@ public class ControllerConfigurationFromAnnotationBuilder {
 			relations = RelationConfigurationFromAnnotationBuilder.create().withElement(entityElement).withUtils(this.elementUtils).withClasses(this.dtoClasses).withDtos(withDto).build();
 		}
 
-		return new ControllerConfiguration(RestnessUtil.toClassName(generatedClassName), requestMapping, entityClass, idClass, idAccessor, withDto ? dtoClasses[0] : null, withDto ? dtoClasses[1] : null, withDto ? dtoClasses[2] : null, this.responseWrapperClassName, dataAccessorClass, dataMergerClass, dataMapperClass, existingRequests, null, relations);
+		// If the controller should use a generated mapper or merger, collect the
+		// properties of all classes that will be mapped or merged. The version
+		// of the entity is used for ETags. Direct updates compare the basic
+		// properties of the entity with the properties of the request.
+		Map<TypeName, List<PropertyConfiguration>> properties = new HashMap<>();
+		Set<TypeName> instantiableClasses = new HashSet<>();
+		boolean generatedMapper = this.annotatedValues.getOrDefault("withGeneratedMapper", "false").equals("true");
+		boolean generatedMerger = this.annotatedValues.getOrDefault("withGeneratedMerger", "false").equals("true");
+		boolean eTag = this.annotatedValues.getOrDefault("withETag", "false").equals("true");
+		boolean directUpdate = this.annotatedValues.getOrDefault("withDirectUpdate", "false").equals("true");
+		List<TypeName> propertyClasses = new ArrayList<>();
+		if (generatedMerger || eTag || directUpdate) {
+			propertyClasses.add(entityClass);
+		}
+		if (directUpdate && withDto) {
+			propertyClasses.add(dtoClasses[0]);
+		}
+		if (generatedMapper && withDto) {
+			propertyClasses.addAll(List.of(entityClass, dtoClasses[0], dtoClasses[1], dtoClasses[2]));
+			relations.values().forEach(relation -> {
+				propertyClasses.add(relation.getEntityClassName());
+				if (relation.isUsingDto()) {
+					propertyClasses.add(relation.getResponseObjectClassName());
+				}
+			});
+		}
+		for (TypeName propertyClass : propertyClasses) {
+			if (properties.containsKey(propertyClass)) {
+				continue;
+			}
+			PropertyConfigurationFromElementBuilder propertyBuilder = PropertyConfigurationFromElementBuilder.create()
+					.withUtils(this.elementUtils)
+					.withClassName(propertyClass.toString());
+			properties.put(propertyClass, propertyBuilder.build());
+			if (propertyBuilder.isInstantiable()) {
+				instantiableClasses.add(propertyClass);
+			}
+		}
+
+		return ControllerConfiguration.builder()
+				.withControllerClassName(RestnessUtil.toClassName(generatedClassName))
+				.withRequestBasePath(requestMapping)
+				.withEntityClassName(entityClass)
+				.withIdClassName(idClass)
+				.withIdAccessorMethodName(idAccessor)
+				.withResponseObjectClassName(withDto ? dtoClasses[0] : null)
+				.withResponseListClassName(withDto ? dtoClasses[1] : null)
+				.withRequestObjectClassName(withDto ? dtoClasses[2] : null)
+				.withResponseWrapperClassName(this.responseWrapperClassName)
+				.withDataAccessorClassName(dataAccessorClass)
+				.withDataMergerClassName(dataMergerClass)
+				.withDataMapperClassName(dataMapperClass)
+				.withExistingRequestMappings(existingRequests)
+				.withRelationConfigurations(relations)
+				.withStreamingList(this.annotatedValues.getOrDefault("withStreaming", "false").equals("true"))
+				.withCursorSearch(this.annotatedValues.getOrDefault("withCursorSearch", "false").equals("true"))
+				.withSliceSearch(this.annotatedValues.getOrDefault("withSliceSearch", "false").equals("true"))
+				.withGeneratedMapper(generatedMapper)
+				.withGeneratedMerger(generatedMerger)
+				.withProjection(this.annotatedValues.getOrDefault("withProjection", "false").equals("true"))
+				.withETag(eTag)
+				.withUpsert(this.annotatedValues.getOrDefault("withUpsert", "false").equals("true"))
+				.withDirectUpdate(directUpdate)
+				.withBatch(this.annotatedValues.getOrDefault("withBatch", "false").equals("true"))
+				.withBulkDelete(this.annotatedValues.getOrDefault("withBulkDelete", "false").equals("true"))
+				.withOperations(this.annotatedValues.getOrDefault("withOperations", "false").equals("true"))
+				.withCache(this.annotatedValues.getOrDefault("withCache", "false").equals("true"))
+				.withCacheSize(Integer.parseInt(this.annotatedValues.getOrDefault("cacheSize", "1000")))
+				.withCacheTtl(Long.parseLong(this.annotatedValues.getOrDefault("cacheTtl", "60")))
+				.withSearchCache(this.annotatedValues.getOrDefault("withSearchCache", "false").equals("true"))
+				.withSearchCacheSize(Integer.parseInt(this.annotatedValues.getOrDefault("searchCacheSize", "100")))
+				.withSearchCacheTtl(Long.parseLong(this.annotatedValues.getOrDefault("searchCacheTtl", "10")))
+				.withSearchCacheGrace(Long.parseLong(this.annotatedValues.getOrDefault("searchCacheGrace", "0")))
+				.withPagedRelations(this.annotatedValues.getOrDefault("withPagedRelations", "false").equals("true"))
+				.withDirectRelations(this.annotatedValues.getOrDefault("withDirectRelations", "false").equals("true"))
+				.withPropertyConfigurations(properties)
+				.withInstantiableClassNames(instantiableClasses)
+				.build();
 	}
 
 	protected ClassName[] findDtoClasses(ClassName entityClass) {
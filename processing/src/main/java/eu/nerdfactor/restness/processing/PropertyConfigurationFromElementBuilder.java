@@ -0,0 +1,192 @@
+package eu.nerdfactor.restness.processing;
+
+import com.squareup.javapoet.TypeName;
+import eu.nerdfactor.restness.annotation.Relation;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
+import jakarta.persistence.*;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import java.util.*;
+
+import static javax.lang.model.util.ElementFilter.constructorsIn;
+import static javax.lang.model.util.ElementFilter.fieldsIn;
+import static javax.lang.model.util.ElementFilter.methodsIn;
+
+/**
+ * Builder that collects the property configurations of a class from its
+ * fields. Accessors are found by the java bean naming convention, either as
+ * declared methods or generated by Lombok annotations.
+ *
+ * @author Daniel Klug
+ */
+public class PropertyConfigurationFromElementBuilder {
+
+	/**
+	 * Annotations that mark a field as relation.
+	 */
+	private static final List<String> RELATION_ANNOTATIONS = List.of(
+			Relation.class.getName(),
+			OneToOne.class.getName(),
+			OneToMany.class.getName(),
+			ManyToOne.class.getName(),
+			ManyToMany.class.getName()
+	);
+
+	/**
+	 * The element utilities during annotation processing.
+	 */
+	protected Elements elementUtils;
+
+	/**
+	 * The class for which the properties should be collected.
+	 */
+	protected TypeElement element;
+
+	/**
+	 * @param utils The element utilities during annotation processing.
+	 * @return The builder in a fluent api pattern.
+	 */
+	public PropertyConfigurationFromElementBuilder withUtils(Elements utils) {
+		this.elementUtils = utils;
+		return this;
+	}
+
+	/**
+	 * @param element The class Element.
+	 * @return The builder in a fluent api pattern.
+	 */
+	public PropertyConfigurationFromElementBuilder withElement(TypeElement element) {
+		this.element = element;
+		return this;
+	}
+
+	/**
+	 * @param className The full name of the class.
+	 * @return The builder in a fluent api pattern.
+	 */
+	public PropertyConfigurationFromElementBuilder withClassName(String className) {
+		this.element = this.elementUtils.getTypeElement(className);
+		return this;
+	}
+
+	public static PropertyConfigurationFromElementBuilder create() {
+		return new PropertyConfigurationFromElementBuilder();
+	}
+
+	/**
+	 * Check if the class can be instantiated by generated code, because it is
+	 * a concrete class with a public constructor without parameters.
+	 *
+	 * @return True if the class can be instantiated.
+	 */
+	public boolean isInstantiable() {
+		if (this.element == null || this.element.getKind() != ElementKind.CLASS || this.element.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+		if (this.element.getNestingKind().isNested() && !this.element.getModifiers().contains(Modifier.STATIC)) {
+			return false;
+		}
+		List<ExecutableElement> constructors = constructorsIn(this.element.getEnclosedElements());
+		if (this.hasLombokAnnotation(this.element, "NoArgsConstructor", "Data")) {
+			return true;
+		}
+		for (ExecutableElement constructor : constructors) {
+			if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+				return true;
+			}
+		}
+		return constructors.isEmpty() && !this.hasLombokAnnotation(this.element, "AllArgsConstructor", "RequiredArgsConstructor", "Value", "Builder");
+	}
+
+	/**
+	 * Collect the properties of the class and all its super classes.
+	 *
+	 * @return A list with all found {@link PropertyConfiguration}s.
+	 */
+	public List<PropertyConfiguration> build() {
+		List<PropertyConfiguration> properties = new ArrayList<>();
+		if (this.element == null) {
+			return properties;
+		}
+		Set<String> names = new HashSet<>();
+		Map<String, ExecutableElement> methods = new HashMap<>();
+		TypeElement current = this.element;
+		while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+			for (ExecutableElement method : methodsIn(current.getEnclosedElements())) {
+				if (method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)) {
+					methods.putIfAbsent(method.getSimpleName().toString() + "/" + method.getParameters().size(), method);
+				}
+			}
+			for (VariableElement field : fieldsIn(current.getEnclosedElements())) {
+				Set<Modifier> modifiers = field.getModifiers();
+				String name = field.getSimpleName().toString();
+				if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT) || !names.add(name)) {
+					continue;
+				}
+				properties.add(this.createProperty(current, field, methods));
+			}
+			current = this.findSuperclass(current);
+		}
+		return properties;
+	}
+
+	/**
+	 * Create the {@link PropertyConfiguration} of a field.
+	 *
+	 * @param owner   The class declaring the field.
+	 * @param field   The field of the property.
+	 * @param methods The public methods of the class, by name and number of
+	 *                parameters.
+	 * @return The {@link PropertyConfiguration} of the field.
+	 */
+	protected PropertyConfiguration createProperty(TypeElement owner, VariableElement field, Map<String, ExecutableElement> methods) {
+		String name = field.getSimpleName().toString();
+		String suffix = name.substring(0, 1).toUpperCase() + name.substring(1);
+		boolean primitiveBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+		String getter = (primitiveBoolean ? "is" : "get") + suffix;
+		String setter = "set" + suffix;
+		boolean hasGetter = methods.containsKey(getter + "/0")
+				|| this.hasLombokAnnotation(field, "Getter")
+				|| this.hasLombokAnnotation(owner, "Getter", "Data", "Value");
+		boolean hasSetter = !field.getModifiers().contains(Modifier.FINAL) && (methods.containsKey(setter + "/1")
+				|| this.hasLombokAnnotation(field, "Setter")
+				|| this.hasLombokAnnotation(owner, "Setter", "Data"));
+		return PropertyConfiguration.builder()
+				.withPropertyName(name)
+				.withTypeName(TypeName.get(field.asType()))
+				.withGetterMethodName(hasGetter ? getter : null)
+				.withSetterMethodName(hasSetter ? setter : null)
+				.withIdentifier(this.hasAnnotation(field, Id.class.getName(), EmbeddedId.class.getName()))
+				.withVersion(this.hasAnnotation(field, Version.class.getName()))
+				.withRelation(this.hasAnnotation(field, RELATION_ANNOTATIONS.toArray(new String[0])))
+				.build();
+	}
+
+	private TypeElement findSuperclass(TypeElement element) {
+		TypeMirror superclass = element.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		return (TypeElement) ((DeclaredType) superclass).asElement();
+	}
+
+	private boolean hasAnnotation(Element element, String... annotationNames) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			String annotationName = annotation.getAnnotationType().toString();
+			for (String name : annotationNames) {
+				if (annotationName.equals(name)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean hasLombokAnnotation(Element element, String... simpleNames) {
+		return this.hasAnnotation(element, Arrays.stream(simpleNames).map(name -> "lombok." + name).toArray(String[]::new));
+	}
+}
@@ -11,6 +11,7 @@ import eu.nerdfactor.restness.config.RelationConfiguration;
 import eu.nerdfactor.restness.config.RelationType;
 import eu.nerdfactor.restness.util.RestnessUtil;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -191,10 +192,62 @@ public class RelationConfigurationFromAnnotationBuilder {
 					relations.put(field.getSimpleName().toString(), relation);
 				}
 			}
+			if (relations.containsKey(field.getSimpleName().toString())) {
+				this.findJoinMetadata(field, relations.get(field.getSimpleName().toString()));
+			}
 		}
 		return relations;
 	}
 
+	/**
+	 * Find the join table or the owning attribute of the related entity from
+	 * the JPA annotations of the field. Only explicitly declared values are
+	 * used, because the default names depend on the naming strategy of the
+	 * persistence provider.
+	 *
+	 * @param field    The field of the relation.
+	 * @param relation The {@link RelationConfiguration} that will be
+	 *                 completed.
+	 */
+	protected void findJoinMetadata(VariableElement field, RelationConfiguration relation) {
+		for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+			String annotationName = annotation.getAnnotationType().toString();
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+				String name = entry.getKey().getSimpleName().toString();
+				Object value = entry.getValue().getValue();
+				if (annotationName.equals(JoinTable.class.getName())) {
+					switch (name) {
+						case "name" -> relation.setJoinTableName(value.toString());
+						case "joinColumns" -> relation.setJoinColumnName(this.findColumnName(value));
+						case "inverseJoinColumns" -> relation.setInverseJoinColumnName(this.findColumnName(value));
+					}
+				} else if (annotationName.equals(OneToMany.class.getName()) && name.equals("mappedBy")) {
+					relation.setMappedBy(value.toString());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Find the name of a single join column in the value of a join column
+	 * array.
+	 *
+	 * @param value The value of the annotation array.
+	 * @return The name of the column or null, if there is not exactly one
+	 * named column.
+	 */
+	protected String findColumnName(Object value) {
+		if (!(value instanceof List<?> columns) || columns.size() != 1 || !(columns.get(0) instanceof AnnotationValue column) || !(column.getValue() instanceof AnnotationMirror mirror)) {
+			return null;
+		}
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+			if (entry.getKey().getSimpleName().toString().equals("name")) {
+				return entry.getValue().getValue().toString();
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Find the relation type from a Relation annotation.
 	 *
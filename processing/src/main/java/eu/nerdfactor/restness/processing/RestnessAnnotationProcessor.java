@@ -6,7 +6,9 @@ import com.squareup.javapoet.TypeName;
 import eu.nerdfactor.restness.annotation.RestnessConfiguration;
 import eu.nerdfactor.restness.annotation.RestnessController;
 import eu.nerdfactor.restness.annotation.RestnessSecurity;
+import eu.nerdfactor.restness.code.RestnessDataMapperBuilder;
 import eu.nerdfactor.restness.config.ControllerConfiguration;
+import eu.nerdfactor.restness.config.PropertyConfiguration;
 import eu.nerdfactor.restness.config.SecurityConfiguration;
 import eu.nerdfactor.restness.export.JavaClassExporter;
 import eu.nerdfactor.restness.export.RestnessExporter;
@@ -20,6 +22,7 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
 import java.util.*;
 
 /**
@@ -44,12 +47,14 @@ public class RestnessAnnotationProcessor extends AbstractProcessor {
 
 	private Filer filer;
 	private Elements elementUtils;
+	private Messager messager;
 
 	@Override
 	public synchronized void init(ProcessingEnvironment processingEnvironment) {
 		super.init(processingEnvironment);
 		this.filer = processingEnvironment.getFiler();
 		this.elementUtils = processingEnvironment.getElementUtils();
+		this.messager = processingEnvironment.getMessager();
 	}
 
 	@Override
@@ -109,6 +114,14 @@ public class RestnessAnnotationProcessor extends AbstractProcessor {
 			}
 		}
 
+		// Warn about the properties, that the generated mappers skip or projections do not select.
+		controllers.values().stream()
+				.filter(ControllerConfiguration::isUsingGeneratedMapper)
+				.forEach(this::reportSkippedProperties);
+		controllers.values().stream()
+				.filter(ControllerConfiguration::isUsingProjection)
+				.forEach(this::reportUnprojectedProperties);
+
 		// Take the ControllerConfigurations and build new classes from them.
 		String exporterClassName = generatedConfig.getOrDefault("exporter", JavaClassExporter.class.getCanonicalName());
 		try {
@@ -144,6 +157,54 @@ public class RestnessAnnotationProcessor extends AbstractProcessor {
 		return controllerValues;
 	}
 
+	/**
+	 * Report a warning on every property, that can not be mapped by the
+	 * generated mapper of the controller and is skipped.
+	 *
+	 * @param configuration The {@link ControllerConfiguration} of the
+	 *                      controller.
+	 */
+	private void reportSkippedProperties(@NotNull ControllerConfiguration configuration) {
+		for (RestnessDataMapperBuilder.SkippedProperty property : RestnessDataMapperBuilder.create().withConfiguration(configuration).findSkippedProperties()) {
+			this.messager.printMessage(Diagnostic.Kind.WARNING, "Property " + property.propertyName() + " of " + property.className() + " can not be mapped from " + property.sourceType() + " to " + property.targetType() + " and is skipped by " + configuration.getGeneratedMapperClassName(), this.findPropertyElement(property.className(), property.propertyName()));
+		}
+	}
+
+	/**
+	 * Report a warning on every property of the response, that is not
+	 * selected by the projection of the controller and is therefore always
+	 * empty in projected responses.
+	 *
+	 * @param configuration The {@link ControllerConfiguration} of the
+	 *                      controller.
+	 */
+	private void reportUnprojectedProperties(@NotNull ControllerConfiguration configuration) {
+		TypeName response = configuration.getSingleResponseType();
+		for (PropertyConfiguration property : configuration.getNestedResponsePropertyConfigurations()) {
+			this.messager.printMessage(Diagnostic.Kind.WARNING, "Property " + property.getPropertyName() + " of " + response + " is no basic property of " + configuration.getEntityClassName() + ", so it is not selected by the projection of " + configuration.getControllerClassName() + " and always empty", this.findPropertyElement(response, property.getPropertyName()));
+		}
+	}
+
+	/**
+	 * Find the field of a property or its class, if the field can not be
+	 * found.
+	 *
+	 * @param className    The class of the property.
+	 * @param propertyName The name of the property.
+	 * @return The {@link Element} of the property, of its class or null.
+	 */
+	private Element findPropertyElement(@NotNull TypeName className, @NotNull String propertyName) {
+		Element element = this.elementUtils.getTypeElement(className.toString());
+		if (element != null) {
+			for (Element enclosed : element.getEnclosedElements()) {
+				if (enclosed.getKind() == ElementKind.FIELD && enclosed.getSimpleName().contentEquals(propertyName)) {
+					return enclosed;
+				}
+			}
+		}
+		return element;
+	}
+
 	/**
 	 * Find a Map of all possible Dto Classes for auto discovery.
 	 *